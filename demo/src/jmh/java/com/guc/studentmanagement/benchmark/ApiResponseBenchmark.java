@@ -0,0 +1,125 @@
+package com.guc.studentmanagement.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.dto.PageResponse;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.mapper.StudentMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ApiResponse construction and Jackson serialization of the wrapped payloads.
+// path=before: reflective bean serializers, every envelope field written, Page as PageImpl,
+// lists collected before serializing. path=after: Blackbird, null envelope fields left out,
+// PageResponse, entities mapped while Jackson writes them.
+// Allocation per operation: add "-prof gc" and read gc.alloc.rate.norm
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseBenchmark {
+
+    @Param({"100"})
+    public int listSize;
+
+    @Param({"before", "after"})
+    public String path;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter streamWriter;
+
+    private StudentDto student;
+    private List<Student> entities;
+    private List<StudentDto> students;
+    private Page<StudentDto> page;
+    private ApiResponse<StudentDto> singleResponse;
+    private ApiResponse<List<StudentDto>> listResponse;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot builds for MVC
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("after".equals(path)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        if ("before".equals(path)) {
+            objectMapper.configOverride(ApiResponse.class)
+                    .setInclude(JsonInclude.Value.construct(JsonInclude.Include.ALWAYS, JsonInclude.Include.ALWAYS));
+        }
+        streamWriter = objectMapper.writer();
+
+        student = StudentMapper.toDto(BenchmarkData.student(1));
+        entities = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            entities.add(BenchmarkData.student(i));
+        }
+        students = StudentMapper.toDtoList(entities);
+        page = new PageImpl<>(students, PageRequest.of(0, listSize, Sort.by("id")), 10L * listSize);
+        singleResponse = ApiResponse.success(student);
+        listResponse = ApiResponse.success(students);
+    }
+
+    @Benchmark
+    public ApiResponse<StudentDto> buildSuccess() {
+        return ApiResponse.success(student);
+    }
+
+    @Benchmark
+    public byte[] serializeSingle() throws Exception {
+        return objectMapper.writeValueAsBytes(singleResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(listResponse);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(students));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        Object data = "after".equals(path) ? PageResponse.of(page) : page;
+        return objectMapper.writeValueAsBytes(ApiResponse.success(data));
+    }
+
+    // GET /students from loaded entities: collect DTOs then serialize, or map them as they are written
+    @Benchmark
+    public void writeAllStudents() throws Exception {
+        if ("after".equals(path)) {
+            streamWriter.writeValue(OutputStream.nullOutputStream(),
+                    ApiResponse.success(entities.stream().map(StudentMapper::toDto)));
+        } else {
+            streamWriter.writeValue(OutputStream.nullOutputStream(),
+                    ApiResponse.success(StudentMapper.toDtoList(entities)));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.guc.studentmanagement.benchmark;
+
+import com.guc.studentmanagement.entity.Course;
+import com.guc.studentmanagement.entity.Enrollment;
+import com.guc.studentmanagement.entity.Student;
+
+import java.time.LocalDateTime;
+
+// Deterministic sample entities shared by the benchmarks
+public final class BenchmarkData {
+
+    static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry", "Isla", "Jack"
+    };
+
+    private BenchmarkData() {
+    }
+
+    public static String studentName(long i) {
+        return FIRST_NAMES[(int) (i % FIRST_NAMES.length)] + " " + i;
+    }
+
+    public static int studentAge(long i) {
+        return 17 + (int) (i % 40);
+    }
+
+    static Student student(long i) {
+        Student student = new Student();
+        student.setId(i);
+        student.setName(studentName(i));
+        student.setAge(studentAge(i));
+        return student;
+    }
+
+    static Course course(long i) {
+        Course course = new Course();
+        course.setId(i);
+        course.setName("Course " + i);
+        course.setDescription("Description of course " + i);
+        course.setCredit(1 + (int) (i % 6));
+        return course;
+    }
+
+    static Enrollment enrollment(long i, Student student, Course course, LocalDateTime enrolledAt) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(i);
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setEnrolledAt(enrolledAt);
+        return enrollment;
+    }
+}
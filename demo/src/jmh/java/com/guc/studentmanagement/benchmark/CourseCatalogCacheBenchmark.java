@@ -0,0 +1,174 @@
+package com.guc.studentmanagement.benchmark;
+
+import com.guc.studentmanagement.StudentManagementApplication;
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.entity.Course;
+import com.guc.studentmanagement.entity.Enrollment;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.EnrollmentRepository;
+import com.guc.studentmanagement.service.CourseService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Course catalog reads with the Hibernate second-level cache on and off. Besides the time per
+// call, JMH reports "statements" and "calls" (secondary results): statements / calls is the
+// number of database round trips per call, the hits the cache saves.
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="CourseCatalogCacheBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CourseCatalogCacheBenchmark {
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private static final int COURSES = 200;
+    private static final int STUDENTS = 500;
+    private static final int ENROLLMENTS_PER_STUDENT = 5;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private CourseRepository courseRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private TransactionTemplate readOnly;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:catalog" + secondLevelCache + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.guc.studentmanagement=WARN"
+                );
+
+        courseService = context.getBean(CourseService.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        enrollmentRepository = context.getBean(EnrollmentRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> courses = new ArrayList<>();
+        for (int c = 1; c <= COURSES; c++) {
+            courses.add(new Object[]{"Course " + c, "Description of course " + c, 1 + c % 6});
+        }
+        jdbc.batchUpdate("insert into courses (name, description, credit) values (?, ?, ?)", courses);
+
+        List<Object[]> students = new ArrayList<>();
+        for (int i = 1; i <= STUDENTS; i++) {
+            students.add(new Object[]{BenchmarkData.studentName(i), BenchmarkData.studentAge(i)});
+        }
+        jdbc.batchUpdate("insert into students (name, age) values (?, ?)", students);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> enrollments = new ArrayList<>();
+        long enrollmentId = 1;
+        for (int i = 1; i <= STUDENTS; i++) {
+            for (int k = 0; k < ENROLLMENTS_PER_STUDENT; k++) {
+                long courseId = 1 + (i + k * 37L) % COURSES;
+                enrollments.add(new Object[]{enrollmentId++, (long) i, courseId, now});
+            }
+        }
+        jdbc.batchUpdate(
+                "insert into enrollments (id, student_id, course_id, enrolled_at) values (?, ?, ?, ?)",
+                enrollments);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Database round trips per benchmark call, reported next to the timing
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DbHits {
+        public long statements;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            calls = 0;
+        }
+
+        void record(long before) {
+            statements += SqlStatementRecorder.statementCount() - before;
+            calls++;
+        }
+    }
+
+    // GET /courses: query cache + Course region
+    @Benchmark
+    public List<CourseDto> getAllCourses(DbHits hits) {
+        long before = SqlStatementRecorder.statementCount();
+        List<CourseDto> courses = courseService.getAllCourses();
+        hits.record(before);
+        return courses;
+    }
+
+    // Single course by id (the repository, below the Spring COURSES cache)
+    @Benchmark
+    public Course findCourseById(DbHits hits) {
+        long before = SqlStatementRecorder.statementCount();
+        long id = 1 + (nextId++ % COURSES);
+        Course course = readOnly.execute(status -> courseRepository.findById(id).orElseThrow());
+        hits.record(before);
+        return course;
+    }
+
+    // A student's enrollments with their courses: each lazy Enrollment.course proxy is
+    // initialised from the Course region instead of a select per course
+    @Benchmark
+    public int enrollmentsWithCourses(DbHits hits) {
+        long before = SqlStatementRecorder.statementCount();
+        long studentId = 1 + (nextId++ % STUDENTS);
+        Integer credits = readOnly.execute(status -> {
+            int sum = 0;
+            for (Enrollment enrollment : enrollmentRepository.findByStudentId(studentId)) {
+                sum += enrollment.getCourse().getCredit();
+            }
+            return sum;
+        });
+        hits.record(before);
+        return credits;
+    }
+}
@@ -0,0 +1,107 @@
+package com.guc.studentmanagement.benchmark;
+
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.EnrollmentInfoDto;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.StudentProfileDto;
+import com.guc.studentmanagement.entity.Course;
+import com.guc.studentmanagement.entity.Enrollment;
+import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.entity.StudentProfile;
+import com.guc.studentmanagement.mapper.CourseMapper;
+import com.guc.studentmanagement.mapper.EnrollmentMapper;
+import com.guc.studentmanagement.mapper.StudentMapper;
+import com.guc.studentmanagement.mapper.StudentProfileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO conversion cost of the static mappers and StudentProfileMapper
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100"})
+    public int listSize;
+
+    private final StudentProfileMapper profileMapper = new StudentProfileMapper();
+
+    private Student student;
+    private Course course;
+    private Enrollment enrollment;
+    private StudentProfile profile;
+    private List<Student> students;
+    private List<Course> courses;
+    private List<Enrollment> enrollments;
+
+    @Setup
+    public void setUp() {
+        student = BenchmarkData.student(1);
+        course = BenchmarkData.course(1);
+        enrollment = BenchmarkData.enrollment(1, student, course, LocalDateTime.now());
+        profile = profileMapper.toEntity("647-888-1234", "123 Main St, Toronto", "Mom: 416-777-8888", student);
+
+        students = new ArrayList<>(listSize);
+        courses = new ArrayList<>(listSize);
+        enrollments = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Student s = BenchmarkData.student(i);
+            Course c = BenchmarkData.course(i);
+            students.add(s);
+            courses.add(c);
+            enrollments.add(BenchmarkData.enrollment(i, s, c, LocalDateTime.now()));
+        }
+    }
+
+    @Benchmark
+    public StudentDto studentToDto() {
+        return StudentMapper.toDto(student);
+    }
+
+    @Benchmark
+    public List<StudentDto> studentListToDto() {
+        return StudentMapper.toDtoList(students);
+    }
+
+    @Benchmark
+    public CourseDto courseToDto() {
+        return CourseMapper.toDto(course);
+    }
+
+    @Benchmark
+    public List<CourseDto> courseListToDto() {
+        return CourseMapper.toDtoList(courses);
+    }
+
+    @Benchmark
+    public EnrollmentInfoDto enrollmentToInfoDto() {
+        return EnrollmentMapper.toInfoDto(enrollment);
+    }
+
+    @Benchmark
+    public List<EnrollmentInfoDto> enrollmentListToInfoDto() {
+        return EnrollmentMapper.toInfoDtoList(enrollments);
+    }
+
+    @Benchmark
+    public StudentProfileDto profileToDto() {
+        return profileMapper.toDto(profile);
+    }
+}
@@ -0,0 +1,162 @@
+package com.guc.studentmanagement.benchmark;
+
+import com.guc.studentmanagement.StudentManagementApplication;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.repository.EnrollmentRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Repository finders and the course roster search against a seeded in-memory H2 database.
+// Row counts are configurable: -Djmh.args="RepositoryBenchmark -p rows=100000"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    // Number of students; every student takes ENROLLMENTS_PER_STUDENT of COURSES courses
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private static final int COURSES = 50;
+    private static final int ENROLLMENTS_PER_STUDENT = 3;
+    private static final int SEED_BATCH = 1000;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("id"));
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private CourseService courseService;
+
+    private Pageable deepPage;
+    private long deepKeysetId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.guc.studentmanagement=WARN"
+                );
+
+        studentRepository = context.getBean(StudentRepository.class);
+        enrollmentRepository = context.getBean(EnrollmentRepository.class);
+        courseService = context.getBean(CourseService.class);
+
+        seed(context.getBean(JdbcTemplate.class));
+
+        // Last page of the offset endpoint vs. the same position through the keyset finder
+        deepPage = PageRequest.of(Math.max(0, rows / 20 - 1), 20, Sort.by("id"));
+        deepKeysetId = studentRepository.findAll(deepPage).getContent().get(0).getId() - 1;
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> courses = new ArrayList<>();
+        for (int c = 1; c <= COURSES; c++) {
+            courses.add(new Object[]{"Course " + c, "Description of course " + c, 1 + c % 6});
+        }
+        jdbc.batchUpdate("insert into courses (name, description, credit) values (?, ?, ?)", courses);
+
+        List<Object[]> students = new ArrayList<>(SEED_BATCH);
+        for (int i = 1; i <= rows; i++) {
+            students.add(new Object[]{BenchmarkData.studentName(i), BenchmarkData.studentAge(i)});
+            if (students.size() == SEED_BATCH || i == rows) {
+                jdbc.batchUpdate("insert into students (name, age) values (?, ?)", students);
+                students.clear();
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> enrollments = new ArrayList<>(SEED_BATCH);
+        long enrollmentId = 1;
+        for (int i = 1; i <= rows; i++) {
+            for (int k = 0; k < ENROLLMENTS_PER_STUDENT; k++) {
+                long courseId = 1 + (i + k * 17L) % COURSES;
+                enrollments.add(new Object[]{enrollmentId++, (long) i, courseId, now});
+            }
+            if (enrollments.size() >= SEED_BATCH || i == rows) {
+                jdbc.batchUpdate(
+                        "insert into enrollments (id, student_id, course_id, enrolled_at) values (?, ?, ?, ?)",
+                        enrollments);
+                enrollments.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Student> findByNameLowerContaining() {
+        return studentRepository.findByNameLowerContaining("grace", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Student> findByAgeBetween() {
+        return studentRepository.findByAgeBetween(20, 25, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Student> findByNameLowerContainingAndAgeBetween() {
+        return studentRepository.findByNameLowerContainingAndAgeBetween("grace", 20, 40, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Student> findAllDeepOffsetPage() {
+        return studentRepository.findAll(deepPage);
+    }
+
+    @Benchmark
+    public Slice<Student> findByIdGreaterThanDeepKeyset() {
+        return studentRepository.findByIdGreaterThan(deepKeysetId, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<StudentDto> findStudentDtosByCourseId() {
+        return enrollmentRepository.findStudentDtosByCourseId(7L);
+    }
+
+    @Benchmark
+    public Page<StudentDto> searchStudentsByCourse() {
+        return courseService.searchStudentsByCourse(7L, "a", 18, 40, FIRST_PAGE);
+    }
+}
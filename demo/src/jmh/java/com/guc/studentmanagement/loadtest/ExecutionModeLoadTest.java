@@ -0,0 +1,215 @@
+package com.guc.studentmanagement.loadtest;
+
+import com.guc.studentmanagement.StudentManagementApplication;
+import com.guc.studentmanagement.benchmark.BenchmarkData;
+import com.guc.studentmanagement.search.NameSuggestIndex;
+import com.guc.studentmanagement.search.StudentNameIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Closed-loop HTTP load test comparing the two request execution modes:
+// platform threads (Tomcat pool) vs. spring.threads.virtual.enabled=true, both behind the
+// JDBC bulkhead. Each mode boots the app on a random port against its own seeded H2
+// database and is driven by the same mix of DB-bound GETs.
+//
+//   mvn -Pjmh test-compile exec:exec@loadtest
+//   mvn -Pjmh test-compile exec:exec@loadtest -Dloadtest.args="400 30"   (clients, seconds)
+//
+// The virtual mode needs a Java 21 runtime; on older JDKs it is reported as skipped.
+// Results are printed and written to target/loadtest-result.json.
+public final class ExecutionModeLoadTest {
+
+    private static final int STUDENTS = 10_000;
+    private static final int COURSES = 50;
+    private static final int ENROLLMENTS_PER_STUDENT = 3;
+    private static final int SEED_BATCH = 1000;
+    private static final int WARMUP_SECONDS = 5;
+
+    private ExecutionModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<String> json = new ArrayList<>();
+        json.add(runMode("platform", false, clients, seconds));
+        if (Runtime.version().feature() >= 21) {
+            json.add(runMode("virtual", true, clients, seconds));
+        } else {
+            System.out.println("virtual: skipped (needs Java 21, running on " + Runtime.version() + ")");
+        }
+
+        Path out = Path.of("target", "loadtest-result.json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, "[" + String.join(",\n", json) + "]\n");
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static String runMode(String mode, boolean virtualThreads, int clients, int seconds) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.guc.studentmanagement=WARN"
+                );
+        try {
+            seed(context.getBean(JdbcTemplate.class));
+            // rows were inserted behind the service layer
+            context.getBean(StudentNameIndex.class).rebuild();
+            context.getBean(NameSuggestIndex.class).rebuild();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+
+            drive(base, clients, WARMUP_SECONDS);
+            Result result = drive(base, clients, seconds);
+
+            String line = String.format(Locale.ROOT,
+                    "%-8s clients=%d  requests=%d  errors=%d  throughput=%.1f req/s  p50=%.2f ms  p99=%.2f ms  max=%.2f ms",
+                    mode, clients, result.requests, result.errors, result.requests / (double) seconds,
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0));
+            System.out.println(line);
+
+            return String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"clients\":%d,\"seconds\":%d,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughput\":%.1f,\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"maxMs\":%.3f}",
+                    mode, clients, seconds, result.requests, result.errors, result.requests / (double) seconds,
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0));
+        } finally {
+            context.close();
+        }
+    }
+
+    // Each client thread loops send → wait → send until the deadline; latencies are merged afterwards
+    private static Result drive(String base, int clients, int seconds) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            futures.add(pool.submit(() -> {
+                Result local = new Result();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(base + nextPath()))
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        local.record(System.nanoTime() - start, response.statusCode() >= 500);
+                    } catch (IOException ex) {
+                        local.record(System.nanoTime() - start, true);
+                    }
+                }
+                return local;
+            }));
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        pool.shutdown();
+        return total;
+    }
+
+    // Mix of uncached, DB-bound reads: offset search, course roster, per-student course list
+    private static String nextPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (random.nextInt(3)) {
+            case 0 -> "/students/search?keyword=" + BenchmarkData.studentName(random.nextInt(1, STUDENTS + 1))
+                    .substring(0, 3) + "&minAge=18&maxAge=40&page=" + random.nextInt(5);
+            case 1 -> "/courses/" + random.nextInt(1, COURSES + 1) + "/students";
+            default -> "/courses/by-student/" + random.nextInt(1, STUDENTS + 1);
+        };
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        List<Object[]> courses = new ArrayList<>();
+        for (int c = 1; c <= COURSES; c++) {
+            courses.add(new Object[]{"Course " + c, "Description of course " + c, 1 + c % 6});
+        }
+        jdbc.batchUpdate("insert into courses (name, description, credit) values (?, ?, ?)", courses);
+
+        List<Object[]> students = new ArrayList<>(SEED_BATCH);
+        List<Object[]> enrollments = new ArrayList<>(SEED_BATCH * ENROLLMENTS_PER_STUDENT);
+        long enrollmentId = 1;
+        for (int i = 1; i <= STUDENTS; i++) {
+            students.add(new Object[]{BenchmarkData.studentName(i), BenchmarkData.studentAge(i)});
+            for (int k = 0; k < ENROLLMENTS_PER_STUDENT; k++) {
+                enrollments.add(new Object[]{enrollmentId++, (long) i, 1 + (i + k * 17L) % COURSES});
+            }
+            if (students.size() == SEED_BATCH || i == STUDENTS) {
+                jdbc.batchUpdate("insert into students (name, age) values (?, ?)", students);
+                jdbc.batchUpdate("insert into enrollments (id, student_id, course_id, enrolled_at) "
+                        + "values (?, ?, ?, current_timestamp)", enrollments);
+                students.clear();
+                enrollments.clear();
+            }
+        }
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int requests;
+        private int errors;
+
+        void record(long nanos, boolean error) {
+            if (requests == latencies.length) {
+                latencies = Arrays.copyOf(latencies, requests * 2);
+            }
+            latencies[requests++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.requests; i++) {
+                record(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        double percentileMillis(double p) {
+            if (requests == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, requests);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(requests - 1, Math.ceil(p * requests) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.guc.studentmanagement.aop;
+
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Per controller method: latency histogram (p50/p99/p999), SQL statements per call and
+// JDBC time per call. Meters are created once per (method, outcome) and cached, and
+// arguments are only stringified for a sampled fraction of calls (off by default).
+@Aspect
+@Component
+public class ControllerMetricsAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControllerMetricsAspect.class);
+
+    private final MeterRegistry registry;
+    private final double argsSampleRate;
+    private final long slowThresholdNanos;
+
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public ControllerMetricsAspect(MeterRegistry registry,
+                                   @Value("${app.logging.controller-args.sample-rate:0}") double argsSampleRate,
+                                   @Value("${app.logging.slow-request-threshold:1s}") Duration slowThreshold) {
+        this.registry = registry;
+        this.argsSampleRate = argsSampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Around("within(com.guc.studentmanagement.controller..*)")
+    public Object measureControllerMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodMeters methodMeters = meters.computeIfAbsent(signature.getMethod(),
+                method -> new MethodMeters(method.getDeclaringClass().getSimpleName() + "." + method.getName()));
+
+        if (argsSampleRate > 0
+                && logger.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < argsSampleRate) {
+            logger.debug("Entering {} with args: {}", methodMeters.name, argsToString(joinPoint.getArgs()));
+        }
+
+        long sqlBefore = SqlStatementRecorder.statementCount();
+        long jdbcBefore = SqlStatementRecorder.jdbcNanos();
+        long start = System.nanoTime();
+        boolean success = false;
+
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long statements = SqlStatementRecorder.statementCount() - sqlBefore;
+            long jdbcNanos = SqlStatementRecorder.jdbcNanos() - jdbcBefore;
+
+            Outcome outcome = success ? methodMeters.success : methodMeters.error();
+            outcome.latency.record(elapsed, TimeUnit.NANOSECONDS);
+            outcome.sqlStatements.record(statements);
+            outcome.jdbcTime.record(jdbcNanos, TimeUnit.NANOSECONDS);
+
+            if (elapsed > slowThresholdNanos) {
+                logger.warn("Slow call {}: {} ms, {} SQL statements, {} ms in JDBC",
+                        methodMeters.name,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        statements,
+                        TimeUnit.NANOSECONDS.toMillis(jdbcNanos));
+            }
+        }
+    }
+
+    private String argsToString(Object[] args) {
+        return Arrays.stream(args)
+                .map(this::safeToString)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String safeToString(Object arg) {
+        if (arg == null) return "null";
+        if (arg instanceof HttpServletRequest) return "HttpServletRequest";
+        if (arg instanceof HttpServletResponse) return "HttpServletResponse";
+        return arg.toString();
+    }
+
+    private final class MethodMeters {
+        private final String name;
+        private final Outcome success;
+        private volatile Outcome error;   // Registered on the first failure only
+
+        private MethodMeters(String name) {
+            this.name = name;
+            this.success = new Outcome(name, "success");
+        }
+
+        // A racing first failure may build two Outcomes; the registry returns the same meters for both
+        private Outcome error() {
+            Outcome result = error;
+            if (result == null) {
+                result = new Outcome(name, "error");
+                error = result;
+            }
+            return result;
+        }
+    }
+
+    private final class Outcome {
+        private final Timer latency;
+        private final DistributionSummary sqlStatements;
+        private final Timer jdbcTime;
+
+        private Outcome(String method, String outcome) {
+            this.latency = Timer.builder("app.controller.latency")
+                    .description("Controller method latency")
+                    .tags("method", method, "outcome", outcome)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.sqlStatements = DistributionSummary.builder("app.controller.sql.statements")
+                    .description("JDBC statements executed per controller call")
+                    .tags("method", method, "outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+            this.jdbcTime = Timer.builder("app.controller.jdbc.time")
+                    .description("Time spent executing JDBC statements per controller call")
+                    .tags("method", method, "outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+        }
+    }
+}
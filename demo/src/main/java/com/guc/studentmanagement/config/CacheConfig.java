@@ -0,0 +1,19 @@
+package com.guc.studentmanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches are created by Spring Boot from spring.cache.* (Caffeine: size bound, TTL, stats)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // StudentDto by student id
+    public static final String STUDENTS = "students";
+
+    // CourseDto by course id
+    public static final String COURSES = "courses";
+
+    // StudentProfileDto by student id
+    public static final String PROFILES = "profiles";
+}
@@ -0,0 +1,18 @@
+package com.guc.studentmanagement.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Module beans are registered on the auto-configured ObjectMapper (MVC, exports).
+// Blackbird replaces the reflective getter calls of bean serializers with LambdaMetafactory
+// accessors generated once per property.
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,53 @@
+package com.guc.studentmanagement.config;
+
+import com.guc.studentmanagement.jdbc.BulkheadDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Bounds concurrent JDBC work to the pool size (see BulkheadDataSource). Matters most with
+// spring.threads.virtual.enabled=true, where thousands of request threads can reach the
+// pool at once; with platform threads Tomcat's thread count already bounds it.
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcBulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor jdbcBulkheadDataSourcePostProcessor(Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrent = environment.getProperty("app.jdbc.bulkhead.max-concurrent", Integer.class, poolSize);
+                Duration acquireTimeout = environment.getProperty(
+                        "app.jdbc.bulkhead.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+
+                BulkheadDataSource bulkhead = new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeout);
+
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("app.jdbc.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                            .description("Free JDBC permits")
+                            .tag("name", beanName)
+                            .register(registry);
+                    Gauge.builder("app.jdbc.bulkhead.waiting", bulkhead, BulkheadDataSource::getQueueLength)
+                            .description("Threads queued for a JDBC permit")
+                            .tag("name", beanName)
+                            .register(registry);
+                });
+                return bulkhead;
+            }
+        };
+    }
+}
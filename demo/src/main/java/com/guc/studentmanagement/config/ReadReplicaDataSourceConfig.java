@@ -0,0 +1,46 @@
+package com.guc.studentmanagement.config;
+
+import com.guc.studentmanagement.jdbc.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Optional read replica (app.datasource.replica.*): read-only transactions are served by the
+// replica pool, everything else by the spring.datasource pool. Replaces Boot's DataSource; the
+// two pools are not beans of their own, so the metrics and bulkhead wrappers (see
+// DataSourceMetricsConfig, JdbcBulkheadConfig) apply once, to the routing DataSource.
+// Replication lag is visible: a read-only call right after a write may not see it yet.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public ReadReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("app.datasource.replica.url"))
+                .driverClassName(environment.getProperty(
+                        "app.datasource.replica.driver-class-name", properties.determineDriverClassName()))
+                .username(environment.getProperty("app.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("app.datasource.replica.password", properties.determinePassword()))
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(environment.getProperty(
+                "app.datasource.replica.maximum-pool-size", Integer.class, primary.getMaximumPoolSize()));
+
+        return new ReadReplicaRoutingDataSource(primary, replica);
+    }
+}
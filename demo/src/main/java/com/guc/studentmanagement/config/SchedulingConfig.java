@@ -0,0 +1,10 @@
+package com.guc.studentmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (@Scheduled), e.g. the nightly enrollment counter reconciliation
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
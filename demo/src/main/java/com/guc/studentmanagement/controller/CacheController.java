@@ -0,0 +1,83 @@
+package com.guc.studentmanagement.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.dto.CacheStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/caches")
+@Tag(
+        name = "Cache API",
+        description = "In-process cache statistics (Spring caches and Hibernate second-level cache regions)"
+)
+public class CacheController {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheController(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // GET /caches/stats
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Return size, hit/miss and eviction counters of every in-process cache. Hibernate second-level cache regions are listed as hibernate:<region>."
+    )
+    @GetMapping("/stats")
+    public ApiResponse<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                var nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                result.add(new CacheStatsDto(
+                        name,
+                        nativeCache.estimatedSize(),
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.evictionCount()
+                ));
+            }
+        }
+
+        // Second-level cache regions (entity and query results); counted while hibernate.generate_statistics is on
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long requests = stats.getHitCount() + stats.getMissCount();
+            result.add(new CacheStatsDto(
+                    "hibernate:" + region,
+                    // JCache regions do not report their size (NO_EXTENDED_STAT_SUPPORT_RETURN): -1
+                    Math.max(-1, stats.getElementCountInMemory()),
+                    stats.getHitCount(),
+                    stats.getMissCount(),
+                    requests == 0 ? 1.0 : (double) stats.getHitCount() / requests,
+                    0
+            ));
+        }
+        return ApiResponse.success(result);
+    }
+}
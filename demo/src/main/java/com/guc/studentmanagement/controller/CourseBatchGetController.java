@@ -0,0 +1,58 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.dto.BatchGetRequest;
+import com.guc.studentmanagement.dto.BatchGetResult;
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.service.CourseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+// Custom method on the course collection itself: CourseController's "/courses" prefix would
+// turn ":batchGet" into "/courses/:batchGet"
+@RestController
+@Tag(
+        name = "Course API",
+        description = "Course management and enrollment operations"
+)
+public class CourseBatchGetController {
+
+    private final CourseService courseService;
+
+    public CourseBatchGetController(CourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    // POST /courses:batchGet —— several courses by id in one round trip
+    @Operation(
+            summary = "Get courses by id list",
+            description = "Return the courses with the given ids in request order (repeated ids once). " +
+                    "Ids with no course are listed in missingIds instead of failing the request. " +
+                    "Served from the single-course cache where possible, the rest with IN queries."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Courses found, plus the ids that were not"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Empty id list, or more ids than app.batch-get.max-ids"
+            )
+    })
+    @PostMapping("/courses:batchGet")
+    public ApiResponse<BatchGetResult<CourseDto>> getCoursesByIds(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Course IDs, in the order the response should use",
+                    required = true
+            )
+            @Valid @RequestBody BatchGetRequest request
+    ) {
+        return ApiResponse.success(courseService.getCoursesByIds(request.getIds()));
+    }
+}
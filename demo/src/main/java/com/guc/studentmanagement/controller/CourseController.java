@@ -1,7 +1,17 @@
 package com.guc.studentmanagement.controller;
 import com.guc.studentmanagement.dto.*;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.service.CounterReconciliationService;
+import com.guc.studentmanagement.service.CourseCatalogPayload;
 import com.guc.studentmanagement.service.CourseService;
+import com.guc.studentmanagement.service.ExportService;
+import com.guc.studentmanagement.service.WaitlistService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,26 +38,146 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 public class CourseController {
 
     private final CourseService courseService;
+    private final ExportService exportService;
+    private final CounterReconciliationService reconciliationService;
+    private final WaitlistService waitlistService;
+    private final CourseCatalogPayload catalogPayload;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService,
+                            ExportService exportService,
+                            CounterReconciliationService reconciliationService,
+                            WaitlistService waitlistService,
+                            CourseCatalogPayload catalogPayload) {
         this.courseService = courseService;
+        this.exportService = exportService;
+        this.reconciliationService = reconciliationService;
+        this.waitlistService = waitlistService;
+        this.catalogPayload = catalogPayload;
     }
 
     // ------------------- 课程 CRUD -------------------
 
     @Operation(
             summary = "Get all courses",
-            description = "Return all courses without pagination."
+            description = "Return all courses without pagination. Sends ETag / Last-Modified; " +
+                    "answers If-None-Match / If-Modified-Since with 304 when the catalog is unchanged. " +
+                    "The body is served from a copy serialized (and gzipped, for Accept-Encoding: gzip) " +
+                    "once per catalog version."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Successfully returned course list"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Catalog not modified"
             )
     })
     @GetMapping
-    public ApiResponse<List<CourseDto>> getAllCourses() {
-        return ApiResponse.success(courseService.getAllCourses());
+    public ResponseEntity<byte[]> getAllCourses(WebRequest request) {
+        // 304 from the catalog stamp alone: nothing loaded, nothing serialized
+        CourseRepository.CatalogStamp stamp = courseService.getCatalogStamp();
+        boolean gzip = CourseCatalogPayload.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? CourseCatalogPayload.gzipEtag(stamp.getETag()) : stamp.getETag();
+        if (request.checkNotModified(etag, stamp.getLastModified())) {
+            return null;
+        }
+
+        // Already-encoded bodies are left alone by the server's response compression
+        CourseCatalogPayload.Payload payload = catalogPayload.get(stamp);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+    @Operation(
+            summary = "Export all courses",
+            description = "Stream every course as NDJSON (default) or CSV without loading the table into memory."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Export stream"
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCourses(
+            @Parameter(description = "NDJSON or CSV", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"courses." + format.getFileExtension() + "\"")
+                .body(out -> exportService.exportCourses(format, out));
+    }
+
+    // GET /courses/suggest?prefix=  —— type-ahead
+    @Operation(
+            summary = "Suggest course names",
+            description = "Return up to `limit` (max 20) courses whose name starts with the prefix " +
+                    "(case-insensitive), most enrolled first."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions returned"
+            )
+    })
+    @GetMapping("/suggest")
+    public ApiResponse<List<SuggestionDto>> suggestCourses(
+            @Parameter(description = "Name prefix", example = "gr")
+            @RequestParam String prefix,
+
+            @Parameter(description = "Maximum number of suggestions (1-20)", example = "10")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ApiResponse.success(courseService.suggestCourses(prefix, limit));
+    }
+
+    // GET /courses/stats  —— enrollment totals from the maintained counters
+    @Operation(
+            summary = "Get enrollment statistics",
+            description = "Return course and enrollment totals plus the `top` (max 100) most enrolled courses, " +
+                    "read from the maintained enrollment counters."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics returned"
+            )
+    })
+    @GetMapping("/stats")
+    public ApiResponse<CourseStatsDto> getCourseStats(
+            @Parameter(description = "Number of most enrolled courses to list (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int top
+    ) {
+        return ApiResponse.success(courseService.getCourseStats(top));
+    }
+
+    // POST /courses/stats:reconcile  —— recompute the counters and report drift
+    @Operation(
+            summary = "Reconcile enrollment counters",
+            description = "Recompute every course and student enrollment counter from the enrollments table " +
+                    "in chunks and report the ones that drifted; with fix=true (default) they are corrected."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Reconciliation report"
+            )
+    })
+    @PostMapping("/stats:reconcile")
+    public ApiResponse<CounterReconciliationReport> reconcileCounters(
+            @Parameter(description = "Correct drifted counters (false = report only)", example = "true")
+            @RequestParam(defaultValue = "true") boolean fix
+    ) {
+        return ApiResponse.success(reconciliationService.reconcile(fix));
     }
 
     @Operation(
@@ -161,6 +291,10 @@ public class CourseController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Student or course not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Course is full"
             )
     })
     @PostMapping("/{courseId}/students/{studentId}")
@@ -174,6 +308,204 @@ public class CourseController {
         return ApiResponse.success(null);
     }
 
+    @Operation(
+            summary = "Drop a course",
+            description = "Withdraw a student from a course. The freed seat goes to the first student on the course's waitlist in the same transaction."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Enrollment removed"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Student is not enrolled in the course"
+            )
+    })
+    @DeleteMapping("/{courseId}/students/{studentId}")
+    public ApiResponse<Void> dropStudentFromCourse(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Student ID", example = "2")
+            @PathVariable Long studentId
+    ) {
+        courseService.dropStudentFromCourse(studentId, courseId);
+        return ApiResponse.success(null);
+    }
+
+    @Operation(
+            summary = "Withdraw several students from a course",
+            description = "Remove the enrollments of the given students in one statement and promote waitlisted students into the freed seats. Students that are not enrolled are reported, not rejected."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Withdrawal processed"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Course not found"
+            )
+    })
+    @PostMapping("/{courseId}/students:withdraw")
+    public ApiResponse<WithdrawalResult> withdrawStudentsFromCourse(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @Valid @RequestBody WithdrawStudentsRequest request
+    ) {
+        return ApiResponse.success(
+                courseService.withdrawStudentsFromCourse(courseId, request.getStudentIds())
+        );
+    }
+
+    @Operation(
+            summary = "Cancel a course section",
+            description = "Remove every enrollment and waitlist entry of a course. The course itself is kept."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "All enrollments removed"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Course not found"
+            )
+    })
+    @DeleteMapping("/{courseId}/students")
+    public ApiResponse<WithdrawalResult> cancelCourseEnrollments(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId
+    ) {
+        return ApiResponse.success(courseService.cancelCourseEnrollments(courseId));
+    }
+
+    // ------------------- Waitlist -------------------
+
+    @Operation(
+            summary = "Join a course waitlist",
+            description = "Put a student at the end of a full course's waitlist and return their position. Joining again returns the current position."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Student is on the waitlist"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Student or course not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Already enrolled, or the course still has free seats"
+            )
+    })
+    @PostMapping("/{courseId}/waitlist/{studentId}")
+    public ApiResponse<WaitlistPositionDto> joinWaitlist(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Student ID", example = "2")
+            @PathVariable Long studentId
+    ) {
+        return ApiResponse.success(waitlistService.join(courseId, studentId));
+    }
+
+    @Operation(
+            summary = "Leave a course waitlist",
+            description = "Remove a student from a course's waitlist."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Student removed from the waitlist"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Student is not on the waitlist"
+            )
+    })
+    @DeleteMapping("/{courseId}/waitlist/{studentId}")
+    public ApiResponse<Void> leaveWaitlist(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Student ID", example = "2")
+            @PathVariable Long studentId
+    ) {
+        waitlistService.leave(courseId, studentId);
+        return ApiResponse.success(null);
+    }
+
+    @Operation(
+            summary = "Get waitlist position",
+            description = "Return a student's 1-based position on a course's waitlist and the waitlist size."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Position returned"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Student is not on the waitlist"
+            )
+    })
+    @GetMapping("/{courseId}/waitlist/{studentId}")
+    public ApiResponse<WaitlistPositionDto> getWaitlistPosition(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Student ID", example = "2")
+            @PathVariable Long studentId
+    ) {
+        return ApiResponse.success(waitlistService.getPosition(courseId, studentId));
+    }
+
+    @Operation(
+            summary = "Batch-enroll students into a course",
+            description = "Enroll many students into one course. Returns a per-student result " +
+                    "(ENROLLED, ALREADY_ENROLLED, DUPLICATE_IN_REQUEST, STUDENT_NOT_FOUND)."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Course not found"
+            )
+    })
+    @PostMapping("/{courseId}/students:batch")
+    public ApiResponse<BatchEnrollmentResult> batchEnrollStudentsToCourse(
+            @Parameter(description = "Course ID", example = "1")
+            @PathVariable Long courseId,
+            @Valid @RequestBody BatchEnrollStudentsRequest request
+    ) {
+        return ApiResponse.success(
+                courseService.batchEnrollStudentsToCourse(courseId, request.getStudentIds())
+        );
+    }
+
+    @Operation(
+            summary = "Batch-enroll (student, course) pairs",
+            description = "Enroll arbitrary (studentId, courseId) pairs across courses with a per-item result."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Validation failed"
+            )
+    })
+    @PostMapping("/enrollments:batch")
+    public ApiResponse<BatchEnrollmentResult> batchEnroll(
+            @Valid @RequestBody BatchEnrollmentRequest request
+    ) {
+        return ApiResponse.success(courseService.batchEnroll(request.getItems()));
+    }
+
     @Operation(
             summary = "Get all courses selected by a student",
             description = "Return all courses that a student has enrolled in."
@@ -228,6 +560,28 @@ public class CourseController {
         return ApiResponse.success(courseService.getEnrollmentInfosByStudent(studentId));
     }
 
+    @Operation(
+            summary = "Export all enrollments",
+            description = "Stream every enrollment (student + course + time) as NDJSON (default) or CSV."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Export stream"
+            )
+    })
+    @GetMapping("/enrollments/export")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @Parameter(description = "NDJSON or CSV", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"enrollments." + format.getFileExtension() + "\"")
+                .body(out -> exportService.exportEnrollments(format, out));
+    }
+
     // ------------------- ⭐ Advanced Query: Filter Students by Course and Conditions -------------------
 
     @Operation(
@@ -241,7 +595,7 @@ public class CourseController {
             )
     })
     @GetMapping("/{courseId}/students/search")
-    public ApiResponse<Page<StudentDto>> searchStudentsInCourse(
+    public ApiResponse<PageResponse<StudentDto>> searchStudentsInCourse(
             @Parameter(description = "Course ID", example = "1")
             @PathVariable Long courseId,
 
@@ -261,6 +615,6 @@ public class CourseController {
     ) {
         Page<StudentDto> result =
                 courseService.searchStudentsByCourse(courseId, keyword, minAge, maxAge, pageable);
-        return ApiResponse.success(result);
+        return ApiResponse.success(PageResponse.of(result));
     }
 }
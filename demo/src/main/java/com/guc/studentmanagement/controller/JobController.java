@@ -0,0 +1,161 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.ExportTable;
+import com.guc.studentmanagement.dto.JobDto;
+import com.guc.studentmanagement.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/jobs")
+@Tag(
+        name = "Job API",
+        description = "Bulk imports and exports run in the background, with progress and resumption after a restart"
+)
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // POST /jobs/imports/students —— same upload as POST /students/import, imported in the background
+    @Operation(
+            summary = "Submit a student import job",
+            description = "Store the upload (NDJSON or CSV, as for POST /students/import) and import it in the " +
+                    "background. Poll GET /jobs/{id} for progress and the import report."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Job accepted; Location points at the job"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Job queue full, retry later"
+            )
+    })
+    @PostMapping("/imports/students")
+    public ResponseEntity<ApiResponse<JobDto>> submitStudentImport(
+            @Parameter(description = "NDJSON or CSV", example = "CSV")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            @Parameter(description = "Also create a profile for rows with phone and address", example = "false")
+            @RequestParam(defaultValue = "false") boolean profiles,
+
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The upload",
+                    required = true
+            )
+            InputStream body
+    ) {
+        return accepted(jobService.submitImport(format, profiles, body));
+    }
+
+    // POST /jobs/exports?table=STUDENTS —— export a table to a file in the background
+    @Operation(
+            summary = "Submit an export job",
+            description = "Write a whole table (same rows as the streaming export endpoints) to a file in the " +
+                    "background. When GET /jobs/{id} reports COMPLETED, download it from resultPath."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Job accepted; Location points at the job"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Job queue full, retry later"
+            )
+    })
+    @PostMapping("/exports")
+    public ResponseEntity<ApiResponse<JobDto>> submitExport(
+            @Parameter(description = "STUDENTS, COURSES or ENROLLMENTS", example = "STUDENTS")
+            @RequestParam ExportTable table,
+
+            @Parameter(description = "NDJSON or CSV", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        return accepted(jobService.submitExport(table, format));
+    }
+
+    // GET /jobs/{id} —— status and progress
+    @Operation(
+            summary = "Get a job",
+            description = "Status, processed / total items, throughput and ETA as of the last checkpoint. " +
+                    "Import jobs include the import report."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Job found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    @GetMapping("/{id}")
+    public ApiResponse<JobDto> getJob(
+            @Parameter(description = "Job ID", example = "1")
+            @PathVariable Long id
+    ) {
+        return ApiResponse.success(jobService.getJob(id));
+    }
+
+    // GET /jobs/{id}/result —— file of a completed export
+    @Operation(
+            summary = "Download an export result",
+            description = "The file written by a completed export job."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Export file"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Not a completed export"
+            )
+    })
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> getResult(
+            @Parameter(description = "Job ID", example = "1")
+            @PathVariable Long id
+    ) {
+        JobService.JobResult result = jobService.getResult(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(result.format().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.fileName() + "\"")
+                .body(new FileSystemResource(result.file()));
+    }
+
+    private static ResponseEntity<ApiResponse<JobDto>> accepted(JobDto job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/jobs/" + job.getId()))
+                .body(ApiResponse.success(job));
+    }
+}
@@ -1,9 +1,20 @@
 package com.guc.studentmanagement.controller;
 
 import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.dto.BatchGetResult;
 import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.CursorPage;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.PageResponse;
+import com.guc.studentmanagement.dto.StudentDashboardDto;
 import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.StudentImportReport;
+import com.guc.studentmanagement.dto.SuggestionDto;
 import com.guc.studentmanagement.dto.UpdateStudentRequest;
+import com.guc.studentmanagement.repository.VersionStamp;
+import com.guc.studentmanagement.service.ExportService;
+import com.guc.studentmanagement.service.StudentDashboardService;
+import com.guc.studentmanagement.service.StudentImportService;
 import com.guc.studentmanagement.service.StudentService;
 
 // Swagger / OpenAPI
@@ -12,9 +23,16 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 //  Page、Pageable、PageableDefault
 import org.springframework.data.domain.Page;
@@ -32,15 +50,25 @@ import jakarta.validation.Valid;
 public class StudentController {
 
     private final StudentService studentService;
+    private final ExportService exportService;
+    private final StudentDashboardService dashboardService;
+    private final StudentImportService importService;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService,
+                             ExportService exportService,
+                             StudentDashboardService dashboardService,
+                             StudentImportService importService) {
         this.studentService = studentService;
+        this.exportService = exportService;
+        this.dashboardService = dashboardService;
+        this.importService = importService;
     }
 
-    // GET /students  —— return student(DTO）
+    // GET /students  —— return student(DTO）, streamed row by row inside the usual ApiResponse
     @Operation(
             summary = "Get all students",
-            description = "Return all students without pagination."
+            description = "Return all students without pagination (ApiResponse whose data array is " +
+                    "written while the rows are read)."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -49,20 +77,108 @@ public class StudentController {
             )
     })
     @GetMapping
-    public ApiResponse<List<StudentDto>> getAllStudents() {
-        return ApiResponse.success(studentService.getAllStudents());
+    public ResponseEntity<StreamingResponseBody> getAllStudents() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exportService::writeStudentsResponse);
+    }
+
+    // GET /students/export — streams every student (NDJSON or CSV), constant memory
+    @Operation(
+            summary = "Export all students",
+            description = "Stream every student as NDJSON (default) or CSV without loading the table into memory."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Export stream"
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @Parameter(description = "NDJSON or CSV", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"students." + format.getFileExtension() + "\"")
+                .body(out -> exportService.exportStudents(format, out));
+    }
+
+    // POST /students/import —— bulk import from a CSV / NDJSON upload, read as a stream
+    @Operation(
+            summary = "Import students",
+            description = "Create students from the request body: NDJSON (one object per line) or CSV " +
+                    "with a header line (name, age and optionally phone, address, emergencyContact). " +
+                    "Rows are validated like POST /students and inserted in batches; invalid rows are " +
+                    "reported and skipped."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Import report (counts and the first row errors)"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "CSV header without name / age"
+            )
+    })
+    @PostMapping("/import")
+    public ApiResponse<StudentImportReport> importStudents(
+            @Parameter(description = "NDJSON or CSV", example = "CSV")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            @Parameter(description = "Also create a profile for rows with phone and address", example = "false")
+            @RequestParam(defaultValue = "false") boolean profiles,
+
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The upload (not buffered by the server)",
+                    required = true
+            )
+            InputStream body
+    ) {
+        return ApiResponse.success(importService.importStudents(format, body, profiles));
+    }
+
+    // GET /students/suggest?prefix=  —— type-ahead
+    @Operation(
+            summary = "Suggest student names",
+            description = "Return up to `limit` (max 20) students whose name starts with the prefix " +
+                    "(case-insensitive), most enrolled first."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions returned"
+            )
+    })
+    @GetMapping("/suggest")
+    public ApiResponse<List<SuggestionDto>> suggestStudents(
+            @Parameter(description = "Name prefix", example = "gr")
+            @RequestParam String prefix,
+
+            @Parameter(description = "Maximum number of suggestions (1-20)", example = "10")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ApiResponse.success(studentService.suggestStudents(prefix, limit));
     }
 
     // GET /students/{id}
     @Operation(
             summary = "Get student by ID",
-            description = "Find a student by its unique ID."
+            description = "Find a student by its unique ID. Sends ETag / Last-Modified; answers " +
+                    "If-None-Match / If-Modified-Since with 304 when the student is unchanged."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Student found"
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Student not modified"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Student not found"
@@ -70,10 +186,72 @@ public class StudentController {
     })
     @GetMapping("/{id}")
     public ApiResponse<StudentDto> getStudentById(
+            @Parameter(description = "Student ID", example = "1")
+            @PathVariable Long id,
+            WebRequest request
+    ) {
+        // Unknown ids fall through to the usual 404
+        Optional<VersionStamp> stamp = studentService.getStudentVersion(id);
+        if (stamp.isEmpty()) {
+            return ApiResponse.success(studentService.getStudentById(id));
+        }
+        // Headers come from the copy actually served, never from the stamp alone
+        StudentDto student = studentService.getStudentById(id, stamp.get().getVersion());
+        VersionStamp served = VersionStamp.of(student.getId(), student.getVersion(), student.getUpdatedAt());
+        if (request.checkNotModified(served.getETag(), served.getLastModified())) {
+            return null;
+        }
+        return ApiResponse.success(student);
+    }
+
+    // GET /students?ids=3,1,2 —— several students by id in one round trip
+    @Operation(
+            summary = "Get students by id list",
+            description = "Return the students with the given ids in request order (repeated ids once). " +
+                    "Ids with no student are listed in missingIds instead of failing the request. " +
+                    "Served from the single-student cache where possible, the rest with IN queries."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Students found, plus the ids that were not"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "More ids than app.batch-get.max-ids"
+            )
+    })
+    @GetMapping(params = "ids")
+    public ApiResponse<BatchGetResult<StudentDto>> getStudentsByIds(
+            @Parameter(description = "Comma-separated student IDs", example = "3,1,2")
+            @RequestParam List<Long> ids
+    ) {
+        return ApiResponse.success(studentService.getStudentsByIds(ids));
+    }
+
+    // GET /students/{id}/dashboard —— student + profile + enrollments in one round trip
+    @Operation(
+            summary = "Get student dashboard",
+            description = "Return the student, their profile (null if none) and their enrollments in one response. " +
+                    "Replaces GET /students/{id}, GET /students/{id}/profile and " +
+                    "GET /courses/enrollments/by-student/{id}."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Dashboard returned successfully"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Student not found"
+            )
+    })
+    @GetMapping("/{id}/dashboard")
+    public ApiResponse<StudentDashboardDto> getDashboard(
             @Parameter(description = "Student ID", example = "1")
             @PathVariable Long id
     ) {
-        return ApiResponse.success(studentService.getStudentById(id));
+        return ApiResponse.success(dashboardService.getDashboard(id));
     }
 
     // POST /students
@@ -166,7 +344,7 @@ public class StudentController {
             )
     })
     @GetMapping("/search")
-    public ApiResponse<Page<StudentDto>> searchStudents(
+    public ApiResponse<PageResponse<StudentDto>> searchStudents(
             @Parameter(description = "Keyword in name or email", example = "John")
             @RequestParam(required = false) String keyword,
 
@@ -183,7 +361,7 @@ public class StudentController {
             @PageableDefault(page = 0, size = 5, sort = "id") Pageable pageable
     ) {
         Page<StudentDto> result = studentService.searchStudents(keyword, minAge, maxAge, pageable);
-        return ApiResponse.success(result);
+        return ApiResponse.success(PageResponse.of(result));
     }
 
     // GET /students/page —
@@ -198,7 +376,7 @@ public class StudentController {
             )
     })
     @GetMapping("/page")
-    public ApiResponse<Page<StudentDto>> getStudentsPage(
+    public ApiResponse<PageResponse<StudentDto>> getStudentsPage(
             @Parameter(
                     description = "Pagination information (page, size, sort). " +
                             "Default: page=0, size=5, sort=id"
@@ -206,7 +384,77 @@ public class StudentController {
             @PageableDefault(page = 0, size = 5, sort = "id") Pageable pageable
     ) {
         Page<StudentDto> pageResult = studentService.getStudentsPage(pageable);
-        return ApiResponse.success(pageResult);
+        return ApiResponse.success(PageResponse.of(pageResult));
+    }
+
+    // GET /students/page/cursor — keyset pagination for deep paging / exports
+    @Operation(
+            summary = "Get students by cursor",
+            description = "Keyset pagination ordered by id. Pass the returned nextCursor as 'after' " +
+                    "to fetch the next page; the total count is only computed when withTotal=true."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully returned a page of students"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            )
+    })
+    @GetMapping("/page/cursor")
+    public ApiResponse<CursorPage<StudentDto>> getStudentsByCursor(
+            @Parameter(description = "Opaque cursor from the previous page (omit for the first page)")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Page size (max 1000)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also return the total number of students", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ApiResponse.success(studentService.getStudentsAfter(after, size, withTotal));
+    }
+
+    // GET /students/search/cursor — keyset variant of /students/search
+    @Operation(
+            summary = "Search students by cursor",
+            description = "Same filters as /students/search, with keyset pagination ordered by id."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully returned search result"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            )
+    })
+    @GetMapping("/search/cursor")
+    public ApiResponse<CursorPage<StudentDto>> searchStudentsByCursor(
+            @Parameter(description = "Keyword in name", example = "John")
+            @RequestParam(required = false) String keyword,
+
+            @Parameter(description = "Minimum age filter", example = "18")
+            @RequestParam(required = false) Integer minAge,
+
+            @Parameter(description = "Maximum age filter", example = "30")
+            @RequestParam(required = false) Integer maxAge,
+
+            @Parameter(description = "Opaque cursor from the previous page (omit for the first page)")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Page size (max 1000)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also return the total number of matches", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ApiResponse.success(
+                studentService.searchStudentsAfter(keyword, minAge, maxAge, after, size, withTotal)
+        );
     }
 
 }
@@ -2,8 +2,12 @@ package com.guc.studentmanagement.controller;
 
 import com.guc.studentmanagement.dto.ApiResponse;
 import com.guc.studentmanagement.dto.StudentProfileDto;
+import com.guc.studentmanagement.repository.VersionStamp;
 import com.guc.studentmanagement.service.StudentProfileService;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -63,13 +67,18 @@ public class StudentProfileController {
     // GET /students/{id}/profile
     @Operation(
             summary = "Get student profile",
-            description = "Retrieve the profile information of a specific student."
+            description = "Retrieve the profile information of a specific student. Sends ETag / " +
+                    "Last-Modified; answers If-None-Match / If-Modified-Since with 304 when unchanged."
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Profile found successfully"
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Profile not modified"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Profile or student not found"
@@ -78,9 +87,20 @@ public class StudentProfileController {
     @GetMapping("/{id}/profile")
     public ApiResponse<StudentProfileDto> getProfile(
             @Parameter(description = "Student ID", example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ) {
-        return ApiResponse.success(profileService.getProfile(id));
+        Optional<VersionStamp> stamp = profileService.getProfileVersion(id);
+        if (stamp.isEmpty()) {
+            return ApiResponse.success(profileService.getProfile(id));
+        }
+        // Headers come from the copy actually served, never from the stamp alone
+        StudentProfileDto profile = profileService.getProfile(id, stamp.get().getVersion());
+        VersionStamp served = VersionStamp.of(profile.getId(), profile.getVersion(), profile.getUpdatedAt());
+        if (request.checkNotModified(served.getETag(), served.getLastModified())) {
+            return null;
+        }
+        return ApiResponse.success(profile);
     }
 
     // PUT /students/{id}/profile
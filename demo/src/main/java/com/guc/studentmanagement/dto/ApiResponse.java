@@ -1,11 +1,17 @@
 package com.guc.studentmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.Map;
 
+// Null fields are left out of the JSON (a success response is just success / data / timestamp);
+// data is always written, so deletes still answer "data": null
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
     private boolean success;           //  Indicates whether the request was successful
+    @JsonInclude(JsonInclude.Include.ALWAYS)
     private T data;                    // Data returned when the request is successful
 
     //  The following fields are mainly used for error responses
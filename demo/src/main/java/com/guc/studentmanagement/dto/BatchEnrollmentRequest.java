@@ -0,0 +1,20 @@
+package com.guc.studentmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchEnrollmentRequest {
+
+    @NotEmpty(message = "items cannot be empty")
+    private List<@Valid EnrollmentItemRequest> items;
+
+    public List<EnrollmentItemRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EnrollmentItemRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,55 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.List;
+
+public class BatchEnrollmentResult {
+
+    private int requested;   // Number of items in the request
+    private int enrolled;    // Number of new enrollment rows inserted
+    private int skipped;     // Items not inserted (already enrolled, duplicate, unknown id)
+
+    // Per-item outcome, in request order
+    private List<EnrollmentItemResult> results;
+
+    public BatchEnrollmentResult() {
+    }
+
+    public BatchEnrollmentResult(int requested, int enrolled, int skipped, List<EnrollmentItemResult> results) {
+        this.requested = requested;
+        this.enrolled = enrolled;
+        this.skipped = skipped;
+        this.results = results;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public List<EnrollmentItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<EnrollmentItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,20 @@
+package com.guc.studentmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BatchGetRequest {
+
+    @NotEmpty(message = "ids cannot be empty")
+    private List<@NotNull(message = "ids cannot contain null") Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,47 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.List;
+
+public class BatchGetResult<T> {
+
+    private int requested;   // Number of distinct ids in the request
+
+    // Found rows, in request order (a repeated id appears once, at its first position)
+    private List<T> items;
+
+    // Requested ids with no row, in request order
+    private List<Long> missingIds;
+
+    public BatchGetResult() {
+    }
+
+    public BatchGetResult(int requested, List<T> items, List<Long> missingIds) {
+        this.requested = requested;
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
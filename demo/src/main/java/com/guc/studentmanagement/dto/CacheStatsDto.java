@@ -0,0 +1,47 @@
+package com.guc.studentmanagement.dto;
+
+public class CacheStatsDto {
+
+    private String name;
+    private long size;            // Approximate number of entries
+    private long hitCount;
+    private long missCount;
+    private double hitRate;       // hits / requests (1.0 when there were no requests)
+    private long evictionCount;   // Entries removed by size or TTL
+
+    public CacheStatsDto() {
+    }
+
+    public CacheStatsDto(String name, long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,55 @@
+package com.guc.studentmanagement.dto;
+
+// One stored counter that did not match the enrollments table
+public class CounterDriftDto {
+
+    private String entity;          // "course" or "student"
+    private Long id;
+    private int storedCount;        // enrolled_count / course_count
+    private long actualCount;
+    private Integer storedCredits;  // total_credits (students only)
+    private Long actualCredits;
+    private boolean corrected;      // false: dry run, or the row changed concurrently and was left alone
+
+    public CounterDriftDto() {
+    }
+
+    public CounterDriftDto(String entity, Long id, int storedCount, long actualCount,
+                           Integer storedCredits, Long actualCredits, boolean corrected) {
+        this.entity = entity;
+        this.id = id;
+        this.storedCount = storedCount;
+        this.actualCount = actualCount;
+        this.storedCredits = storedCredits;
+        this.actualCredits = actualCredits;
+        this.corrected = corrected;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getStoredCount() {
+        return storedCount;
+    }
+
+    public long getActualCount() {
+        return actualCount;
+    }
+
+    public Integer getStoredCredits() {
+        return storedCredits;
+    }
+
+    public Long getActualCredits() {
+        return actualCredits;
+    }
+
+    public boolean isCorrected() {
+        return corrected;
+    }
+}
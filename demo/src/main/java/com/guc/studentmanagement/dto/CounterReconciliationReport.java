@@ -0,0 +1,60 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.List;
+
+// Outcome of one counter reconciliation run
+public class CounterReconciliationReport {
+
+    private long coursesChecked;
+    private long studentsChecked;
+    private long coursesDrifted;
+    private long studentsDrifted;
+    private long corrected;         // Rows rewritten with the recomputed values
+    private long durationMs;
+
+    // First drifted rows (capped, see CounterReconciliationService.MAX_REPORTED_DRIFTS)
+    private List<CounterDriftDto> drifts;
+
+    public CounterReconciliationReport() {
+    }
+
+    public CounterReconciliationReport(long coursesChecked, long studentsChecked, long coursesDrifted,
+                                       long studentsDrifted, long corrected, long durationMs,
+                                       List<CounterDriftDto> drifts) {
+        this.coursesChecked = coursesChecked;
+        this.studentsChecked = studentsChecked;
+        this.coursesDrifted = coursesDrifted;
+        this.studentsDrifted = studentsDrifted;
+        this.corrected = corrected;
+        this.durationMs = durationMs;
+        this.drifts = drifts;
+    }
+
+    public long getCoursesChecked() {
+        return coursesChecked;
+    }
+
+    public long getStudentsChecked() {
+        return studentsChecked;
+    }
+
+    public long getCoursesDrifted() {
+        return coursesDrifted;
+    }
+
+    public long getStudentsDrifted() {
+        return studentsDrifted;
+    }
+
+    public long getCorrected() {
+        return corrected;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public List<CounterDriftDto> getDrifts() {
+        return drifts;
+    }
+}
@@ -18,6 +18,13 @@ public class CourseDto {
     @Max(value = 20, message = "Credit must be at most 20")
     private Integer credit;
 
+    // Seat limit; null = unlimited
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+
+    // Read-only: number of enrolled students (maintained counter), i.e. seats taken
+    private Integer enrolledCount;
+
     public CourseDto() {
     }
 
@@ -28,6 +35,13 @@ public class CourseDto {
         this.credit = credit;
     }
 
+    public CourseDto(Long id, String name, String description, Integer credit,
+                     Integer capacity, Integer enrolledCount) {
+        this(id, name, description, credit);
+        this.capacity = capacity;
+        this.enrolledCount = enrolledCount;
+    }
+
     public Long getId() {
         return id;
     }
@@ -59,4 +73,20 @@ public class CourseDto {
     public void setCredit(Integer credit) {
         this.credit = credit;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public void setEnrolledCount(Integer enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
 }
@@ -0,0 +1,47 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.List;
+
+// GET /courses/stats, computed from the maintained enrollment counters
+public class CourseStatsDto {
+
+    private long totalCourses;
+    private long totalEnrollments;
+    private double averageEnrolled;     // Enrollments per course
+    private int maxEnrolled;
+
+    // Most enrolled first
+    private List<CourseDto> mostEnrolled;
+
+    public CourseStatsDto() {
+    }
+
+    public CourseStatsDto(long totalCourses, long totalEnrollments, double averageEnrolled,
+                          int maxEnrolled, List<CourseDto> mostEnrolled) {
+        this.totalCourses = totalCourses;
+        this.totalEnrollments = totalEnrollments;
+        this.averageEnrolled = averageEnrolled;
+        this.maxEnrolled = maxEnrolled;
+        this.mostEnrolled = mostEnrolled;
+    }
+
+    public long getTotalCourses() {
+        return totalCourses;
+    }
+
+    public long getTotalEnrollments() {
+        return totalEnrollments;
+    }
+
+    public double getAverageEnrolled() {
+        return averageEnrolled;
+    }
+
+    public int getMaxEnrolled() {
+        return maxEnrolled;
+    }
+
+    public List<CourseDto> getMostEnrolled() {
+        return mostEnrolled;
+    }
+}
@@ -0,0 +1,36 @@
+package com.guc.studentmanagement.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class EnrollmentItemRequest {
+
+    @NotNull(message = "studentId is required")
+    private Long studentId;
+
+    @NotNull(message = "courseId is required")
+    private Long courseId;
+
+    public EnrollmentItemRequest() {
+    }
+
+    public EnrollmentItemRequest(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+}
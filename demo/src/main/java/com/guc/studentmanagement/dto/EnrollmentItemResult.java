@@ -0,0 +1,41 @@
+package com.guc.studentmanagement.dto;
+
+public class EnrollmentItemResult {
+
+    private Long studentId;
+    private Long courseId;
+    private EnrollmentItemStatus status;
+
+    public EnrollmentItemResult() {
+    }
+
+    public EnrollmentItemResult(Long studentId, Long courseId, EnrollmentItemStatus status) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.status = status;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public EnrollmentItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EnrollmentItemStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,11 @@
+package com.guc.studentmanagement.dto;
+
+// Outcome of a single (student, course) pair in a batch enrollment
+public enum EnrollmentItemStatus {
+    ENROLLED,
+    ALREADY_ENROLLED,
+    DUPLICATE_IN_REQUEST,
+    STUDENT_NOT_FOUND,
+    COURSE_NOT_FOUND,
+    COURSE_FULL
+}
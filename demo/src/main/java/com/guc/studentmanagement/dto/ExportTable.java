@@ -0,0 +1,19 @@
+package com.guc.studentmanagement.dto;
+
+// Tables an export job can write (same rows and columns as the streaming export endpoints)
+public enum ExportTable {
+
+    STUDENTS("students"),
+    COURSES("courses"),
+    ENROLLMENTS("enrollments");
+
+    private final String fileName;
+
+    ExportTable(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,33 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.Map;
+
+public class ImportRowError {
+
+    private long line;                  // Line of the upload the row starts on (1-based)
+    private Map<String, String> errors; // field -> message, "row" for rows that could not be parsed
+
+    public ImportRowError() {
+    }
+
+    public ImportRowError(long line, Map<String, String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
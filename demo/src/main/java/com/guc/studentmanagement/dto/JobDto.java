@@ -0,0 +1,182 @@
+package com.guc.studentmanagement.dto;
+
+import com.guc.studentmanagement.entity.JobStatus;
+import com.guc.studentmanagement.entity.JobType;
+
+import java.time.LocalDateTime;
+
+// GET /jobs/{id}: state and progress of a background job
+public class JobDto {
+
+    private Long id;
+    private JobType type;
+    private JobStatus status;
+    private ExportFormat format;
+    private ExportTable exportTable;    // EXPORT only
+    private Long totalItems;            // Rows to process (for imports estimated from the upload's line count)
+    private long processedItems;        // Rows read / written up to the last checkpoint
+    private long failedItems;           // Rows rejected (imports)
+    private Double percent;             // processedItems / totalItems, null while unknown
+    private Double itemsPerSecond;      // Throughput of the current run
+    private Long etaSeconds;            // Remaining time at that throughput (RUNNING only)
+    private int attempts;               // 1 + number of resumes after a restart
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;    // Last checkpoint
+    private LocalDateTime finishedAt;
+    private String error;
+    private StudentImportReport report; // Import jobs: rows imported / rejected so far, with the first row errors
+    private String resultPath;          // Completed exports: where to download the file
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public JobType getType() {
+        return type;
+    }
+
+    public void setType(JobType type) {
+        this.type = type;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public ExportTable getExportTable() {
+        return exportTable;
+    }
+
+    public void setExportTable(ExportTable exportTable) {
+        this.exportTable = exportTable;
+    }
+
+    public Long getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(Long totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    public long getProcessedItems() {
+        return processedItems;
+    }
+
+    public void setProcessedItems(long processedItems) {
+        this.processedItems = processedItems;
+    }
+
+    public long getFailedItems() {
+        return failedItems;
+    }
+
+    public void setFailedItems(long failedItems) {
+        this.failedItems = failedItems;
+    }
+
+    public Double getPercent() {
+        return percent;
+    }
+
+    public void setPercent(Double percent) {
+        this.percent = percent;
+    }
+
+    public Double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public void setItemsPerSecond(Double itemsPerSecond) {
+        this.itemsPerSecond = itemsPerSecond;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public StudentImportReport getReport() {
+        return report;
+    }
+
+    public void setReport(StudentImportReport report) {
+        this.report = report;
+    }
+
+    public String getResultPath() {
+        return resultPath;
+    }
+
+    public void setResultPath(String resultPath) {
+        this.resultPath = resultPath;
+    }
+}
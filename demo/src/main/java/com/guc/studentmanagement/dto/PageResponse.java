@@ -1,7 +1,12 @@
 package com.guc.studentmanagement.dto;
 
+import org.springframework.data.domain.Page;
+
 import java.util.List;
 
+// Compact page shape for the offset-paged endpoints (a serialized PageImpl also carries
+// pageable, sort and several derived flags)
+
 public class PageResponse<T> {
 
     private List<T> content;     // Data of the current page
@@ -14,6 +19,17 @@ public class PageResponse<T> {
     public PageResponse() {
     }
 
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isLast()
+        );
+    }
+
     public PageResponse(List<T> content,
                         int page,
                         int size,
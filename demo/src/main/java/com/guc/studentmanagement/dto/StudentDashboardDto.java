@@ -0,0 +1,49 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.List;
+
+// Everything the student dashboard needs in one response
+public class StudentDashboardDto {
+
+    private StudentDto student;
+
+    // null when the student has no profile yet
+    private StudentProfileDto profile;
+
+    private List<EnrollmentInfoDto> enrollments;
+
+    public StudentDashboardDto() {
+    }
+
+    public StudentDashboardDto(StudentDto student,
+                               StudentProfileDto profile,
+                               List<EnrollmentInfoDto> enrollments) {
+        this.student = student;
+        this.profile = profile;
+        this.enrollments = enrollments;
+    }
+
+    public StudentDto getStudent() {
+        return student;
+    }
+
+    public void setStudent(StudentDto student) {
+        this.student = student;
+    }
+
+    public StudentProfileDto getProfile() {
+        return profile;
+    }
+
+    public void setProfile(StudentProfileDto profile) {
+        this.profile = profile;
+    }
+
+    public List<EnrollmentInfoDto> getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(List<EnrollmentInfoDto> enrollments) {
+        this.enrollments = enrollments;
+    }
+}
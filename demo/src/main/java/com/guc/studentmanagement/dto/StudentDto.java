@@ -1,7 +1,10 @@
 package com.guc.studentmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 
+import java.time.LocalDateTime;
+
 public class StudentDto {
 
     private Long id;
@@ -15,6 +18,17 @@ public class StudentDto {
     @Max(value = 150, message = "Age must be less than or equal to 150")
     private Integer age;
 
+    // Read-only: number of enrolled courses and their summed credits (maintained counters)
+    private Integer courseCount;
+    private Integer totalCredits;
+
+    // Not serialized: the row version (version + countersVersion) and updated_at this copy was
+    // read at, so a conditional GET labels a cached copy with its own ETag
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
     public StudentDto() {
     }
 
@@ -24,6 +38,19 @@ public class StudentDto {
         this.age = age;
     }
 
+    public StudentDto(Long id, String name, Integer age, Integer courseCount, Integer totalCredits) {
+        this(id, name, age);
+        this.courseCount = courseCount;
+        this.totalCredits = totalCredits;
+    }
+
+    public StudentDto(Long id, String name, Integer age, Integer courseCount, Integer totalCredits,
+                      Long version, LocalDateTime updatedAt) {
+        this(id, name, age, courseCount, totalCredits);
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -47,4 +74,36 @@ public class StudentDto {
     public void setAge(Integer age) {
         this.age = age;
     }
+
+    public Integer getCourseCount() {
+        return courseCount;
+    }
+
+    public void setCourseCount(Integer courseCount) {
+        this.courseCount = courseCount;
+    }
+
+    public Integer getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(Integer totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,95 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StudentImportReport {
+
+    private long rowsRead;          // Data rows parsed so far (header and blank lines excluded)
+    private long imported;          // Students inserted (committed)
+    private long profilesCreated;   // Profiles inserted with them
+    private long failed;            // Rows rejected by parsing or validation
+
+    // First rejected rows, in upload order (capped, see errorsTruncated)
+    private List<ImportRowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Every row up to this input line is committed or counted as rejected; an import that
+    // aborts can be resumed after it (import jobs do this after a restart)
+    private long lastCommittedLine;
+
+    private String abortedReason;   // Set when the upload could not be read to the end
+    private long elapsedMillis;
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getProfilesCreated() {
+        return profilesCreated;
+    }
+
+    public void setProfilesCreated(long profilesCreated) {
+        this.profilesCreated = profilesCreated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getLastCommittedLine() {
+        return lastCommittedLine;
+    }
+
+    public void setLastCommittedLine(long lastCommittedLine) {
+        this.lastCommittedLine = lastCommittedLine;
+    }
+
+    public String getAbortedReason() {
+        return abortedReason;
+    }
+
+    public void setAbortedReason(String abortedReason) {
+        this.abortedReason = abortedReason;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
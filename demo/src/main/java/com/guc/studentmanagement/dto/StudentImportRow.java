@@ -0,0 +1,53 @@
+package com.guc.studentmanagement.dto;
+
+// One row of a bulk student import (POST /students/import): a CSV record or an NDJSON line.
+// The profile columns are optional and only used when the import creates profiles.
+public class StudentImportRow {
+
+    private String name;
+    private Integer age;
+
+    private String phone;
+    private String address;
+    private String emergencyContact;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getEmergencyContact() {
+        return emergencyContact;
+    }
+
+    public void setEmergencyContact(String emergencyContact) {
+        this.emergencyContact = emergencyContact;
+    }
+}
@@ -1,5 +1,9 @@
 package com.guc.studentmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
 public class StudentProfileDto {
 
     private Long id;
@@ -10,6 +14,12 @@ public class StudentProfileDto {
     private Long studentId;
     private String studentName;
 
+    // Not serialized: profile + student version and the later updated_at this copy was read at
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
     // ===== Getter & Setter =====
     public Long getId() {
         return id;
@@ -58,4 +68,20 @@ public class StudentProfileDto {
     public void setStudentName(String studentName) {
         this.studentName = studentName;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
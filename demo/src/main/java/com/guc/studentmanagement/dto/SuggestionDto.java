@@ -0,0 +1,42 @@
+package com.guc.studentmanagement.dto;
+
+// One type-ahead suggestion; popularity = number of enrollments (students per course / courses per student)
+public class SuggestionDto {
+
+    private Long id;
+    private String name;
+    private long popularity;
+
+    public SuggestionDto() {
+    }
+
+    public SuggestionDto(Long id, String name, long popularity) {
+        this.id = id;
+        this.name = name;
+        this.popularity = popularity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getPopularity() {
+        return popularity;
+    }
+
+    public void setPopularity(long popularity) {
+        this.popularity = popularity;
+    }
+}
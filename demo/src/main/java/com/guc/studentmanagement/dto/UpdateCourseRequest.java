@@ -16,6 +16,10 @@ public class UpdateCourseRequest {
     @Min(value = 0, message = "Credit must be >= 0")
     private Integer credit;
 
+    // Seat limit; omit for unlimited
+    @Min(value = 1, message = "Capacity must be >= 1")
+    private Integer capacity;
+
     public String getName() {
         return name;
     }
@@ -39,4 +43,12 @@ public class UpdateCourseRequest {
     public void setCredit(Integer credit) {
         this.credit = credit;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
 }
@@ -0,0 +1,36 @@
+package com.guc.studentmanagement.dto;
+
+// A student's place on a course waitlist
+public class WaitlistPositionDto {
+
+    private Long courseId;
+    private Long studentId;
+    private int position;       // 1 = next to be promoted
+    private int waitlistSize;
+
+    public WaitlistPositionDto() {
+    }
+
+    public WaitlistPositionDto(Long courseId, Long studentId, int position, int waitlistSize) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.position = position;
+        this.waitlistSize = waitlistSize;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getWaitlistSize() {
+        return waitlistSize;
+    }
+}
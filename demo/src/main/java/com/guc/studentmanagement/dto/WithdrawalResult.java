@@ -0,0 +1,63 @@
+package com.guc.studentmanagement.dto;
+
+import java.util.List;
+
+public class WithdrawalResult {
+
+    private Long courseId;
+    private int withdrawn;          // Enrollment rows deleted
+    private List<Long> notEnrolled; // Requested students that were not enrolled in the course
+    private int promoted;           // Waitlisted students moved into the freed seats
+    private int waitlistRemoved;    // Waitlist entries dropped (course cancellation only)
+
+    public WithdrawalResult() {
+    }
+
+    public WithdrawalResult(Long courseId, int withdrawn, List<Long> notEnrolled, int promoted, int waitlistRemoved) {
+        this.courseId = courseId;
+        this.withdrawn = withdrawn;
+        this.notEnrolled = notEnrolled;
+        this.promoted = promoted;
+        this.waitlistRemoved = waitlistRemoved;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getWithdrawn() {
+        return withdrawn;
+    }
+
+    public void setWithdrawn(int withdrawn) {
+        this.withdrawn = withdrawn;
+    }
+
+    public List<Long> getNotEnrolled() {
+        return notEnrolled;
+    }
+
+    public void setNotEnrolled(List<Long> notEnrolled) {
+        this.notEnrolled = notEnrolled;
+    }
+
+    public int getPromoted() {
+        return promoted;
+    }
+
+    public void setPromoted(int promoted) {
+        this.promoted = promoted;
+    }
+
+    public int getWaitlistRemoved() {
+        return waitlistRemoved;
+    }
+
+    public void setWaitlistRemoved(int waitlistRemoved) {
+        this.waitlistRemoved = waitlistRemoved;
+    }
+}
@@ -1,9 +1,21 @@
 package com.guc.studentmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.LocalDateTime;
+
+// Read-mostly catalog row, kept in the Hibernate second-level cache. READ_WRITE: entity updates
+// soft-lock the entry until commit; bulk and native updates of the courses table evict the region.
 @Entity
-@Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(
+        name = "courses",
+        // most-enrolled listing (GET /courses/stats)
+        indexes = @Index(name = "idx_courses_enrolled_count", columnList = "enrolled_count, id")
+)
 public class Course {
 
     @Id
@@ -21,6 +33,25 @@ public class Course {
     // Credits (or course hours, optional)
     private Integer credit;
 
+    // Seat limit; null = unlimited. Enforced by the seat allocation update (CourseRepository.takeSeats)
+    private Integer capacity;
+
+    // Maintained by the enrollment write paths with "x = x + delta" updates; never written from the entity
+    @Column(name = "enrolled_count", insertable = false, updatable = false)
+    private Integer enrolledCount = 0;
+
+    // Optimistic lock for entity writes; conditional GETs use version + countersVersion as the ETag
+    @Version
+    private Long version;
+
+    // Bumped by the native counter updates instead of version (see db/migration V9)
+    @Column(name = "counters_version", insertable = false, updatable = false)
+    private Long countersVersion = 0L;
+
+    // Set by the database on every insert and update (see db/migration V6); never written from the entity
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
     // getter / setter
 
     public Long getId() {
@@ -54,4 +85,28 @@ public class Course {
     public void setCredit(Integer credit) {
         this.credit = credit;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getCountersVersion() {
+        return countersVersion;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
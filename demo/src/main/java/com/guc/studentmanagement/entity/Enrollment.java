@@ -7,13 +7,20 @@ import java.time.LocalDateTime;
 @Table(
         name = "enrollments",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = {"student_id", "course_id"})
+                // also serves lookups by student_id
+                @UniqueConstraint(name = "uk_enrollments_student_course", columnNames = {"student_id", "course_id"})
+        },
+        indexes = {
+                // course rosters and per-course counts
+                @Index(name = "idx_enrollments_course_student", columnList = "course_id, student_id")
         }
 )
 public class Enrollment {
 
+    // Sequence (pooled, 50 ids per round trip) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long id;
 
     // Many enrollment records -> one student
@@ -21,7 +28,7 @@ public class Enrollment {
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
-    // Many enrollment records -> one course
+    // Many enrollment records -> one course (the lazy proxy is initialised from the Course cache region)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
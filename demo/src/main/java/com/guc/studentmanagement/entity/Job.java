@@ -0,0 +1,289 @@
+package com.guc.studentmanagement.entity;
+
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.ExportTable;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+// A background import / export and its last checkpoint. The worker updates the row in the
+// same transaction as each chunk it commits, so after a restart the job continues from
+// resumeAfter without redoing or losing work.
+@Entity
+@Table(
+        name = "jobs",
+        indexes = {
+                // unfinished jobs to resume on startup
+                @Index(name = "idx_jobs_status_id", columnList = "status, id")
+        }
+)
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private ExportFormat format;
+
+    // EXPORT only
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "export_table", length = 16)
+    private ExportTable exportTable;
+
+    // STUDENT_IMPORT only: also create profiles
+    @Column(name = "with_profiles", nullable = false)
+    private boolean withProfiles;
+
+    // Spooled upload (import) and result file (export), under app.jobs.dir
+    @Column(name = "input_file", length = 500)
+    private String inputFile;
+
+    @Column(name = "output_file", length = 500)
+    private String outputFile;
+
+    // Rows to process: table size for exports, line count of the upload for imports (an estimate)
+    @Column(name = "total_items")
+    private Long totalItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    @Column(name = "failed_items", nullable = false)
+    private long failedItems;
+
+    // ===== checkpoint =====
+
+    // Import: input line up to which every row is accounted for; export: last id written
+    @Column(name = "resume_after", nullable = false)
+    private long resumeAfter;
+
+    // Export: length of the result file at the checkpoint (anything after it is rewritten)
+    @Column(name = "output_bytes", nullable = false)
+    private long outputBytes;
+
+    // Import: StudentImportReport as JSON, so a resumed import keeps its counts and row errors
+    @Lob
+    @Column(name = "report")
+    private String report;
+
+    @Column(length = 1000)
+    private String error;
+
+    // Runs so far (1 + resumes)
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Current run: throughput and ETA are measured from here (a resumed job starts a new run)
+    @Column(name = "run_started_at")
+    private LocalDateTime runStartedAt;
+
+    @Column(name = "run_start_processed", nullable = false)
+    private long runStartProcessed;
+
+    // Time of the last checkpoint
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // ===== getters / setters =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public JobType getType() {
+        return type;
+    }
+
+    public void setType(JobType type) {
+        this.type = type;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public ExportTable getExportTable() {
+        return exportTable;
+    }
+
+    public void setExportTable(ExportTable exportTable) {
+        this.exportTable = exportTable;
+    }
+
+    public boolean isWithProfiles() {
+        return withProfiles;
+    }
+
+    public void setWithProfiles(boolean withProfiles) {
+        this.withProfiles = withProfiles;
+    }
+
+    public String getInputFile() {
+        return inputFile;
+    }
+
+    public void setInputFile(String inputFile) {
+        this.inputFile = inputFile;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    public void setOutputFile(String outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    public Long getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(Long totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    public long getProcessedItems() {
+        return processedItems;
+    }
+
+    public void setProcessedItems(long processedItems) {
+        this.processedItems = processedItems;
+    }
+
+    public long getFailedItems() {
+        return failedItems;
+    }
+
+    public void setFailedItems(long failedItems) {
+        this.failedItems = failedItems;
+    }
+
+    public long getResumeAfter() {
+        return resumeAfter;
+    }
+
+    public void setResumeAfter(long resumeAfter) {
+        this.resumeAfter = resumeAfter;
+    }
+
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    public void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public void setReport(String report) {
+        this.report = report;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public void setRunStartedAt(LocalDateTime runStartedAt) {
+        this.runStartedAt = runStartedAt;
+    }
+
+    public long getRunStartProcessed() {
+        return runStartProcessed;
+    }
+
+    public void setRunStartProcessed(long runStartProcessed) {
+        this.runStartProcessed = runStartProcessed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.guc.studentmanagement.entity;
+
+// QUEUED and RUNNING jobs are picked up again after a restart
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.guc.studentmanagement.entity;
+
+// What a background job does (see service.JobService)
+public enum JobType {
+    STUDENT_IMPORT,
+    EXPORT
+}
@@ -1,10 +1,18 @@
 package com.guc.studentmanagement.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@Table(
+        name = "students",
+        indexes = {
+                // age range filters, with id for keyset paging and sorting
+                @Index(name = "idx_students_age_id", columnList = "age, id"),
+                @Index(name = "idx_students_name_lower", columnList = "name_lower, id")
+        }
+)
 public class Student {
 
     @Id
@@ -15,6 +23,29 @@ public class Student {
 
     private Integer age;
 
+    // lower(name), computed by the database (see db/migration); only used in search predicates
+    @Column(name = "name_lower", insertable = false, updatable = false)
+    private String nameLower;
+
+    // Enrollment counters, maintained by the enrollment write paths (never written from the entity)
+    @Column(name = "course_count", insertable = false, updatable = false)
+    private Integer courseCount = 0;
+
+    @Column(name = "total_credits", insertable = false, updatable = false)
+    private Integer totalCredits = 0;
+
+    // Optimistic lock for entity writes; conditional GETs use version + countersVersion as the ETag
+    @Version
+    private Long version;
+
+    // Bumped by the native counter updates instead of version (see db/migration V9)
+    @Column(name = "counters_version", insertable = false, updatable = false)
+    private Long countersVersion = 0L;
+
+    // Set by the database on every insert and update (see db/migration V6); never written from the entity
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
     // One-to-one: one student is associated with one profile
     @OneToOne(mappedBy = "student", cascade = CascadeType.ALL)
     private StudentProfile profile;
@@ -64,4 +95,24 @@ public class Student {
     public void setEnrollments(List<Enrollment> enrollments) {
         this.enrollments = enrollments;
     }
+
+    public Integer getCourseCount() {
+        return courseCount;
+    }
+
+    public Integer getTotalCredits() {
+        return totalCredits;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getCountersVersion() {
+        return countersVersion;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
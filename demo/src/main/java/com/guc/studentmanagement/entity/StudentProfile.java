@@ -2,6 +2,8 @@ package com.guc.studentmanagement.entity;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "student_profile")
 public class StudentProfile {
@@ -20,6 +22,14 @@ public class StudentProfile {
     @JoinColumn(name = "student_id")
     private Student student;
 
+    // Optimistic lock; GET /students/{id}/profile derives its ETag from it and the student's version
+    @Version
+    private Long version;
+
+    // Set by the database on every insert and update (see db/migration V6); never written from the entity
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
     // ===== Getter & Setter =====
 
     public Long getId() {
@@ -61,4 +71,12 @@ public class StudentProfile {
     public void setStudent(Student student) {
         this.student = student;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
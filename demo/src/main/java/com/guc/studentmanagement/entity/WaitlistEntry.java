@@ -0,0 +1,69 @@
+package com.guc.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "waitlist_entries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_waitlist_course_student", columnNames = {"course_id", "student_id"})
+        },
+        indexes = {
+                // FIFO order within a course
+                @Index(name = "idx_waitlist_course_id", columnList = "course_id, id"),
+                @Index(name = "idx_waitlist_student", columnList = "student_id")
+        }
+)
+public class WaitlistEntry {
+
+    // Join order: a lower id is ahead in the queue
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+
+    // ===== getters / setters =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.guc.studentmanagement.exception;
+
+public class CourseFullException extends RuntimeException {
+
+    public CourseFullException(String message) {
+        super(message);
+    }
+}
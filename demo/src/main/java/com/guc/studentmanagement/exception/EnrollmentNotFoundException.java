@@ -0,0 +1,8 @@
+package com.guc.studentmanagement.exception;
+
+public class EnrollmentNotFoundException extends RuntimeException {
+
+    public EnrollmentNotFoundException(String message) {
+        super(message);
+    }
+}
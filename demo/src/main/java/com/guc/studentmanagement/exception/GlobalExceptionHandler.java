@@ -2,12 +2,15 @@ package com.guc.studentmanagement.exception;
 
 import com.guc.studentmanagement.dto.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -39,6 +42,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    // 1.1) Handle request parameters that cannot be converted (e.g. unknown enum value)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "INVALID_PARAMETER",
+                "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'",
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     // 2)  StudentNotFoundException
     @ExceptionHandler(StudentNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleStudentNotFound(
@@ -71,6 +90,184 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    // 2.1.1)  CourseFullException (no seat left)
+    @ExceptionHandler(CourseFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleCourseFull(
+            CourseFullException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "COURSE_FULL",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // 2.1.2)  EnrollmentNotFoundException (the student is not enrolled in the course)
+    @ExceptionHandler(EnrollmentNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleEnrollmentNotFound(
+            EnrollmentNotFoundException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "ENROLLMENT_NOT_FOUND",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    // 2.1.3)  NotOnWaitlistException (the student is not waiting for the course)
+    @ExceptionHandler(NotOnWaitlistException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotOnWaitlist(
+            NotOnWaitlistException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "NOT_ON_WAITLIST",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    // 2.1.4)  WaitlistConflictException (already enrolled, or the course still has seats)
+    @ExceptionHandler(WaitlistConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleWaitlistConflict(
+            WaitlistConflictException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "WAITLIST_CONFLICT",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // 2.2)  InvalidCursorException (malformed "after" token on keyset endpoints)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidCursor(
+            InvalidCursorException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "INVALID_CURSOR",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // 2.2.0)  BatchTooLargeException (batch get with more ids than app.batch-get.max-ids)
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBatchTooLarge(
+            BatchTooLargeException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "BATCH_TOO_LARGE",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // 2.2.1)  InvalidImportException (upload that cannot be imported, e.g. CSV header without name/age)
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidImport(
+            InvalidImportException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "INVALID_IMPORT",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // 2.2.2)  JobNotFoundException
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleJobNotFound(
+            JobNotFoundException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "JOB_NOT_FOUND",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    // 2.2.3)  JobResultNotAvailableException (job still running, failed, or has no result file)
+    @ExceptionHandler(JobResultNotAvailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleJobResultNotAvailable(
+            JobResultNotAvailableException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "JOB_RESULT_NOT_AVAILABLE",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // 2.2.4)  JobQueueFullException (every job worker busy and the queue full): retry later
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleJobQueueFull(
+            JobQueueFullException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "JOB_QUEUE_FULL",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(body);
+    }
+
+    // 2.3)  Optimistic lock conflict (@Version): the row changed between read and write
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        ApiResponse<Void> body = ApiResponse.error(
+                "CONCURRENT_MODIFICATION",
+                "The resource was modified concurrently, please retry",
+                request.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     // 3) Fallback exception handler(handles all other unhandled exceptions in the system)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneralException(
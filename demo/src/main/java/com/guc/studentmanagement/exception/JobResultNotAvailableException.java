@@ -0,0 +1,8 @@
+package com.guc.studentmanagement.exception;
+
+public class JobResultNotAvailableException extends RuntimeException {
+
+    public JobResultNotAvailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.guc.studentmanagement.exception;
+
+public class NotOnWaitlistException extends RuntimeException {
+
+    public NotOnWaitlistException(String message) {
+        super(message);
+    }
+}
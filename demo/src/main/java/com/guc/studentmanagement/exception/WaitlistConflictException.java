@@ -0,0 +1,8 @@
+package com.guc.studentmanagement.exception;
+
+public class WaitlistConflictException extends RuntimeException {
+
+    public WaitlistConflictException(String message) {
+        super(message);
+    }
+}
@@ -14,7 +14,9 @@ public class CourseMapper {
                 course.getId(),
                 course.getName(),
                 course.getDescription(),
-                course.getCredit()
+                course.getCredit(),
+                course.getCapacity(),
+                course.getEnrolledCount()
         );
     }
 
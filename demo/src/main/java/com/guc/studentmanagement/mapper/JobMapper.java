@@ -0,0 +1,66 @@
+package com.guc.studentmanagement.mapper;
+
+import com.guc.studentmanagement.dto.JobDto;
+import com.guc.studentmanagement.dto.StudentImportReport;
+import com.guc.studentmanagement.entity.Job;
+import com.guc.studentmanagement.entity.JobStatus;
+import com.guc.studentmanagement.entity.JobType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class JobMapper {
+
+    // report: the job's StudentImportReport (import jobs), already parsed
+    public static JobDto toDto(Job job, StudentImportReport report) {
+        if (job == null) {
+            return null;
+        }
+
+        JobDto dto = new JobDto();
+        dto.setId(job.getId());
+        dto.setType(job.getType());
+        dto.setStatus(job.getStatus());
+        dto.setFormat(job.getFormat());
+        dto.setExportTable(job.getExportTable());
+        dto.setTotalItems(job.getTotalItems());
+        dto.setProcessedItems(job.getProcessedItems());
+        dto.setFailedItems(job.getFailedItems());
+        dto.setAttempts(job.getAttempts());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setError(job.getError());
+        dto.setReport(report);
+
+        Long total = job.getTotalItems();
+        if (job.getStatus() == JobStatus.COMPLETED) {
+            dto.setPercent(100.0);
+        } else if (total != null && total > 0) {
+            dto.setPercent(Math.min(100.0, Math.round(job.getProcessedItems() * 1000.0 / total) / 10.0));
+        }
+
+        // Throughput of the current run, measured between checkpoints (a resumed job starts over)
+        LocalDateTime measuredUntil = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+        long items = job.getProcessedItems() - job.getRunStartProcessed();
+        if (job.getRunStartedAt() != null && measuredUntil != null && items > 0) {
+            double seconds = Duration.between(job.getRunStartedAt(), measuredUntil).toMillis() / 1000.0;
+            if (seconds > 0) {
+                double rate = items / seconds;
+                dto.setItemsPerSecond(Math.round(rate * 10) / 10.0);
+                if (job.getStatus() == JobStatus.RUNNING && total != null) {
+                    // remaining work at that rate, less the time since the last checkpoint
+                    double eta = Math.max(0, total - job.getProcessedItems()) / rate
+                            - Duration.between(job.getUpdatedAt(), LocalDateTime.now()).toMillis() / 1000.0;
+                    dto.setEtaSeconds(Math.max(0, Math.round(eta)));
+                }
+            }
+        }
+
+        if (job.getType() == JobType.EXPORT && job.getStatus() == JobStatus.COMPLETED) {
+            dto.setResultPath("/jobs/" + job.getId() + "/result");
+        }
+        return dto;
+    }
+}
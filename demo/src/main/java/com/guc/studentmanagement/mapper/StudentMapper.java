@@ -18,6 +18,8 @@ public class StudentMapper {
         dto.setId(student.getId());
         dto.setName(student.getName());
         dto.setAge(student.getAge());
+        dto.setCourseCount(student.getCourseCount());
+        dto.setTotalCredits(student.getTotalCredits());
         return dto;
     }
 
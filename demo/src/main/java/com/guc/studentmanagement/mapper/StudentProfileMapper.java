@@ -20,9 +20,18 @@ public class StudentProfileMapper {
         dto.setAddress(profile.getAddress());
         dto.setEmergencyContact(profile.getEmergencyContact());
 
-        if (profile.getStudent() != null) {
-            dto.setStudentId(profile.getStudent().getId());
-            dto.setStudentName(profile.getStudent().getName());
+        Student student = profile.getStudent();
+        if (student != null) {
+            dto.setStudentId(student.getId());
+            dto.setStudentName(student.getName());
+            // Same version and time as StudentProfileRepository.findVersionStamp
+            if (profile.getVersion() != null && student.getVersion() != null) {
+                dto.setVersion(profile.getVersion() + student.getVersion());
+            }
+            if (profile.getUpdatedAt() != null && student.getUpdatedAt() != null) {
+                dto.setUpdatedAt(profile.getUpdatedAt().isAfter(student.getUpdatedAt())
+                        ? profile.getUpdatedAt() : student.getUpdatedAt());
+            }
         }
 
         return dto;
@@ -0,0 +1,39 @@
+package com.guc.studentmanagement.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Counts JDBC statements and their execution time per thread.
+// Callers take a snapshot before the work and read the delta afterwards, so nested
+// measurements need no reset and a thread never carries state between requests.
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    // [0] = statements executed, [1] = nanoseconds spent in JDBC execute calls,
+    // [2] = start of the statement currently executing
+    private static final ThreadLocal<long[]> COUNTERS = ThreadLocal.withInitial(() -> new long[3]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // datasource-proxy only reports whole milliseconds, so time the call ourselves
+        COUNTERS.get()[2] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long[] counters = COUNTERS.get();
+        // A JDBC batch counts once per batched statement
+        counters[0] += execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : queryInfoList.size();
+        counters[1] += System.nanoTime() - counters[2];
+    }
+
+    public static long statementCount() {
+        return COUNTERS.get()[0];
+    }
+
+    public static long jdbcNanos() {
+        return COUNTERS.get()[1];
+    }
+}
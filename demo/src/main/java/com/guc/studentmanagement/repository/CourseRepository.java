@@ -1,8 +1,193 @@
 package com.guc.studentmanagement.repository;
 
+import com.guc.studentmanagement.dto.CourseDto;
 import com.guc.studentmanagement.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    // Forward-only stream for exports (caller must consume it inside a transaction and close it)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.guc.studentmanagement.dto.CourseDto(
+                c.id, c.name, c.description, c.credit, c.capacity, c.enrolledCount)
+            from Course c
+            order by c.id
+            """)
+    Stream<CourseDto> streamAllDtos();
+
+    // Keyset chunk for export jobs: the rows after the last checkpointed id
+    @Query("""
+            select new com.guc.studentmanagement.dto.CourseDto(
+                c.id, c.name, c.description, c.credit, c.capacity, c.enrolledCount)
+            from Course c
+            where c.id > :afterId
+            order by c.id
+            """)
+    List<CourseDto> findDtosAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Batched fetch for POST /courses:batchGet (order is restored by the caller)
+    @Query("""
+            select new com.guc.studentmanagement.dto.CourseDto(
+                c.id, c.name, c.description, c.credit, c.capacity, c.enrolledCount)
+            from Course c
+            where c.id in :ids
+            """)
+    List<CourseDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Id + name of every course (builds the suggestion index)
+    @Query("select c.id as id, c.name as name from Course c")
+    List<IdName> findIdNames();
+
+    // Type-ahead fallback while the suggestion index is loading
+    List<IdName> findByNameStartingWithIgnoreCase(String prefix, Pageable pageable);
+
+    interface IdName {
+        Long getId();
+
+        String getName();
+    }
+
+    // Course catalog (GET /courses), served from the query cache: the result ids are cached and
+    // the rows come from the Course region; any write to the courses table invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select c from Course c order by c.id")
+    List<Course> findCatalog();
+
+    // GET /courses collection ETag, without loading the catalog. count + max(id) change on every
+    // insert/delete and sum(version + countersVersion) on every update (both only grow), so unlike
+    // max(updated_at) it cannot miss a write that committed out of timestamp order.
+    // Query-cached: runs once per write to the courses table.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select count(c) as count,
+                   coalesce(max(c.id), 0) as maxId,
+                   coalesce(sum(c.version + c.countersVersion), 0) as versionSum,
+                   max(c.updatedAt) as lastUpdated
+            from Course c
+            """)
+    CatalogStamp findCatalogStamp();
+
+    interface CatalogStamp {
+        long getCount();
+
+        long getMaxId();
+
+        long getVersionSum();
+
+        LocalDateTime getLastUpdated();
+
+        default String getETag() {
+            return eTag(getCount(), getMaxId(), getVersionSum());
+        }
+
+        // Also used to stamp loaded rows (CourseService.getCatalog), so both sides must agree
+        static String eTag(long count, long maxId, long versionSum) {
+            return "\"" + count + "-" + maxId + "-" + versionSum + "\"";
+        }
+
+        // -1 (no Last-Modified) for an empty catalog
+        default long getLastModified() {
+            return getLastUpdated() == null ? -1 : VersionStamp.toEpochMilli(getLastUpdated());
+        }
+    }
+
+    // Which of the given ids exist (one IN query, ids only)
+    @Query("select c.id from Course c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ---------- Enrollment counter (enrolled_count) ----------
+    // The native updates declare the courses table as their query space; without it Hibernate
+    // would invalidate every second-level cache region on each of them. Each one bumps
+    // counters_version (part of the course's ETag, with enrolledCount), never the @Version column
+    // that PUT /courses/{id} checks.
+
+    // Seat allocation: takes `seats` seats only if all of them fit (capacity null = unlimited).
+    // A single conditional UPDATE, so the check and the increment are atomic under any contention;
+    // returns 0 when the course is full (or does not exist). Locks the course row until commit.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "courses"))
+    @Query(value = """
+            update courses set enrolled_count = enrolled_count + :seats, counters_version = counters_version + 1
+            where id = :id and (capacity is null or enrolled_count + :seats <= capacity)
+            """, nativeQuery = true)
+    int takeSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    // Seats left (Integer.MAX_VALUE when unlimited), locking the course row until commit
+    @Query(value = """
+            select coalesce(capacity - enrolled_count, 2147483647) from courses where id = :id for update
+            """, nativeQuery = true)
+    Integer lockFreeSeats(@Param("id") Long id);
+
+    // In-place "x = x + delta" for freed seats (negative delta); safe under concurrent enrollments
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "courses"))
+    @Query(value = "update courses set enrolled_count = enrolled_count + :delta, counters_version = counters_version + 1 where id in :ids", nativeQuery = true)
+    int addEnrolledCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    // GET /courses/stats: totals read from the counter column, no scan of enrollments
+    @Query("""
+            select count(c) as courses,
+                   coalesce(sum(c.enrolledCount), 0) as enrollments,
+                   coalesce(max(c.enrolledCount), 0) as maxEnrolled
+            from Course c
+            """)
+    EnrollmentTotals findEnrollmentTotals();
+
+    @Query("""
+            select new com.guc.studentmanagement.dto.CourseDto(c.id, c.name, c.description, c.credit, c.capacity, c.enrolledCount)
+            from Course c
+            order by c.enrolledCount desc, c.id desc
+            """)
+    List<CourseDto> findMostEnrolled(Pageable limit);
+
+    interface EnrollmentTotals {
+        long getCourses();
+
+        long getEnrollments();
+
+        int getMaxEnrolled();
+    }
+
+    // Reconciliation: stored counter and the real count side by side, read by one statement so
+    // both come from the same snapshot
+    @Query("""
+            select c.id as id,
+                   c.enrolledCount as storedCount,
+                   (select count(e) from Enrollment e where e.course.id = c.id) as actualCount
+            from Course c
+            where c.id > :afterId
+            order by c.id
+            """)
+    List<EnrolledCountRow> findEnrolledCountsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    interface EnrolledCountRow {
+        Long getId();
+
+        int getStoredCount();
+
+        long getActualCount();
+    }
+
+    // Compare-and-set: only overwrites the value the reconciliation read, so a concurrent
+    // enrollment committed after that read is never lost
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "courses"))
+    @Query(value = """
+            update courses set enrolled_count = :actual, counters_version = counters_version + 1
+            where id = :id and enrolled_count = :stored
+            """, nativeQuery = true)
+    int resetEnrolledCount(@Param("id") Long id, @Param("stored") int stored, @Param("actual") int actual);
 }
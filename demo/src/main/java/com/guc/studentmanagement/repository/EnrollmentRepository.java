@@ -1,21 +1,134 @@
 package com.guc.studentmanagement.repository;
 
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.EnrollmentInfoDto;
+import com.guc.studentmanagement.dto.StudentDto;
 import com.guc.studentmanagement.entity.Enrollment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
+    // The two finders below compare the FK column directly; the derived versions joined students /
+    // courses and filtered on the joined table, which left enrollments to a full scan.
+
     //  Retrieve all enrollments for a given student
-    List<Enrollment> findByStudentId(Long studentId);
+    @Query("select e from Enrollment e where e.student.id = :studentId")
+    List<Enrollment> findByStudentId(@Param("studentId") Long studentId);
 
     // Retrieve all enrollments for a given course
-    List<Enrollment> findByCourseId(Long courseId);
+    @Query("select e from Enrollment e where e.course.id = :courseId")
+    List<Enrollment> findByCourseId(@Param("courseId") Long courseId);
 
     // Check whether a student has already enrolled in a course(to prevent duplicate enrollment)
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
 
-    // Used for course withdrawal(if a drop-course endpoint is added in the future)
-    void deleteByStudentIdAndCourseId(Long studentId, Long courseId);
+    // ---------- Withdrawal (CourseService): set-based, no entities are loaded ----------
+
+    // Enrolled students of a course, optionally restricted to the given ids
+    @Query("select e.student.id from Enrollment e where e.course.id = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select e.student.id from Enrollment e where e.course.id = :courseId and e.student.id in :studentIds")
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
+    // The derived deleteBy... loaded every matching entity and removed them one by one
+    @Modifying
+    @Query("delete from Enrollment e where e.course.id = :courseId and e.student.id in :studentIds")
+    int deleteByCourseIdAndStudentIds(@Param("courseId") Long courseId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    // ---------- Read-only projections (single join, no managed entities) ----------
+
+    // Courses selected by a student
+    @Query("""
+            select new com.guc.studentmanagement.dto.CourseDto(c.id, c.name, c.description, c.credit, c.capacity, c.enrolledCount)
+            from Enrollment e join e.course c
+            where e.student.id = :studentId
+            order by e.id
+            """)
+    List<CourseDto> findCourseDtosByStudentId(@Param("studentId") Long studentId);
+
+    // Students enrolled in a course
+    @Query("""
+            select new com.guc.studentmanagement.dto.StudentDto(s.id, s.name, s.age, s.courseCount, s.totalCredits)
+            from Enrollment e join e.student s
+            where e.course.id = :courseId
+            order by e.id
+            """)
+    List<StudentDto> findStudentDtosByCourseId(@Param("courseId") Long courseId);
+
+    // Enrollment details of a student (course + enrollment time)
+    @Query("""
+            select new com.guc.studentmanagement.dto.EnrollmentInfoDto(
+                e.id, s.id, s.name, c.id, c.name, e.enrolledAt)
+            from Enrollment e join e.student s join e.course c
+            where s.id = :studentId
+            order by e.id
+            """)
+    List<EnrollmentInfoDto> findInfoDtosByStudentId(@Param("studentId") Long studentId);
+
+    // Forward-only stream of all enrollments as DTOs (export); consume inside a transaction and close it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.guc.studentmanagement.dto.EnrollmentInfoDto(
+                e.id, s.id, s.name, c.id, c.name, e.enrolledAt)
+            from Enrollment e join e.student s join e.course c
+            order by e.id
+            """)
+    Stream<EnrollmentInfoDto> streamAllInfoDtos();
+
+    // Keyset chunk for export jobs: the rows after the last checkpointed id
+    @Query("""
+            select new com.guc.studentmanagement.dto.EnrollmentInfoDto(
+                e.id, s.id, s.name, c.id, c.name, e.enrolledAt)
+            from Enrollment e join e.student s join e.course c
+            where e.id > :afterId
+            order by e.id
+            """)
+    List<EnrollmentInfoDto> findInfoDtosAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Existing (student, course) pairs among the given ids; used by batch enrollment
+    // to detect duplicates against the unique constraint in one query
+    @Query("""
+            select e.student.id as studentId, e.course.id as courseId
+            from Enrollment e
+            where e.student.id in :studentIds and e.course.id in :courseIds
+            """)
+    List<StudentCoursePair> findPairs(@Param("studentIds") Collection<Long> studentIds,
+                                      @Param("courseIds") Collection<Long> courseIds);
+
+    // Enrollment totals per course / per student (popularity for name suggestions)
+    @Query("select e.course.id as id, count(e) as total from Enrollment e group by e.course.id")
+    List<IdCount> countPerCourse();
+
+    @Query("select e.student.id as id, count(e) as total from Enrollment e group by e.student.id")
+    List<IdCount> countPerStudent();
+
+    interface IdCount {
+        Long getId();
+
+        long getTotal();
+    }
+
+    interface StudentCoursePair {
+        Long getStudentId();
+
+        Long getCourseId();
+    }
 }
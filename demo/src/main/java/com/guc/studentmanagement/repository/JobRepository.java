@@ -0,0 +1,14 @@
+package com.guc.studentmanagement.repository;
+
+import com.guc.studentmanagement.entity.Job;
+import com.guc.studentmanagement.entity.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // Oldest first (jobs left unfinished by the previous run, see idx_jobs_status_id)
+    List<Job> findByStatusInOrderByIdAsc(Collection<JobStatus> statuses);
+}
@@ -2,11 +2,26 @@ package com.guc.studentmanagement.repository;
 
 import com.guc.studentmanagement.entity.StudentProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface StudentProfileRepository extends JpaRepository<StudentProfile, Long> {
 
-    Optional<StudentProfile> findByStudentId(Long studentId);
+    // Filters on the student_id FK column (the derived query joined students first)
+    @Query("select p from StudentProfile p where p.student.id = :studentId")
+    Optional<StudentProfile> findByStudentId(@Param("studentId") Long studentId);
+
+    // Conditional GET /students/{id}/profile. The DTO carries the student's name, so the version
+    // is the sum of both row versions (each only grows) and the modification time the later one
+    @Query("""
+            select p.id as id,
+                   p.version + s.version as version,
+                   greatest(p.updatedAt, s.updatedAt) as updatedAt
+            from StudentProfile p join p.student s
+            where s.id = :studentId
+            """)
+    Optional<VersionStamp> findVersionStamp(@Param("studentId") Long studentId);
 
 }
@@ -1,25 +1,215 @@
 package com.guc.studentmanagement.repository;
 
+import com.guc.studentmanagement.dto.StudentDto;
 import com.guc.studentmanagement.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudentRepository extends
         JpaRepository<Student, Long>,
         JpaSpecificationExecutor<Student> {   // ⭐ 新加这个
 
-    Page<Student> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    // Name search runs against name_lower, a generated lower(name) column, so no function is
+    // evaluated per row; callers pass an already lower-cased keyword
+    Page<Student> findByNameLowerContaining(String name, Pageable pageable);
 
     // Query by age range
     Page<Student> findByAgeBetween(int minAge, int maxAge, Pageable pageable);
 
-    // Filter by name and age range , Fuzzy search by name (case-insensitive)
-    Page<Student> findByNameContainingIgnoreCaseAndAgeBetween(
+    // Filter by name and age range , Fuzzy search by name (case-insensitive, via name_lower)
+    Page<Student> findByNameLowerContainingAndAgeBetween(
             String name,
             int minAge,
             int maxAge,
             Pageable pageable
     );
+
+    // ---------- Keyset (seek) variants: "id > lastSeenId", no COUNT query ----------
+    // The inverse one-to-one profile is always loaded eagerly, so it is fetched in the same
+    // select; otherwise every row of a page would cost a second query
+
+    @EntityGraph(attributePaths = "profile")
+    Slice<Student> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "profile")
+    Slice<Student> findByNameLowerContainingAndIdGreaterThan(String name, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "profile")
+    Slice<Student> findByAgeBetweenAndIdGreaterThan(int minAge, int maxAge, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "profile")
+    Slice<Student> findByNameLowerContainingAndAgeBetweenAndIdGreaterThan(
+            String name,
+            int minAge,
+            int maxAge,
+            Long id,
+            Pageable pageable
+    );
+
+    // Totals for the keyset endpoints (only run when the caller asks for them)
+    long countByNameLowerContaining(String name);
+
+    long countByAgeBetween(int minAge, int maxAge);
+
+    long countByNameLowerContainingAndAgeBetween(String name, int minAge, int maxAge);
+
+    // Forward-only stream for exports and GET /students (caller must consume it inside a transaction
+    // and close it). A DTO projection: entities would load the eager non-owning profile row by row
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.guc.studentmanagement.dto.StudentDto(s.id, s.name, s.age, s.courseCount, s.totalCredits) from Student s order by s.id")
+    Stream<StudentDto> streamAllDtos();
+
+    // Keyset chunk for export jobs: the rows after the last checkpointed id
+    @Query("select new com.guc.studentmanagement.dto.StudentDto(s.id, s.name, s.age, s.courseCount, s.totalCredits) from Student s where s.id > :afterId order by s.id")
+    List<StudentDto> findDtosAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // ---------- In-memory name index (search.StudentNameIndex) ----------
+
+    // Build input: id / name / age only, in id order after the given id
+    @Query("select s.id as id, s.name as name, s.age as age from Student s where s.id > :afterId order by s.id")
+    List<NameRow> findNameRowsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Batched fetch of the ids an index lookup or GET /students?ids= produced (order is restored by the caller).
+    // Carries the version stamp: GET /students?ids= puts these rows into the students cache
+    @Query("""
+            select new com.guc.studentmanagement.dto.StudentDto(
+                s.id, s.name, s.age, s.courseCount, s.totalCredits, s.version + s.countersVersion, s.updatedAt)
+            from Student s where s.id in :ids
+            """)
+    List<StudentDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Type-ahead fallback while the suggestion index is loading (prefix LIKE seeks idx_students_name_lower)
+    List<NameRow> findByNameLowerStartingWith(String prefix, Pageable pageable);
+
+    interface NameRow {
+        Long getId();
+
+        String getName();
+
+        Integer getAge();
+    }
+
+    // Conditional GET /students/{id}: version and modification time only (primary-key lookup).
+    // Entity writes bump version, counter updates counters_version; both only grow
+    @Query("select s.id as id, s.version + s.countersVersion as version, s.updatedAt as updatedAt from Student s where s.id = :id")
+    Optional<VersionStamp> findVersionStamp(@Param("id") Long id);
+
+    // Which of the given ids exist (one IN query, ids only)
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ---------- Enrollment counters (course_count / total_credits) ----------
+    // Native updates name the students table as their query space, so they leave the
+    // second-level cache regions of other tables (the Course region) alone. They bump
+    // counters_version, not the @Version column: the counters are part of the student's ETag, but
+    // a concurrent enrollment must not fail an unrelated PUT /students/{id} with a 409.
+
+    // Adds sign x (number, summed credits) of the given enrollment rows to each of their students.
+    // The rows must still exist: call after inserting them, or before deleting them.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Query(value = """
+            update students s
+            set counters_version = s.counters_version + 1,
+                course_count     = s.course_count + :sign * (
+                    select count(*) from enrollments e
+                    where e.student_id = s.id and e.id in :enrollmentIds),
+                total_credits    = s.total_credits + :sign * (
+                    select coalesce(sum(c.credit), 0) from enrollments e join courses c on c.id = e.course_id
+                    where e.student_id = s.id and e.id in :enrollmentIds)
+            where s.id in :studentIds
+            """, nativeQuery = true)
+    int addEnrollmentCounts(@Param("studentIds") Collection<Long> studentIds,
+                            @Param("enrollmentIds") Collection<Long> enrollmentIds,
+                            @Param("sign") int sign);
+
+    // Withdrawal: takes one course off the counters of the given students enrolled in it
+    // (all of its students for the second variant). Call before deleting the rows.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Query(value = """
+            update students
+            set counters_version = counters_version + 1,
+                course_count     = course_count - 1,
+                total_credits    = total_credits - (select coalesce(c.credit, 0) from courses c where c.id = :courseId)
+            where id in (select e.student_id from enrollments e
+                         where e.course_id = :courseId and e.student_id in :studentIds)
+            """, nativeQuery = true)
+    int removeCourseFromCounts(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Query(value = """
+            update students
+            set counters_version = counters_version + 1,
+                course_count     = course_count - 1,
+                total_credits    = total_credits - (select coalesce(c.credit, 0) from courses c where c.id = :courseId)
+            where id in (select e.student_id from enrollments e where e.course_id = :courseId)
+            """, nativeQuery = true)
+    int removeCourseFromAllCounts(@Param("courseId") Long courseId);
+
+    // A course's credit changed: shift total_credits of everyone enrolled in it
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Query(value = """
+            update students
+            set counters_version = counters_version + 1, total_credits = total_credits + :delta
+            where id in (select e.student_id from enrollments e where e.course_id = :courseId)
+            """, nativeQuery = true)
+    int addCreditsForCourse(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    // Reconciliation: stored counters and the real values from one statement (same snapshot)
+    @Query("""
+            select s.id as id,
+                   s.courseCount as storedCount,
+                   s.totalCredits as storedCredits,
+                   (select count(e) from Enrollment e where e.student.id = s.id) as actualCount,
+                   (select coalesce(sum(c.credit), 0) from Enrollment e join e.course c
+                    where e.student.id = s.id) as actualCredits
+            from Student s
+            where s.id > :afterId
+            order by s.id
+            """)
+    List<EnrollmentCountRow> findEnrollmentCountsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    interface EnrollmentCountRow {
+        Long getId();
+
+        int getStoredCount();
+
+        int getStoredCredits();
+
+        long getActualCount();
+
+        long getActualCredits();
+    }
+
+    // Compare-and-set, see CourseRepository.resetEnrolledCount
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Query(value = """
+            update students
+            set counters_version = counters_version + 1, course_count = :actualCount, total_credits = :actualCredits
+            where id = :id and course_count = :storedCount and total_credits = :storedCredits
+            """, nativeQuery = true)
+    int resetEnrollmentCounts(@Param("id") Long id,
+                              @Param("storedCount") int storedCount,
+                              @Param("storedCredits") int storedCredits,
+                              @Param("actualCount") int actualCount,
+                              @Param("actualCredits") int actualCredits);
 }
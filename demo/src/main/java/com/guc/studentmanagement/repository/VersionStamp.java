@@ -0,0 +1,48 @@
+package com.guc.studentmanagement.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Version and modification time of one resource, read without loading it (conditional GETs)
+public interface VersionStamp {
+
+    Long getId();
+
+    long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    // Strong ETag: changes with every committed write of the row(s) behind the resource
+    default String getETag() {
+        return "\"" + getId() + "-" + getVersion() + "\"";
+    }
+
+    default long getLastModified() {
+        return toEpochMilli(getUpdatedAt());
+    }
+
+    // Stamp of a copy already in hand (a cached DTO), so its headers describe exactly that body
+    static VersionStamp of(Long id, long version, LocalDateTime updatedAt) {
+        return new VersionStamp() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    // updated_at is written by the database clock in the session time zone (the JVM's)
+    static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
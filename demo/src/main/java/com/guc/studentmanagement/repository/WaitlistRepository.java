@@ -0,0 +1,81 @@
+package com.guc.studentmanagement.repository;
+
+import com.guc.studentmanagement.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // FK columns are compared directly (see EnrollmentRepository) so the composite indexes are used
+
+    @Query("select w.id from WaitlistEntry w where w.course.id = :courseId and w.student.id = :studentId")
+    Optional<Long> findEntryId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    // Head of a course's queue, locked so a concurrent leave cannot race the promotion
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select w.id as id, w.student.id as studentId
+            from WaitlistEntry w
+            where w.course.id = :courseId
+            order by w.id
+            """)
+    List<EntryRow> findHeadForUpdate(@Param("courseId") Long courseId, Pageable limit);
+
+    // Position fallback while the in-memory queues are loading
+    @Query("select count(w) from WaitlistEntry w where w.course.id = :courseId and w.id < :entryId")
+    long countAhead(@Param("courseId") Long courseId, @Param("entryId") Long entryId);
+
+    @Query("select count(w) from WaitlistEntry w where w.course.id = :courseId")
+    long countByCourse(@Param("courseId") Long courseId);
+
+    // Entries of a student, one per course they are waiting for
+    @Query("select w.id as id, w.course.id as courseId, w.student.id as studentId from WaitlistEntry w where w.student.id = :studentId")
+    List<QueueRow> findEntriesByStudentId(@Param("studentId") Long studentId);
+
+    // Newest entry of a course (what a clear of its waitlist deletes up to)
+    @Query("select max(w.id) from WaitlistEntry w where w.course.id = :courseId")
+    Optional<Long> findMaxEntryId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.course.id = :courseId and w.student.id = :studentId")
+    int deleteEntry(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.course.id = :courseId")
+    int deleteByCourse(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.student.id = :studentId")
+    int deleteByStudent(@Param("studentId") Long studentId);
+
+    // Loads the in-memory queues: every entry in id (= join) order
+    @Query("""
+            select w.id as id, w.course.id as courseId, w.student.id as studentId
+            from WaitlistEntry w
+            where w.id > :afterId
+            order by w.id
+            """)
+    List<QueueRow> findRowsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    interface EntryRow {
+        Long getId();
+
+        Long getStudentId();
+    }
+
+    interface QueueRow {
+        Long getId();
+
+        Long getCourseId();
+
+        Long getStudentId();
+    }
+}
@@ -0,0 +1,204 @@
+package com.guc.studentmanagement.search;
+
+import com.guc.studentmanagement.dto.SuggestionDto;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.EnrollmentRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Type-ahead indexes over student and course names, ranked by enrollment count.
+ * <p>
+ * Loaded in the background after startup; until then {@link #isWarm()} is false and callers
+ * use SQL. Writes that arrive while the tables are being read are applied to the live index
+ * and queued, then replayed on top of the freshly loaded one (an enrollment that the load
+ * already counted may be counted twice; popularity is only a ranking hint).
+ */
+@Component
+public class NameSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NameSuggestIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int buildChunkSize;
+
+    private final PrefixSuggestIndex students = new PrefixSuggestIndex(MAX_SUGGESTIONS);
+    private final PrefixSuggestIndex courses = new PrefixSuggestIndex(MAX_SUGGESTIONS);
+
+    // Serializes writes with the load's swap-and-replay step
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean warm;
+
+    public NameSuggestIndex(StudentRepository studentRepository,
+                            CourseRepository courseRepository,
+                            EnrollmentRepository enrollmentRepository,
+                            @Qualifier("applicationTaskExecutor") Executor executor,
+                            @Value("${app.search.suggest.enabled:true}") boolean enabled,
+                            @Value("${app.search.name-index.build-chunk-size:5000}") int buildChunkSize) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.buildChunkSize = buildChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            loading = true;
+            pendingWrites.clear();
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            Map<Long, String> courseNames = new HashMap<>();
+            for (CourseRepository.IdName row : courseRepository.findIdNames()) {
+                courseNames.put(row.getId(), row.getName());
+            }
+            Map<Long, String> studentNames = new HashMap<>();
+            long afterId = Long.MIN_VALUE;
+            List<StudentRepository.NameRow> rows;
+            do {
+                rows = studentRepository.findNameRowsAfter(afterId, PageRequest.of(0, buildChunkSize));
+                for (StudentRepository.NameRow row : rows) {
+                    studentNames.put(row.getId(), row.getName());
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (rows.size() == buildChunkSize);
+
+            PrefixSuggestIndex.Snapshot courseSnapshot =
+                    courses.prepare(courseNames, totals(enrollmentRepository.countPerCourse()));
+            PrefixSuggestIndex.Snapshot studentSnapshot =
+                    students.prepare(studentNames, totals(enrollmentRepository.countPerStudent()));
+
+            writeLock.lock();
+            try {
+                courses.swap(courseSnapshot);
+                students.swap(studentSnapshot);
+                pendingWrites.forEach(Runnable::run);
+                pendingWrites.clear();
+                loading = false;
+                warm = true;
+            } finally {
+                writeLock.unlock();
+            }
+            log.info("Name suggestion index built: {} students, {} courses in {} ms",
+                    studentNames.size(), courseNames.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            writeLock.lock();
+            try {
+                loading = false;
+                pendingWrites.clear();
+            } finally {
+                writeLock.unlock();
+            }
+            log.warn("Name suggestion index build failed; suggestions keep using SQL", ex);
+        }
+    }
+
+    // ---------- lookups (prefix is normalized here) ----------
+
+    public List<SuggestionDto> suggestStudents(String prefix, int limit) {
+        return students.suggest(PrefixSuggestIndex.normalize(prefix), limit);
+    }
+
+    public List<SuggestionDto> suggestCourses(String prefix, int limit) {
+        return courses.suggest(PrefixSuggestIndex.normalize(prefix), limit);
+    }
+
+    // ---------- writes (call after the change has been committed) ----------
+
+    public void studentSaved(long id, String name) {
+        write(() -> students.put(id, name));
+    }
+
+    public void studentDeleted(long id) {
+        write(() -> students.remove(id));
+    }
+
+    public void courseSaved(long id, String name) {
+        write(() -> courses.put(id, name));
+    }
+
+    public void courseDeleted(long id) {
+        write(() -> courses.remove(id));
+    }
+
+    // New enrollments: +1 for the course and for the student of each pair
+    public void enrollmentsAdded(Map<Long, Long> perStudent, Map<Long, Long> perCourse) {
+        if (perStudent.isEmpty() && perCourse.isEmpty()) {
+            return;
+        }
+        write(() -> {
+            students.addPopularity(perStudent);
+            courses.addPopularity(perCourse);
+        });
+    }
+
+    // Dropped enrollments: -1 for the course and for the student of each pair
+    public void enrollmentsRemoved(Map<Long, Long> perStudent, Map<Long, Long> perCourse) {
+        Map<Long, Long> students = new HashMap<>();
+        Map<Long, Long> courses = new HashMap<>();
+        perStudent.forEach((id, n) -> students.put(id, -n));
+        perCourse.forEach((id, n) -> courses.put(id, -n));
+        enrollmentsAdded(students, courses);
+    }
+
+    private void write(Runnable change) {
+        writeLock.lock();
+        try {
+            change.run();
+            if (loading) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Map<Long, Long> totals(List<EnrollmentRepository.IdCount> counts) {
+        Map<Long, Long> totals = new HashMap<>(counts.size() * 2);
+        for (EnrollmentRepository.IdCount count : counts) {
+            totals.put(count.getId(), count.getTotal());
+        }
+        return totals;
+    }
+}
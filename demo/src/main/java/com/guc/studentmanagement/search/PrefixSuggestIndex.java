@@ -0,0 +1,389 @@
+package com.guc.studentmanagement.search;
+
+import com.guc.studentmanagement.dto.SuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Path-compressed trie (radix tree) over lower-cased names for type-ahead. An edge holds a whole
+ * run of characters, so there are at most two nodes per distinct name, and children are a small
+ * array sorted by their first character. Edge labels are not copied: a node names a key passing
+ * through it plus the depth range of its label.
+ * <p>
+ * A node whose subtree holds more than {@code maxK} entries caches the best {@code maxK} of them
+ * (by popularity, then name, then id); smaller subtrees are ranked when asked, which reads at most
+ * {@code maxK} entries. A lookup is a walk down the prefix plus O(k) work, independent of how many
+ * names share the prefix, and only about 2n/maxK nodes carry a cache.
+ * <p>
+ * A write re-ranks only the nodes on the affected name's path. Thread-safe; readers share a
+ * read lock, writers take the write lock (no synchronized, so virtual threads do not pin).
+ */
+public class PrefixSuggestIndex {
+
+    private static final Item[] NO_ITEMS = new Item[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Comparator<Item> RANKING = Comparator
+            .comparingLong((Item item) -> item.popularity).reversed()
+            .thenComparing(item -> item.key)
+            .thenComparingLong(item -> item.id);
+
+    private final int maxK;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node(null, "", 0, 0);
+    private Map<Long, Item> items = new HashMap<>();
+
+    public PrefixSuggestIndex(int maxK) {
+        this.maxK = maxK;
+    }
+
+    public int maxK() {
+        return maxK;
+    }
+
+    /**
+     * Builds and ranks a complete trie without touching the live one; publish it with
+     * {@link #swap(Snapshot)}.
+     */
+    public Snapshot prepare(Map<Long, String> names, Map<Long, Long> popularity) {
+        Node newRoot = new Node(null, "", 0, 0);
+        Map<Long, Item> newItems = new HashMap<>(names.size() * 2);
+        names.forEach((id, name) -> {
+            Item item = new Item(id, name, normalize(name), popularity.getOrDefault(id, 0L));
+            newItems.put(id, item);
+            insert(newRoot, item);
+        });
+        rankSubtree(newRoot);
+        return new Snapshot(newRoot, newItems);
+    }
+
+    public void swap(Snapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            root = snapshot.root;
+            items = snapshot.items;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Insert or rename; an existing entry keeps its popularity
+    public void put(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            Item old = items.get(id);
+            long popularity = 0;
+            if (old != null) {
+                popularity = old.popularity;
+                detach(old);
+            }
+            Item item = new Item(id, name, normalize(name), popularity);
+            items.put(id, item);
+            rankPath(insert(root, item));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Item old = items.remove(id);
+            if (old != null) {
+                detach(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adjust popularity (e.g. +1 per new enrollment) for several ids under one lock
+    public void addPopularity(Map<Long, Long> deltas) {
+        lock.writeLock().lock();
+        try {
+            deltas.forEach((id, delta) -> {
+                Item item = items.get(id);
+                if (item != null && delta != 0) {
+                    item.popularity = Math.max(0, item.popularity + delta);
+                    rankPath(find(root, item.key, true));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Top-k entries whose lower-cased name starts with the (lower-cased) prefix
+    public List<SuggestionDto> suggest(String prefix, int k) {
+        lock.readLock().lock();
+        try {
+            Node node = find(root, prefix, false);
+            if (node == null) {
+                return List.of();
+            }
+            Item[] top = node.top != null ? node.top : rankAll(node);
+            int n = Math.min(k, top.length);
+            List<SuggestionDto> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Item item = top[i];
+                result.add(new SuggestionDto(item.id, item.name, item.popularity));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ---------- internals (callers hold the write lock, or own an unpublished trie) ----------
+
+    // Adds the item below `from`, splitting an edge where its key leaves it; returns its node.
+    // Counts are updated on the way down; caches are the caller's job.
+    private static Node insert(Node from, Item item) {
+        String key = item.key;
+        Node node = from;
+        node.count++;
+        int depth = node.to;
+        while (depth < key.length()) {
+            int i = childIndex(node, key.charAt(depth));
+            if (i < 0) {
+                Node leaf = new Node(node, key, depth, key.length());
+                node.children = insertAt(node.children, -i - 1, leaf);
+                node = leaf;
+                node.count++;
+                break;
+            }
+            Node child = node.children[i];
+            int common = depth;
+            while (common < child.to && common < key.length() && child.src.charAt(common) == key.charAt(common)) {
+                common++;
+            }
+            if (common < child.to) {
+                // The key leaves (or ends inside) the edge: split it at `common`
+                Node middle = new Node(node, child.src, child.from, common);
+                middle.children = new Node[]{child};
+                middle.count = child.count;
+                middle.top = child.top;
+                child.parent = middle;
+                child.from = common;
+                node.children[i] = middle;
+                child = middle;
+            }
+            node = child;
+            node.count++;
+            depth = node.to;
+        }
+        node.terminals = append(node.terminals, item);
+        return node;
+    }
+
+    private void detach(Item item) {
+        Node node = find(root, item.key, true);
+        if (node == null) {
+            return;
+        }
+        node.terminals = without(node.terminals, item);
+        for (Node n = node; n != null; n = n.parent) {
+            n.count--;
+        }
+        // Prune the emptied leaf, then merge a parent left with a single child into it
+        if (node.parent != null && node.count == 0) {
+            Node parent = node.parent;
+            parent.children = without(parent.children, node);
+            node = parent;
+        }
+        if (node.parent != null && node.terminals.length == 0 && node.children.length == 1) {
+            Node child = node.children[0];
+            child.parent = node.parent;
+            child.from = node.from;
+            Node[] siblings = node.parent.children;
+            siblings[Arrays.asList(siblings).indexOf(node)] = child;
+            node = child;
+        }
+        rankPath(node);
+    }
+
+    // Node for a key: exact = the node the key ends at (null if it ends inside an edge);
+    // otherwise the highest node whose path starts with the key
+    private static Node find(Node from, String key, boolean exact) {
+        Node node = from;
+        int depth = node.to;
+        while (depth < key.length()) {
+            int i = childIndex(node, key.charAt(depth));
+            if (i < 0) {
+                return null;
+            }
+            Node child = node.children[i];
+            int end = Math.min(child.to, key.length());
+            if (!child.src.regionMatches(depth, key, depth, end - depth)) {
+                return null;
+            }
+            if (end < child.to && exact) {
+                return null;
+            }
+            node = child;
+            depth = end;
+        }
+        return node;
+    }
+
+    // Binary search on the children's first characters (insertion point as -i - 1 when absent)
+    private static int childIndex(Node node, char c) {
+        Node[] children = node.children;
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = children[mid].firstChar();
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private void rankPath(Node node) {
+        for (Node n = node; n != null; n = n.parent) {
+            rank(n);
+        }
+    }
+
+    private void rankSubtree(Node node) {
+        for (Node child : node.children) {
+            rankSubtree(child);
+        }
+        rank(node);
+    }
+
+    // top(node) = best maxK of its own terminals and its children's entries, kept only for
+    // subtrees larger than maxK
+    private void rank(Node node) {
+        if (node.count <= maxK) {
+            node.top = null;
+            return;
+        }
+        List<Item> candidates = new ArrayList<>(node.terminals.length + node.children.length * maxK);
+        candidates.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            if (child.top != null) {
+                candidates.addAll(Arrays.asList(child.top));
+            } else {
+                collect(child, candidates);
+            }
+        }
+        candidates.sort(RANKING);
+        node.top = candidates.subList(0, maxK).toArray(NO_ITEMS);
+    }
+
+    // Every entry of a subtree of at most maxK entries, ranked
+    private static Item[] rankAll(Node node) {
+        List<Item> all = new ArrayList<>(node.count);
+        collect(node, all);
+        all.sort(RANKING);
+        return all.toArray(NO_ITEMS);
+    }
+
+    private static void collect(Node node, List<Item> into) {
+        into.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            collect(child, into);
+        }
+    }
+
+    private static <T> T[] append(T[] array, T element) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = element;
+        return copy;
+    }
+
+    private static <T> T[] insertAt(T[] array, int index, T element) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, copy, index + 1, array.length - index);
+        copy[index] = element;
+        return copy;
+    }
+
+    private static <T> T[] without(T[] array, T element) {
+        int index = Arrays.asList(array).indexOf(element);
+        if (index < 0) {
+            return array;
+        }
+        T[] copy = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+        return copy;
+    }
+
+    public static final class Snapshot {
+
+        private final Node root;
+        private final Map<Long, Item> items;
+
+        private Snapshot(Node root, Map<Long, Item> items) {
+            this.root = root;
+            this.items = items;
+        }
+    }
+
+    private static final class Item {
+
+        private final long id;
+        private final String name;
+        private final String key;
+        private long popularity;
+
+        private Item(long id, String name, String key, long popularity) {
+            this.id = id;
+            this.name = name;
+            this.key = key;
+            this.popularity = popularity;
+        }
+    }
+
+    private static final class Node {
+
+        private Node parent;
+        // Edge label = src[from, to), where src is any key in the subtree and to is the node's depth
+        private final String src;
+        private int from;
+        private final int to;
+        private Node[] children = NO_CHILDREN;
+        private Item[] terminals = NO_ITEMS;
+        // Entries in the subtree; top is null while that is at most maxK
+        private int count;
+        private Item[] top;
+
+        private Node(Node parent, String src, int from, int to) {
+            this.parent = parent;
+            this.src = src;
+            this.from = from;
+            this.to = to;
+        }
+
+        private char firstChar() {
+            return src.charAt(from);
+        }
+    }
+}
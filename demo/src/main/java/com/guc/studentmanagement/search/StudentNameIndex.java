@@ -0,0 +1,305 @@
+package com.guc.studentmanagement.search;
+
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted trigram index over student names.
+ * <p>
+ * Every lower-cased name is split into overlapping 3-character grams; each gram maps to the
+ * sorted ids of the students whose name contains it. A "contains" search intersects the
+ * posting lists of the keyword's grams (smallest first) and verifies the survivors against
+ * the stored name, so the result is exactly what {@code name_lower LIKE %kw%} returns,
+ * in id order, without touching the database.
+ * <p>
+ * Built in the background after startup and kept current by StudentService writes. Until the
+ * build finishes {@link #isWarm()} is false and callers use SQL. Keywords shorter than
+ * {@link #GRAM} cannot be answered from the index.
+ */
+@Component
+public class StudentNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentNameIndex.class);
+
+    public static final int GRAM = 3;
+
+    private final StudentRepository studentRepository;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int buildChunkSize;
+
+    // Guarded by lock; a read-write lock rather than synchronized so virtual threads never pin
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // Ids written while the initial build runs; the build must not overwrite them with older rows
+    private final Set<Long> touchedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+    private volatile boolean warm;
+
+    public StudentNameIndex(StudentRepository studentRepository,
+                            @Qualifier("applicationTaskExecutor") Executor executor,
+                            @Value("${app.search.name-index.enabled:true}") boolean enabled,
+                            @Value("${app.search.name-index.build-chunk-size:5000}") int buildChunkSize) {
+        this.studentRepository = studentRepository;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.buildChunkSize = buildChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    // Whether search(...) can answer this (already lower-cased, trimmed) keyword
+    public boolean canSearch(String keyword) {
+        return warm && keyword != null && keyword.length() >= GRAM;
+    }
+
+    /**
+     * (Re)loads the index from the students table in id-ordered chunks. Writes arriving
+     * meanwhile go straight into the index and win over the rows read by the build.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            warm = false;
+            building = true;
+            touchedDuringBuild.clear();
+            postings.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long afterId = Long.MIN_VALUE;
+            List<StudentRepository.NameRow> rows;
+            do {
+                rows = studentRepository.findNameRowsAfter(afterId, PageRequest.of(0, buildChunkSize));
+                lock.writeLock().lock();
+                try {
+                    for (StudentRepository.NameRow row : rows) {
+                        if (!touchedDuringBuild.contains(row.getId())) {
+                            putLocked(row.getId(), row.getName(), row.getAge());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (rows.size() == buildChunkSize);
+
+            int students;
+            int grams;
+            lock.writeLock().lock();
+            try {
+                building = false;
+                touchedDuringBuild.clear();
+                warm = true;
+                students = entries.size();
+                grams = postings.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Student name index built: {} students, {} grams in {} ms",
+                    students, grams, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            building = false;
+            log.warn("Student name index build failed; searches keep using SQL", ex);
+        }
+    }
+
+    // Insert or replace one student (call after the write has been committed)
+    public void put(Long id, String name, Integer age) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                touchedDuringBuild.add(id);
+            }
+            putLocked(id, name, age);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                touchedDuringBuild.add(id);
+            }
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids (ascending) of students whose lower-cased name contains {@code keyword} and whose
+     * age lies in [minAge, maxAge] when both bounds are given.
+     * {@code keyword} must be lower-cased and at least {@link #GRAM} characters long.
+     */
+    public long[] search(String keyword, Integer minAge, Integer maxAge) {
+        long[] grams = grams(keyword);
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return new long[0];
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            Postings smallest = lists[0];
+            long[] result = new long[smallest.size];
+            int count = 0;
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.ids[i];
+                if (inAll(lists, id) && matches(entries.get(id), keyword, minAge, maxAge)) {
+                    result[count++] = id;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------- internals (callers hold the write lock) ----------
+
+    private void putLocked(Long id, String name, Integer age) {
+        removeLocked(id);
+        String lower = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        entries.put(id, new Entry(lower, age));
+        for (long gram : grams(lower)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Entry old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (long gram : grams(old.nameLower())) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean inAll(Postings[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i].ids, 0, lists[i].size, id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Entry entry, String keyword, Integer minAge, Integer maxAge) {
+        if (entry == null || !entry.nameLower().contains(keyword)) {
+            return false;
+        }
+        if (minAge != null && maxAge != null) {
+            return entry.age() != null && entry.age() >= minAge && entry.age() <= maxAge;
+        }
+        return true;
+    }
+
+    // Distinct grams of s, each packed into a long (3 x 16-bit chars)
+    private static long[] grams(String s) {
+        if (s.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[s.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private record Entry(String nameLower, Integer age) {
+    }
+
+    // Sorted, growable id list; new students have the largest ids, so add is usually an append
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
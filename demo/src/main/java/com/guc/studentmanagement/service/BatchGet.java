@@ -0,0 +1,71 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.BatchGetResult;
+import com.guc.studentmanagement.exception.BatchTooLargeException;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Lookup of an id list through the single-entity cache: hits come from the cache, misses from
+// IN (...) queries of at most CHUNK ids, loaded rows are cached; the result keeps request order
+final class BatchGet {
+
+    // Max ids per IN (...)
+    static final int CHUNK = 500;
+
+    private BatchGet() {
+    }
+
+    // loader: one IN query for the given ids (run inside the caller's transaction)
+    static <T> BatchGetResult<T> lookup(List<Long> ids,
+                                        int maxIds,
+                                        Cache cache,
+                                        Class<T> type,
+                                        Function<List<Long>, List<T>> loader,
+                                        Function<T, Long> idOf) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > maxIds) {
+            throw new BatchTooLargeException(
+                    "At most " + maxIds + " ids per request, got " + distinct.size());
+        }
+
+        Map<Long, T> found = new HashMap<>(distinct.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinct) {
+            T cached = cache != null ? cache.get(id, type) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        for (int start = 0; start < misses.size(); start += CHUNK) {
+            List<Long> chunk = misses.subList(start, Math.min(start + CHUNK, misses.size()));
+            for (T row : loader.apply(chunk)) {
+                found.put(idOf.apply(row), row);
+                if (cache != null) {
+                    cache.put(idOf.apply(row), row);
+                }
+            }
+        }
+
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            T row = found.get(id);
+            if (row != null) {
+                items.add(row);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResult<>(distinct.size(), items, missing);
+    }
+}
@@ -0,0 +1,187 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.CounterDriftDto;
+import com.guc.studentmanagement.dto.CounterReconciliationReport;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recomputes the enrollment counters (courses.enrolled_count, students.course_count /
+ * total_credits) from the enrollments table and reports, and optionally corrects, any drift.
+ * <p>
+ * Walks each table in id-ordered chunks, one short transaction per chunk. Each chunk is read by
+ * a single statement returning stored and real values together, and a correction is a
+ * compare-and-set against the stored value that was read, so enrollments committed while the
+ * job runs are never overwritten.
+ */
+@Service
+public class CounterReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationService.class);
+
+    // Drifted rows listed in a report (all are counted)
+    static final int MAX_REPORTED_DRIFTS = 100;
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+
+    // One run at a time (scheduled and on-demand runs share it)
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public CounterReconciliationService(CourseRepository courseRepository,
+                                        StudentRepository studentRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        CacheManager cacheManager,
+                                        @Value("${app.counters.reconcile.chunk-size:1000}") int chunkSize) {
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.counters.reconcile.cron:-}")
+    public void scheduledReconcile() {
+        CounterReconciliationReport report = reconcile(true);
+        if (report.getCoursesDrifted() + report.getStudentsDrifted() > 0) {
+            log.warn("Enrollment counters drifted: {} courses, {} students ({} corrected)",
+                    report.getCoursesDrifted(), report.getStudentsDrifted(), report.getCorrected());
+        } else {
+            log.info("Enrollment counters consistent: {} courses, {} students checked in {} ms",
+                    report.getCoursesChecked(), report.getStudentsChecked(), report.getDurationMs());
+        }
+    }
+
+    // fix = false only reports
+    public CounterReconciliationReport reconcile(boolean fix) {
+        runLock.lock();
+        try {
+            long start = System.nanoTime();
+            Run run = new Run(fix);
+            reconcileCourses(run);
+            reconcileStudents(run);
+            return new CounterReconciliationReport(
+                    run.coursesChecked, run.studentsChecked, run.coursesDrifted, run.studentsDrifted,
+                    run.corrected, (System.nanoTime() - start) / 1_000_000, run.drifts);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void reconcileCourses(Run run) {
+        long afterId = Long.MIN_VALUE;
+        int read;
+        do {
+            long from = afterId;
+            List<Long> corrected = new ArrayList<>();
+            List<CourseRepository.EnrolledCountRow> rows = transactionTemplate.execute(status -> {
+                List<CourseRepository.EnrolledCountRow> chunk =
+                        courseRepository.findEnrolledCountsAfter(from, PageRequest.of(0, chunkSize));
+                for (CourseRepository.EnrolledCountRow row : chunk) {
+                    if (row.getStoredCount() == row.getActualCount()) {
+                        continue;
+                    }
+                    boolean fixed = run.fix && courseRepository.resetEnrolledCount(
+                            row.getId(), row.getStoredCount(), (int) row.getActualCount()) == 1;
+                    if (fixed) {
+                        corrected.add(row.getId());
+                    }
+                    run.coursesDrifted++;
+                    run.report(new CounterDriftDto("course", row.getId(), row.getStoredCount(),
+                            row.getActualCount(), null, null, fixed));
+                }
+                return chunk;
+            });
+            read = rows.size();
+            run.coursesChecked += read;
+            run.corrected += corrected.size();
+            evict(CacheConfig.COURSES, corrected);
+            if (read > 0) {
+                afterId = rows.get(read - 1).getId();
+            }
+        } while (read == chunkSize);
+    }
+
+    private void reconcileStudents(Run run) {
+        long afterId = Long.MIN_VALUE;
+        int read;
+        do {
+            long from = afterId;
+            List<Long> corrected = new ArrayList<>();
+            List<StudentRepository.EnrollmentCountRow> rows = transactionTemplate.execute(status -> {
+                List<StudentRepository.EnrollmentCountRow> chunk =
+                        studentRepository.findEnrollmentCountsAfter(from, PageRequest.of(0, chunkSize));
+                for (StudentRepository.EnrollmentCountRow row : chunk) {
+                    if (row.getStoredCount() == row.getActualCount()
+                            && row.getStoredCredits() == row.getActualCredits()) {
+                        continue;
+                    }
+                    boolean fixed = run.fix && studentRepository.resetEnrollmentCounts(
+                            row.getId(), row.getStoredCount(), row.getStoredCredits(),
+                            (int) row.getActualCount(), (int) row.getActualCredits()) == 1;
+                    if (fixed) {
+                        corrected.add(row.getId());
+                    }
+                    run.studentsDrifted++;
+                    run.report(new CounterDriftDto("student", row.getId(), row.getStoredCount(),
+                            row.getActualCount(), row.getStoredCredits(), row.getActualCredits(), fixed));
+                }
+                return chunk;
+            });
+            read = rows.size();
+            run.studentsChecked += read;
+            run.corrected += corrected.size();
+            evict(CacheConfig.STUDENTS, corrected);
+            if (read > 0) {
+                afterId = rows.get(read - 1).getId();
+            }
+        } while (read == chunkSize);
+    }
+
+    private void evict(String cacheName, List<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    // Mutable tallies of one run
+    private static final class Run {
+
+        private final boolean fix;
+        private final List<CounterDriftDto> drifts = new ArrayList<>();
+        private long coursesChecked;
+        private long studentsChecked;
+        private long coursesDrifted;
+        private long studentsDrifted;
+        private long corrected;
+
+        private Run(boolean fix) {
+            this.fix = fix;
+        }
+
+        private void report(CounterDriftDto drift) {
+            if (drifts.size() < MAX_REPORTED_DRIFTS) {
+                drifts.add(drift);
+            }
+        }
+    }
+}
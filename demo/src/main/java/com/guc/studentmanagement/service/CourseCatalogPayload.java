@@ -0,0 +1,98 @@
+package com.guc.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.repository.CourseRepository;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// GET /courses response body, serialized once and kept as JSON and gzip bytes.
+// The copy is keyed by the catalog ETag (CourseRepository.findCatalogStamp), which changes with
+// every write to the courses table: course CRUD in CourseService, but also the enrolledCount
+// updates of enrollments and reconciliation. The first request after such a write rebuilds it;
+// all others skip both Jackson and the compressor. A rebuild keys the copy by the ETag of the rows
+// it actually serialized (CourseService.getCatalog), never by the request's earlier stamp, so a
+// write landing in between cannot leave older rows cached under a newer ETag.
+@Component
+public class CourseCatalogPayload {
+
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+
+    // Concurrent rebuilds are harmless (same input, last one wins)
+    private volatile Payload current;
+
+    public CourseCatalogPayload(CourseService courseService, ObjectMapper objectMapper) {
+        this.courseService = courseService;
+        this.objectMapper = objectMapper;
+    }
+
+    public Payload get(CourseRepository.CatalogStamp stamp) {
+        Payload payload = current;
+        if (payload == null || !payload.etag().equals(stamp.getETag())) {
+            payload = build();
+            current = payload;
+        }
+        return payload;
+    }
+
+    private Payload build() {
+        CourseService.Catalog catalog = courseService.getCatalog();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(catalog.courses()));
+            return new Payload(catalog.etag(), json, gzip(json));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize the course catalog", ex);
+        }
+    }
+
+    // Compressed once per catalog version, so the best ratio is worth its CPU
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    // True unless the client does not list gzip (or "*") or gives it q=0
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.matches("q=0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The gzip bytes are a different representation, so they get their own strong ETag
+    public static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    public record Payload(String etag, byte[] json, byte[] gzip) {
+    }
+}
@@ -1,11 +1,22 @@
 package com.guc.studentmanagement.service;
 
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.BatchEnrollmentResult;
+import com.guc.studentmanagement.dto.BatchGetResult;
 import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.CourseStatsDto;
 import com.guc.studentmanagement.dto.CreateCourseRequest;
 import com.guc.studentmanagement.dto.EnrollmentInfoDto;
+import com.guc.studentmanagement.dto.EnrollmentItemRequest;
+import com.guc.studentmanagement.dto.EnrollmentItemResult;
+import com.guc.studentmanagement.dto.EnrollmentItemStatus;
 import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.SuggestionDto;
 import com.guc.studentmanagement.dto.UpdateCourseRequest;
+import com.guc.studentmanagement.dto.WithdrawalResult;
+import com.guc.studentmanagement.exception.CourseFullException;
 import com.guc.studentmanagement.exception.CourseNotFoundException;
+import com.guc.studentmanagement.exception.EnrollmentNotFoundException;
 import com.guc.studentmanagement.exception.StudentNotFoundException;
 import com.guc.studentmanagement.mapper.CourseMapper;
 import com.guc.studentmanagement.entity.Course;
@@ -14,30 +25,84 @@ import com.guc.studentmanagement.entity.Student;
 import com.guc.studentmanagement.repository.CourseRepository;
 import com.guc.studentmanagement.repository.EnrollmentRepository;
 import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.search.NameSuggestIndex;
+import com.guc.studentmanagement.search.PrefixSuggestIndex;
+import com.guc.studentmanagement.spec.StudentSpecifications;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class CourseService {
 
+    // Upper bound for the most-enrolled list of GET /courses/stats
+    static final int MAX_STATS_TOP = 100;
+
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    // Reads: Hibernate flush mode MANUAL, JDBC read-only (and the replica when one is configured)
+    private final TransactionTemplate readOnlyTransaction;
+    private final NameSuggestIndex suggestIndex;
+    private final CacheManager cacheManager;
+    private final WaitlistService waitlistService;
+
+    // Number of batch-enrollment items validated and inserted per transaction
+    private final int batchChunkSize;
+
+    // Max distinct ids per batch get (POST /courses:batchGet)
+    private final int batchGetMaxIds;
 
     public CourseService(CourseRepository courseRepository,
                          StudentRepository studentRepository,
-                         EnrollmentRepository enrollmentRepository) {
+                         EnrollmentRepository enrollmentRepository,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         NameSuggestIndex suggestIndex,
+                         CacheManager cacheManager,
+                         WaitlistService waitlistService,
+                         @Value("${app.enrollment.batch-chunk-size:1000}") int batchChunkSize,
+                         @Value("${app.batch-get.max-ids:1000}") int batchGetMaxIds) {
         this.courseRepository = courseRepository;
         this.studentRepository = studentRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.suggestIndex = suggestIndex;
+        this.cacheManager = cacheManager;
+        this.waitlistService = waitlistService;
+        this.batchChunkSize = batchChunkSize;
+        this.batchGetMaxIds = batchGetMaxIds;
     }
 
     // ================== Utility Methods ==================
@@ -49,212 +114,553 @@ public class CourseService {
         dto.setId(student.getId());
         dto.setName(student.getName());
         dto.setAge(student.getAge());
+        dto.setCourseCount(student.getCourseCount());
+        dto.setTotalCredits(student.getTotalCredits());
         return dto;
     }
 
+    // Throw 404 if the student does not exist (cheap existence query, no entity load)
+    private void requireStudentExists(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new StudentNotFoundException("Student not found with id = " + studentId);
+        }
+    }
+
+    // Throw 404 if the course does not exist (cheap existence query, no entity load)
+    private void requireCourseExists(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new CourseNotFoundException("Course not found with id = " + courseId);
+        }
+    }
+
+    // Cached StudentDto / CourseDto carry the enrollment counters: drop the entries a committed
+    // enrollment change touched
+    private void evictCounters(Collection<Long> studentIds, Collection<Long> courseIds) {
+        Cache students = cacheManager.getCache(CacheConfig.STUDENTS);
+        Cache courses = cacheManager.getCache(CacheConfig.COURSES);
+        if (students != null) {
+            studentIds.forEach(students::evict);
+        }
+        if (courses != null) {
+            courseIds.forEach(courses::evict);
+        }
+    }
+
     // ================== Course CRUD  ==================
 
-    //GET all courses
+    //GET all courses (query cache + Course region, see CourseRepository.findCatalog)
     public List<CourseDto> getAllCourses() {
-        List<Course> courses = courseRepository.findAll();
-        return CourseMapper.toDtoList(courses);
+        return readOnlyTransaction.execute(status -> CourseMapper.toDtoList(courseRepository.findCatalog()));
+    }
+
+    // GET /courses body: the catalog plus the ETag of exactly these rows, computed like
+    // findCatalogStamp but from the loaded entities, so the two can never disagree
+    public Catalog getCatalog() {
+        return readOnlyTransaction.execute(status -> {
+            List<Course> courses = courseRepository.findCatalog();
+            long maxId = 0;
+            long versionSum = 0;
+            for (Course course : courses) {
+                maxId = Math.max(maxId, course.getId());
+                versionSum += course.getVersion() + course.getCountersVersion();
+            }
+            return new Catalog(CourseRepository.CatalogStamp.eTag(courses.size(), maxId, versionSum),
+                    CourseMapper.toDtoList(courses));
+        });
     }
 
-    // GET course by id
+    // Conditional GET /courses: catalog stamp (itself query-cached), no entity loaded
+    public CourseRepository.CatalogStamp getCatalogStamp() {
+        return readOnlyTransaction.execute(status -> courseRepository.findCatalogStamp());
+    }
+
+    // GET course by id (read-through cache)
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id")
     public CourseDto getCourseById(Long id) {
-        Course course = courseRepository.findById(id)
+        return readOnlyTransaction.execute(status -> courseRepository.findById(id)
+                .map(CourseMapper::toDto)
                 .orElseThrow(() ->
-                        new CourseNotFoundException("Course not found with id = " + id));
-        return CourseMapper.toDto(course);
+                        new CourseNotFoundException("Course not found with id = " + id)));
+    }
+
+    // Batch get by id list: cached courses first, the rest in IN batches; unknown ids are reported, not 404
+    public BatchGetResult<CourseDto> getCoursesByIds(List<Long> ids) {
+        return BatchGet.lookup(ids, batchGetMaxIds, cacheManager.getCache(CacheConfig.COURSES), CourseDto.class,
+                chunk -> readOnlyTransaction.execute(status -> courseRepository.findDtosByIdIn(chunk)),
+                CourseDto::getId);
     }
 
     // POST create new course
+    @CachePut(cacheNames = CacheConfig.COURSES, key = "#result.id")
     public CourseDto addCourse(CreateCourseRequest request) {
         Course course = new Course();
         course.setName(request.getName());
         course.setDescription(request.getDescription());
         course.setCredit(request.getCredit());
+        course.setCapacity(request.getCapacity());
 
         Course saved = courseRepository.save(course);
+        suggestIndex.courseSaved(saved.getId(), saved.getName());
         return CourseMapper.toDto(saved);
     }
 
     // PUT updateCourse
+    // A credit change shifts total_credits of every enrolled student in the same transaction.
+    // Evicted rather than put: enrollments and promotions change enrolled_count with native
+    // updates, so a DTO put after commit can already be stale.
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id")
     public CourseDto updateCourse(Long id, UpdateCourseRequest request) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() ->
-                        new CourseNotFoundException("Course not found with id = " + id));
-
-        course.setName(request.getName());
-        course.setDescription(request.getDescription());
-        course.setCredit(request.getCredit());
-
-        Course saved = courseRepository.save(course);
+        int[] creditDelta = new int[1];
+        Course saved = transactionTemplate.execute(status -> {
+            // Row lock first: no enrollment can change enrolled_count between this read and the
+            // commit, which writes the entity (counter included) to the second-level cache
+            lockCourse(id);
+            Course course = courseRepository.findById(id)
+                    .orElseThrow(() ->
+                            new CourseNotFoundException("Course not found with id = " + id));
+
+            creditDelta[0] = Objects.requireNonNullElse(request.getCredit(), 0)
+                    - Objects.requireNonNullElse(course.getCredit(), 0);
+            boolean capacityChanged = !Objects.equals(course.getCapacity(), request.getCapacity());
+
+            course.setName(request.getName());
+            course.setDescription(request.getDescription());
+            course.setCredit(request.getCredit());
+            // Lowering it below enrolledCount keeps current enrollments; no new seats until drops
+            course.setCapacity(request.getCapacity());
+
+            Course updated = courseRepository.save(course);
+            if (creditDelta[0] != 0) {
+                studentRepository.addCreditsForCourse(id, creditDelta[0]);
+            }
+            if (capacityChanged) {
+                // New seats go to the waitlist first
+                entityManager.flush();
+                if (!waitlistService.promote(id).isEmpty()) {
+                    // takeSeats raised enrolled_count behind the entity's back
+                    entityManager.refresh(updated);
+                }
+            }
+            return updated;
+        });
+
+        if (creditDelta[0] != 0) {
+            Cache students = cacheManager.getCache(CacheConfig.STUDENTS);
+            if (students != null) {
+                students.clear();
+            }
+        }
+        suggestIndex.courseSaved(saved.getId(), saved.getName());
         return CourseMapper.toDto(saved);
     }
 
     // DELETE deleteCourse
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id")
     public void deleteCourse(Long id) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() ->
-                        new CourseNotFoundException("Course not found with id = " + id));
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = courseRepository.findById(id)
+                    .orElseThrow(() ->
+                            new CourseNotFoundException("Course not found with id = " + id));
+
+            courseRepository.delete(course);
+        });
+        suggestIndex.courseDeleted(id);
+    }
+
+    // ================== Type-ahead ==================
 
-        courseRepository.delete(course);
+    // Top courses whose name starts with prefix, most enrolled first (from memory once the
+    // suggestion index is loaded; before that alphabetical from SQL, popularity 0)
+    public List<SuggestionDto> suggestCourses(String prefix, int limit) {
+        int k = Math.max(1, Math.min(limit, NameSuggestIndex.MAX_SUGGESTIONS));
+        if (suggestIndex.isWarm()) {
+            return suggestIndex.suggestCourses(prefix, k);
+        }
+        return readOnlyTransaction.execute(status -> courseRepository.findByNameStartingWithIgnoreCase(
+                        PrefixSuggestIndex.normalize(prefix), PageRequest.of(0, k, Sort.by("name")))
+                .stream()
+                .map(row -> new SuggestionDto(row.getId(), row.getName(), 0))
+                .toList());
+    }
+
+    // ================== Enrollment statistics ==================
+
+    // Totals and the most enrolled courses, all read from the maintained counters
+    public CourseStatsDto getCourseStats(int top) {
+        int n = Math.max(1, Math.min(top, MAX_STATS_TOP));
+        return readOnlyTransaction.execute(status -> {
+            // Both reads in one transaction, so the totals and the list come from the same connection
+            CourseRepository.EnrollmentTotals totals = courseRepository.findEnrollmentTotals();
+            double average = totals.getCourses() == 0 ? 0 : (double) totals.getEnrollments() / totals.getCourses();
+            return new CourseStatsDto(
+                    totals.getCourses(),
+                    totals.getEnrollments(),
+                    average,
+                    totals.getMaxEnrolled(),
+                    courseRepository.findMostEnrolled(PageRequest.of(0, n))
+            );
+        });
     }
 
     // ================== Course Enrollment Logic ==================
 
-    // Student enrolls in a course
+    // Student enrolls in a course; the seat, the row and both counters commit together.
+    // Two concurrent requests for the same pair can both pass the existence check; the loser hits
+    // the unique constraint, is rolled back (seat included) and is treated as already enrolled.
     public void enrollStudentToCourse(Long studentId, Long courseId) {
+        Boolean enrolled;
+        try {
+            enrolled = enroll(studentId, courseId);
+        } catch (DataIntegrityViolationException ex) {
+            if (!enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                throw ex;
+            }
+            enrolled = false;
+        }
 
-        // 1. Verify that the student exists
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() ->
-                        new StudentNotFoundException("Student not found with id = " + studentId));
+        if (Boolean.TRUE.equals(enrolled)) {
+            evictCounters(List.of(studentId), List.of(courseId));
+            suggestIndex.enrollmentsAdded(Map.of(studentId, 1L), Map.of(courseId, 1L));
+        }
+    }
 
-        // 2. Verify that the course exists
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() ->
-                        new CourseNotFoundException("Course not found with id = " + courseId));
+    private Boolean enroll(Long studentId, Long courseId) {
+        return transactionTemplate.execute(status -> {
+
+            // 1. Verify that the student exists (no entity load: the profile would be fetched with it)
+            requireStudentExists(studentId);
+
+            // 2.  Prevent duplicate enrollment
+            boolean exists = enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId);
+            if (exists) {
+                return false;
+            }
+
+            // 3. Take a seat first: one conditional UPDATE on the course row (which also locks it).
+            //    No row updated means full, or no such course.
+            if (courseRepository.takeSeats(courseId, 1) == 0) {
+                requireCourseExists(courseId);
+                throw new CourseFullException("Course is full: id = " + courseId);
+            }
+
+            // 4. The enrollment record (references only), then the student's counters
+            //    (computed from the inserted row)
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(studentRepository.getReferenceById(studentId));
+            enrollment.setCourse(courseRepository.getReferenceById(courseId));
+            enrollment.setEnrolledAt(LocalDateTime.now());
+
+            Enrollment saved = enrollmentRepository.save(enrollment);
+            studentRepository.addEnrollmentCounts(List.of(studentId), List.of(saved.getId()), 1);
+            return true;
+        });
+    }
 
-        // 3.  Prevent duplicate enrollment
-        boolean exists = enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId);
-        if (exists) {
-            return;
-        }
+    // ================== Withdrawal ==================
 
-        // 4. Create enrollment record
-        Enrollment enrollment = new Enrollment();
-        enrollment.setStudent(student);
-        enrollment.setCourse(course);
-        enrollment.setEnrolledAt(LocalDateTime.now());
+    // Student drops a course: the row, both counters and the promotion of the next waitlisted
+    // student into the freed seat commit together
+    public void dropStudentFromCourse(Long studentId, Long courseId) {
+        if (withdraw(courseId, List.of(studentId)).getWithdrawn() == 0) {
+            throw new EnrollmentNotFoundException(
+                    "Student " + studentId + " is not enrolled in course " + courseId);
+        }
+    }
 
-        enrollmentRepository.save(enrollment);
+    // Bulk withdrawal: one counter update, one delete and one promotion pass, whatever the list size
+    public WithdrawalResult withdrawStudentsFromCourse(Long courseId, List<Long> studentIds) {
+        return withdraw(courseId, new ArrayList<>(new LinkedHashSet<>(studentIds)));
     }
 
-    // Retrieve courses selected by a student
-    public List<CourseDto> getCoursesByStudent(Long studentId) {
+    // Course cancelled: every enrollment and waitlist entry goes, nobody is promoted
+    public WithdrawalResult cancelCourseEnrollments(Long courseId) {
+        return transactionTemplate.execute(status -> {
+            lockCourse(courseId);
+            int waitlistRemoved = waitlistService.clearCourse(courseId);
+            List<Long> studentIds = enrollmentRepository.findStudentIdsByCourseId(courseId);
+            if (studentIds.isEmpty()) {
+                return new WithdrawalResult(courseId, 0, List.of(), 0, waitlistRemoved);
+            }
+            studentRepository.removeCourseFromAllCounts(courseId);
+            int deleted = enrollmentRepository.deleteByCourseId(courseId);
+            courseRepository.addEnrolledCount(List.of(courseId), -deleted);
+            afterWithdrawal(courseId, studentIds);
+            return new WithdrawalResult(courseId, deleted, List.of(), 0, waitlistRemoved);
+        });
+    }
 
-        // Verify that the student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() ->
-                        new StudentNotFoundException("Student not found with id = " + studentId));
+    // Course row lock first (the order enrollments use), then the student counters, computed from
+    // the rows that are about to go, then a single delete; the freed seats go to the waitlist in
+    // the same transaction
+    private WithdrawalResult withdraw(Long courseId, List<Long> studentIds) {
+        return transactionTemplate.execute(status -> {
+            lockCourse(courseId);
+            List<Long> enrolled = enrollmentRepository.findEnrolledStudentIds(courseId, studentIds);
+            Set<Long> enrolledSet = new HashSet<>(enrolled);
+            List<Long> notEnrolled = studentIds.stream().filter(id -> !enrolledSet.contains(id)).toList();
+            if (enrolled.isEmpty()) {
+                return new WithdrawalResult(courseId, 0, notEnrolled, 0, 0);
+            }
+            studentRepository.removeCourseFromCounts(courseId, enrolled);
+            int deleted = enrollmentRepository.deleteByCourseIdAndStudentIds(courseId, enrolled);
+            courseRepository.addEnrolledCount(List.of(courseId), -deleted);
+            afterWithdrawal(courseId, enrolled);
+
+            int promoted = waitlistService.promote(courseId).size();
+            return new WithdrawalResult(courseId, deleted, notEnrolled, promoted, 0);
+        });
+    }
 
-        List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
+    private void lockCourse(Long courseId) {
+        if (courseRepository.lockFreeSeats(courseId) == null) {
+            throw new CourseNotFoundException("Course not found with id = " + courseId);
+        }
+    }
 
-        return enrollments.stream()
-                .map(Enrollment::getCourse)
-                .map(CourseMapper::toDto)
-                .collect(Collectors.toList());
+    // Caches and popularity of the withdrawn students, once the delete has committed
+    private void afterWithdrawal(Long courseId, List<Long> studentIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictCounters(studentIds, List.of(courseId));
+                Map<Long, Long> perStudent = new HashMap<>(studentIds.size() * 2);
+                studentIds.forEach(id -> perStudent.put(id, 1L));
+                suggestIndex.enrollmentsRemoved(perStudent, Map.of(courseId, (long) studentIds.size()));
+            }
+        });
     }
 
-    // Retrieve students enrolled in a course (simple list version)
-    public List<StudentDto> getStudentsByCourse(Long courseId) {
+    // Takes up to `wanted` seats of a course in the current transaction; returns how many it got
+    private int allocateSeats(Long courseId, int wanted) {
+        // Common case: everything fits, one statement
+        if (courseRepository.takeSeats(courseId, wanted) == 1) {
+            return wanted;
+        }
+        // Partly full: lock the row, then take what is left
+        Integer free = courseRepository.lockFreeSeats(courseId);
+        int granted = free == null ? 0 : Math.max(0, Math.min(wanted, free));
+        if (granted > 0) {
+            courseRepository.takeSeats(courseId, granted);
+        }
+        return granted;
+    }
 
-        //  Verify that the course exists
-        courseRepository.findById(courseId)
-                .orElseThrow(() ->
-                        new CourseNotFoundException("Course not found with id = " + courseId));
+    // ================== Batch Enrollment ==================
 
-        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
+    // Enroll many students into one course
+    public BatchEnrollmentResult batchEnrollStudentsToCourse(Long courseId, List<Long> studentIds) {
+        requireCourseExists(courseId);
 
-        return enrollments.stream()
-                .map(Enrollment::getStudent)
-                .map(this::toStudentDto)
-                .collect(Collectors.toList());
+        List<EnrollmentItemRequest> items = studentIds.stream()
+                .map(studentId -> new EnrollmentItemRequest(studentId, courseId))
+                .toList();
+        return batchEnroll(items);
     }
 
-    //  Retrieve detailed enrollment information for a student (course + enrollment time)
-    public List<EnrollmentInfoDto> getEnrollmentInfosByStudent(Long studentId) {
+    // Enroll arbitrary (student, course) pairs across courses.
+    // Per chunk: one IN query per id type, one query for already-existing pairs, one seat
+    // allocation per course (items beyond capacity are COURSE_FULL), then JDBC-batched inserts (see hibernate.jdbc.batch_size), each chunk in its own transaction.
+    public BatchEnrollmentResult batchEnroll(List<EnrollmentItemRequest> items) {
+        EnrollmentItemResult[] results = new EnrollmentItemResult[items.size()];
+
+        // 1) Mark repeated pairs inside the request up front, so chunks only see first occurrences
+        Set<PairKey> seen = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            EnrollmentItemRequest item = items.get(i);
+            if (seen.add(new PairKey(item.getStudentId(), item.getCourseId()))) {
+                pending.add(i);
+            } else {
+                results[i] = new EnrollmentItemResult(item.getStudentId(), item.getCourseId(),
+                        EnrollmentItemStatus.DUPLICATE_IN_REQUEST);
+            }
+        }
 
-        // Verify that the student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() ->
-                        new StudentNotFoundException("Student not found with id = " + studentId));
+        // 2) Validate and insert chunk by chunk
+        int enrolled = 0;
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + batchChunkSize, pending.size()));
+            enrolled += enrollChunkWithRetry(items, chunk, results);
+        }
 
-        List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
+        // 3) Refresh cached counters and bump suggestion popularity for the pairs actually inserted
+        Map<Long, Long> perStudent = new HashMap<>();
+        Map<Long, Long> perCourse = new HashMap<>();
+        for (EnrollmentItemResult result : results) {
+            if (result.getStatus() == EnrollmentItemStatus.ENROLLED) {
+                perStudent.merge(result.getStudentId(), 1L, Long::sum);
+                perCourse.merge(result.getCourseId(), 1L, Long::sum);
+            }
+        }
+        evictCounters(perStudent.keySet(), perCourse.keySet());
+        suggestIndex.enrollmentsAdded(perStudent, perCourse);
 
-        return enrollments.stream()
-                .map(e -> new EnrollmentInfoDto(
-                        e.getId(),                     // enrollmentId
-                        e.getStudent().getId(),        // studentId
-                        e.getStudent().getName(),      // studentName
-                        e.getCourse().getId(),         // courseId
-                        e.getCourse().getName(),       // courseName
-                        e.getEnrolledAt()              // enrolledAt
-                ))
-                .collect(Collectors.toList());
+        return new BatchEnrollmentResult(items.size(), enrolled, items.size() - enrolled, List.of(results));
     }
 
-    // ================== ⭐ New: Search students by course with filters(advanced query with pagination)  ==================
-
-    public Page<StudentDto> searchStudentsByCourse(Long courseId,
-                                                   String keyword,
-                                                   Integer minAge,
-                                                   Integer maxAge,
-                                                   Pageable pageable) {
-
-        // First verify that the course exists; return 404 if not found
-        courseRepository.findById(courseId)
-                .orElseThrow(() ->
-                        new CourseNotFoundException("Course not found with id = " + courseId));
+    // A concurrent enrollment can hit the unique constraint between our check and insert;
+    // the chunk is rolled back, and re-running it sees the new row as ALREADY_ENROLLED
+    private int enrollChunkWithRetry(List<EnrollmentItemRequest> items,
+                                     List<Integer> chunk,
+                                     EnrollmentItemResult[] results) {
+        try {
+            return transactionTemplate.execute(status -> enrollChunk(items, chunk, results));
+        } catch (DataIntegrityViolationException ex) {
+            return transactionTemplate.execute(status -> enrollChunk(items, chunk, results));
+        }
+    }
 
-        // 1) Retrieve all enrollment records for the given course
-        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
+    private int enrollChunk(List<EnrollmentItemRequest> items,
+                            List<Integer> chunk,
+                            EnrollmentItemResult[] results) {
 
-        // 2) Map enrollments to students and remove duplicates
-        List<Student> students = enrollments.stream()
-                .map(Enrollment::getStudent)
-                .distinct()
-                .toList();
+        Set<Long> studentIds = new LinkedHashSet<>();
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (int i : chunk) {
+            studentIds.add(items.get(i).getStudentId());
+            courseIds.add(items.get(i).getCourseId());
+        }
 
-        // 3) Apply conditional filters using Stream
-        Stream<Student> stream = students.stream();
+        // Which ids exist (one IN query each)
+        Set<Long> existingStudents = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Set<Long> existingCourses = new HashSet<>(courseRepository.findExistingIds(courseIds));
+
+        // Which pairs are already enrolled (one query against the unique key columns)
+        Set<PairKey> existingPairs = new HashSet<>();
+        if (!existingStudents.isEmpty() && !existingCourses.isEmpty()) {
+            for (EnrollmentRepository.StudentCoursePair pair :
+                    enrollmentRepository.findPairs(existingStudents, existingCourses)) {
+                existingPairs.add(new PairKey(pair.getStudentId(), pair.getCourseId()));
+            }
+        }
 
-        // keyword: fuzzy search by name (case-insensitive)
-        if (keyword != null && !keyword.isBlank()) {
-            String kw = keyword.trim().toLowerCase();
-            stream = stream.filter(s ->
-                    s.getName() != null && s.getName().toLowerCase().contains(kw)
-            );
+        // First pass: classify; insertable pairs wait for a seat
+        List<Integer> candidates = new ArrayList<>();
+        // Sorted so course rows are always locked in id order
+        Map<Long, Integer> wanted = new TreeMap<>();
+        for (int i : chunk) {
+            Long studentId = items.get(i).getStudentId();
+            Long courseId = items.get(i).getCourseId();
+
+            EnrollmentItemStatus status;
+            if (!existingStudents.contains(studentId)) {
+                status = EnrollmentItemStatus.STUDENT_NOT_FOUND;
+            } else if (!existingCourses.contains(courseId)) {
+                status = EnrollmentItemStatus.COURSE_NOT_FOUND;
+            } else if (existingPairs.contains(new PairKey(studentId, courseId))) {
+                status = EnrollmentItemStatus.ALREADY_ENROLLED;
+            } else {
+                candidates.add(i);
+                wanted.merge(courseId, 1, Integer::sum);
+                continue;
+            }
+            results[i] = new EnrollmentItemResult(studentId, courseId, status);
         }
 
-        // Minimum age
-        if (minAge != null) {
-            stream = stream.filter(s ->
-                    s.getAge() != null && s.getAge() >= minAge
-            );
+        // Seats per course (one conditional UPDATE each, before any insert)
+        Map<Long, Integer> granted = new HashMap<>();
+        wanted.forEach((courseId, n) -> granted.put(courseId, allocateSeats(courseId, n)));
+
+        // Second pass in request order: first come, first seated
+        LocalDateTime now = LocalDateTime.now();
+        List<Enrollment> toInsert = new ArrayList<>();
+        Set<Long> insertedStudents = new HashSet<>();
+        for (int i : candidates) {
+            Long studentId = items.get(i).getStudentId();
+            Long courseId = items.get(i).getCourseId();
+
+            EnrollmentItemStatus status;
+            if (granted.merge(courseId, -1, Integer::sum) < 0) {
+                status = EnrollmentItemStatus.COURSE_FULL;
+            } else {
+                status = EnrollmentItemStatus.ENROLLED;
+
+                // References only: no select per student/course
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(studentRepository.getReferenceById(studentId));
+                enrollment.setCourse(courseRepository.getReferenceById(courseId));
+                enrollment.setEnrolledAt(now);
+                toInsert.add(enrollment);
+                insertedStudents.add(studentId);
+            }
+            results[i] = new EnrollmentItemResult(studentId, courseId, status);
         }
 
-        // Maximum age
-        if (maxAge != null) {
-            stream = stream.filter(s ->
-                    s.getAge() != null && s.getAge() <= maxAge
-            );
+        // Student counters after the inserts, in the chunk's transaction
+        enrollmentRepository.saveAll(toInsert);
+        if (!toInsert.isEmpty()) {
+            List<Long> enrollmentIds = toInsert.stream().map(Enrollment::getId).toList();
+            studentRepository.addEnrollmentCounts(insertedStudents, enrollmentIds, 1);
         }
+        entityManager.flush();
+        entityManager.clear();
 
-        // 4) Sort results (by id in ascending order; can be changed to sort by name)
-        List<Student> filtered = stream
-                .sorted(Comparator.comparing(Student::getId))
-                .toList();
+        return toInsert.size();
+    }
 
-        // 5) Perform manual pagination using PageImpl
-        int pageSize = pageable.getPageSize();
-        int pageNumber = pageable.getPageNumber();
-        int fromIndex = pageNumber * pageSize;
+    public record Catalog(String etag, List<CourseDto> courses) {
+    }
 
-        if (fromIndex >= filtered.size()) {
-            // Out of range, return an empty page
-            return new PageImpl<>(List.of(), pageable, filtered.size());
-        }
+    private record PairKey(Long studentId, Long courseId) {
+    }
 
-        int toIndex = Math.min(fromIndex + pageSize, filtered.size());
+    // Retrieve courses selected by a student
+    public List<CourseDto> getCoursesByStudent(Long studentId) {
 
-        List<StudentDto> pageContent = filtered.subList(fromIndex, toIndex)
-                .stream()
-                .map(this::toStudentDto)
-                .toList();
+        // Single projection query; the existence check only runs when nothing came back
+        return readOnlyTransaction.execute(status -> {
+            List<CourseDto> courses = enrollmentRepository.findCourseDtosByStudentId(studentId);
+            if (courses.isEmpty()) {
+                requireStudentExists(studentId);
+            }
+            return courses;
+        });
+    }
+
+    // Retrieve students enrolled in a course (simple list version)
+    public List<StudentDto> getStudentsByCourse(Long courseId) {
+
+        return readOnlyTransaction.execute(status -> {
+            List<StudentDto> students = enrollmentRepository.findStudentDtosByCourseId(courseId);
+            if (students.isEmpty()) {
+                requireCourseExists(courseId);
+            }
+            return students;
+        });
+    }
+
+    //  Retrieve detailed enrollment information for a student (course + enrollment time)
+    public List<EnrollmentInfoDto> getEnrollmentInfosByStudent(Long studentId) {
+
+        return readOnlyTransaction.execute(status -> {
+            List<EnrollmentInfoDto> infos = enrollmentRepository.findInfoDtosByStudentId(studentId);
+            if (infos.isEmpty()) {
+                requireStudentExists(studentId);
+            }
+            return infos;
+        });
+    }
+
+    // ================== ⭐ New: Search students by course with filters(advanced query with pagination)  ==================
+
+    public Page<StudentDto> searchStudentsByCourse(Long courseId,
+                                                   String keyword,
+                                                   Integer minAge,
+                                                   Integer maxAge,
+                                                   Pageable pageable) {
+
+        return readOnlyTransaction.execute(status -> {
+            // First verify that the course exists; return 404 if not found
+            requireCourseExists(courseId);
+
+            // Filtering, sorting (caller's Pageable sort) and paging all run in the database:
+            // one paged select joined on enrollments plus one count query
+            Page<Student> page = studentRepository.findAll(
+                    StudentSpecifications.byCourseAndFilters(courseId, keyword, minAge, maxAge),
+                    pageable
+            );
 
-        return new PageImpl<>(pageContent, pageable, filtered.size());
+            return page.map(this::toStudentDto);
+        });
     }
 }
@@ -0,0 +1,116 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Incremental RFC 4180 reader, the counterpart of ExportService.csvEscape: one record per call;
+// quoted fields may contain commas, doubled quotes and line breaks. Only the current record is
+// held in memory, and records longer than maxRecordChars are rejected so that an unterminated
+// quote cannot swallow the rest of the upload.
+final class CsvRecordReader {
+
+    private final Reader in;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+
+    private long line = 1;      // physical line the reader is on
+    private long recordLine;    // line the last returned record started on
+
+    CsvRecordReader(Reader in, int maxRecordChars) {
+        this.in = in;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // Next record, or null at the end of the input. A blank line is a record with one empty field.
+    List<String> next() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (c < 0) {
+                if (quoted) {
+                    throw new InvalidImportException("line " + recordLine + ": unterminated quoted field");
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (++length > maxRecordChars) {
+                throw new InvalidImportException(
+                        "line " + recordLine + ": record longer than " + maxRecordChars + " characters");
+            }
+
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append(ch);
+            }
+            c = read();
+        }
+    }
+
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,250 @@
+package com.guc.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.guc.studentmanagement.dto.ApiResponse;
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.EnrollmentInfoDto;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.ExportTable;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.EnrollmentRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Streams whole tables to an OutputStream row by row (NDJSON, CSV or an ApiResponse envelope).
+// Rows are DTO projections read from forward-only JPA streams with a fetch-size hint; no entity
+// enters the persistence context, so heap use does not grow with the table size.
+@Service
+public class ExportService {
+
+    private static final List<String> STUDENT_HEADER = List.of("id", "name", "age");
+    private static final Function<StudentDto, List<?>> STUDENT_COLUMNS =
+            dto -> Arrays.asList(dto.getId(), dto.getName(), dto.getAge());
+
+    private static final List<String> COURSE_HEADER = List.of("id", "name", "description", "credit");
+    private static final Function<CourseDto, List<?>> COURSE_COLUMNS =
+            dto -> Arrays.asList(dto.getId(), dto.getName(), dto.getDescription(), dto.getCredit());
+
+    private static final List<String> ENROLLMENT_HEADER =
+            List.of("enrollmentId", "studentId", "studentName", "courseId", "courseName", "enrolledAt");
+    private static final Function<EnrollmentInfoDto, List<?>> ENROLLMENT_COLUMNS =
+            dto -> Arrays.asList(dto.getEnrollmentId(), dto.getStudentId(), dto.getStudentName(),
+                    dto.getCourseId(), dto.getCourseName(), dto.getEnrolledAt());
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter responseWriter;
+
+    public ExportService(StudentRepository studentRepository,
+                         CourseRepository courseRepository,
+                         EnrollmentRepository enrollmentRepository,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+
+        // The JPA stream must be consumed inside a (read-only) transaction
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        // One JSON document per line (the line break is written after each row);
+        // never close the servlet stream from Jackson
+        this.ndjsonWriter = objectMapper.writer()
+                .withRootValueSeparator("")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.responseWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // GET /students: the usual ApiResponse JSON, but "data" is a Stream that Jackson writes
+    // element by element, so no List<StudentDto> of the whole table is ever built
+    public void writeStudentsResponse(OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<StudentDto> students = studentRepository.streamAllDtos()) {
+                responseWriter.writeValue(out, ApiResponse.success(students));
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    public void exportStudents(ExportFormat format, OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<StudentDto> rows = studentRepository.streamAllDtos()) {
+                write(format, out, rows, STUDENT_HEADER, STUDENT_COLUMNS);
+            }
+        });
+    }
+
+    public void exportCourses(ExportFormat format, OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<CourseDto> rows = courseRepository.streamAllDtos()) {
+                write(format, out, rows, COURSE_HEADER, COURSE_COLUMNS);
+            }
+        });
+    }
+
+    public void exportEnrollments(ExportFormat format, OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<EnrollmentInfoDto> rows = enrollmentRepository.streamAllInfoDtos()) {
+                write(format, out, rows, ENROLLMENT_HEADER, ENROLLMENT_COLUMNS);
+            }
+        });
+    }
+
+    // ---------- chunks (export jobs) ----------
+
+    // The CSV header line (nothing for NDJSON); written once, before the first chunk
+    public void writeHeader(ExportTable table, ExportFormat format, OutputStream out) {
+        if (format != ExportFormat.CSV) {
+            return;
+        }
+        List<String> header = switch (table) {
+            case STUDENTS -> STUDENT_HEADER;
+            case COURSES -> COURSE_HEADER;
+            case ENROLLMENTS -> ENROLLMENT_HEADER;
+        };
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeCsvLine(writer, header);
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long countRows(ExportTable table) {
+        return switch (table) {
+            case STUDENTS -> studentRepository.count();
+            case COURSES -> courseRepository.count();
+            case ENROLLMENTS -> enrollmentRepository.count();
+        };
+    }
+
+    // Up to limit rows with an id above afterId, written like the streaming export of the table.
+    // A keyset query per chunk, so a job can continue after the last id it checkpointed.
+    public ExportChunk exportChunk(ExportTable table, ExportFormat format, long afterId, int limit, OutputStream out) {
+        PageRequest page = PageRequest.of(0, limit);
+        return switch (table) {
+            case STUDENTS -> writeChunk(format, out,
+                    readOnlyTx.execute(status -> studentRepository.findDtosAfter(afterId, page)),
+                    StudentDto::getId, STUDENT_COLUMNS);
+            case COURSES -> writeChunk(format, out,
+                    readOnlyTx.execute(status -> courseRepository.findDtosAfter(afterId, page)),
+                    CourseDto::getId, COURSE_COLUMNS);
+            case ENROLLMENTS -> writeChunk(format, out,
+                    readOnlyTx.execute(status -> enrollmentRepository.findInfoDtosAfter(afterId, page)),
+                    EnrollmentInfoDto::getEnrollmentId, ENROLLMENT_COLUMNS);
+        };
+    }
+
+    private <T> ExportChunk writeChunk(ExportFormat format,
+                                       OutputStream out,
+                                       List<T> rows,
+                                       Function<T, Long> id,
+                                       Function<T, List<?>> csvColumns) {
+        if (rows.isEmpty()) {
+            return new ExportChunk(0, -1);
+        }
+        write(format, out, rows.stream(), null, csvColumns);
+        return new ExportChunk(rows.size(), id.apply(rows.get(rows.size() - 1)));
+    }
+
+    // rows: how many were written; lastId: the id to continue after (-1 when there were none)
+    public record ExportChunk(int rows, long lastId) {
+    }
+
+    // ---------- writers ----------
+
+    private <T> void write(ExportFormat format,
+                           OutputStream out,
+                           Stream<T> rows,
+                           List<String> csvHeader,     // null for a chunk that continues a file
+                           Function<T, List<?>> csvColumns) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsv(out, rows, csvHeader, csvColumns);
+            } else {
+                writeNdjson(out, rows);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private <T> void writeNdjson(OutputStream out, Stream<T> rows) throws IOException {
+        try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                ndjsonWriter.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+            }
+        }
+        out.flush();
+    }
+
+    private <T> void writeCsv(OutputStream out,
+                              Stream<T> rows,
+                              List<String> header,
+                              Function<T, List<?>> columns) throws IOException {
+        // Not closed: closing would close the servlet stream
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (header != null) {
+            writeCsvLine(writer, header);
+        }
+        Iterator<T> it = rows.iterator();
+        while (it.hasNext()) {
+            writeCsvLine(writer, columns.apply(it.next()));
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; double inner quotes
+    static String csvEscape(String value) {
+        boolean needsQuotes = value.indexOf(',') >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
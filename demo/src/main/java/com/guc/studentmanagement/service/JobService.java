@@ -0,0 +1,438 @@
+package com.guc.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.ExportTable;
+import com.guc.studentmanagement.dto.JobDto;
+import com.guc.studentmanagement.dto.StudentImportReport;
+import com.guc.studentmanagement.entity.Job;
+import com.guc.studentmanagement.entity.JobStatus;
+import com.guc.studentmanagement.entity.JobType;
+import com.guc.studentmanagement.exception.JobNotFoundException;
+import com.guc.studentmanagement.exception.JobQueueFullException;
+import com.guc.studentmanagement.exception.JobResultNotAvailableException;
+import com.guc.studentmanagement.mapper.JobMapper;
+import com.guc.studentmanagement.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Background imports and exports (/jobs). A submitted job is a Job row, run on a small bounded
+// pool in chunks, and every chunk commits together with a checkpoint on that row:
+//  - student imports read a spooled copy of the upload; StudentImportService calls back inside
+//    each batch transaction, and a resumed import skips the lines up to the checkpoint;
+//  - exports append keyset chunks to a file, which is forced to disk before the checkpoint
+//    records its length; a resumed export cuts the file back to that length.
+// Unfinished jobs are resubmitted on startup; on shutdown running jobs stop at their next
+// checkpoint. Resuming assumes a single instance (several would need a lease per job).
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final StudentImportService importService;
+    private final ExportService exportService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int exportChunkSize;
+    private final boolean resumeOnStartup;
+    private final ThreadPoolExecutor executor;
+
+    // Jobs currently executing here (a job is never run twice at the same time)
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public JobService(JobRepository jobRepository,
+                      StudentImportService importService,
+                      ExportService exportService,
+                      PlatformTransactionManager transactionManager,
+                      ObjectMapper objectMapper,
+                      @Value("${app.jobs.dir:${java.io.tmpdir}/student-management-jobs}") String directory,
+                      @Value("${app.jobs.workers:2}") int workers,
+                      @Value("${app.jobs.queue-capacity:50}") int queueCapacity,
+                      @Value("${app.jobs.export-chunk-size:5000}") int exportChunkSize,
+                      @Value("${app.jobs.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.jobRepository = jobRepository;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.exportChunkSize = exportChunkSize;
+        this.resumeOnStartup = resumeOnStartup;
+
+        // Own pool rather than applicationTaskExecutor: jobs run for minutes and must not hold up
+        // the short tasks queued there. The bounded queue turns overload into 503 on submit.
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "job-" + threads.incrementAndGet()));
+    }
+
+    // ---------- submit / query ----------
+
+    // The upload is copied to app.jobs.dir before the request returns; the import runs later
+    public JobDto submitImport(ExportFormat format, boolean withProfiles, InputStream body) {
+        Spooled upload = spool(body, format);
+
+        Job job = new Job();
+        job.setType(JobType.STUDENT_IMPORT);
+        job.setFormat(format);
+        job.setWithProfiles(withProfiles);
+        job.setInputFile(upload.file().toString());
+        // one row per line, less the CSV header (quoted line breaks make it an estimate)
+        job.setTotalItems(Math.max(0, format == ExportFormat.CSV ? upload.lines() - 1 : upload.lines()));
+        return enqueue(job);
+    }
+
+    public JobDto submitExport(ExportTable table, ExportFormat format) {
+        Job job = new Job();
+        job.setType(JobType.EXPORT);
+        job.setFormat(format);
+        job.setExportTable(table);
+        return enqueue(job);
+    }
+
+    public JobDto getJob(long id) {
+        return toDto(find(id));
+    }
+
+    // File of a completed export
+    public JobResult getResult(long id) {
+        Job job = find(id);
+        if (job.getType() != JobType.EXPORT) {
+            throw new JobResultNotAvailableException("Job " + id + " is an import and has no result file");
+        }
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new JobResultNotAvailableException("Job " + id + " is " + job.getStatus());
+        }
+        Path file = Path.of(job.getOutputFile());
+        if (!Files.exists(file)) {
+            throw new JobResultNotAvailableException("The result file of job " + id + " no longer exists");
+        }
+        return new JobResult(file, job.getFormat(),
+                job.getExportTable().getFileName() + "." + job.getFormat().getFileExtension());
+    }
+
+    public record JobResult(Path file, ExportFormat format, String fileName) {
+    }
+
+    private JobDto enqueue(Job job) {
+        job.setStatus(JobStatus.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        Job saved = jobRepository.save(job);
+        try {
+            executor.execute(() -> run(saved.getId()));
+        } catch (RejectedExecutionException ex) {
+            jobRepository.deleteById(saved.getId());
+            deleteQuietly(saved.getInputFile());
+            throw new JobQueueFullException("All job workers are busy, please retry later");
+        }
+        return toDto(saved);
+    }
+
+    // ---------- lifecycle ----------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        List<Job> unfinished = jobRepository.findByStatusInOrderByIdAsc(List.of(JobStatus.QUEUED, JobStatus.RUNNING));
+        for (Job job : unfinished) {
+            try {
+                executor.execute(() -> run(job.getId()));
+            } catch (RejectedExecutionException ex) {
+                // the rest stays QUEUED / RUNNING for the next start
+                logger.warn("Job queue full, job {} and later ones are not resumed", job.getId());
+                break;
+            }
+        }
+        if (!unfinished.isEmpty()) {
+            logger.info("Resuming {} unfinished jobs", unfinished.size());
+        }
+    }
+
+    // First thing on shutdown, before the web server drains and the pools close
+    @EventListener(ContextClosedEvent.class)
+    public void stopAtNextCheckpoint() {
+        stopping = true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Jobs still running at shutdown; they resume from their last checkpoint on the next start");
+        }
+    }
+
+    // ---------- execution ----------
+
+    private void run(long id) {
+        if (stopping || !running.add(id)) {
+            return;
+        }
+        try {
+            Job job = transactionTemplate.execute(status -> {
+                Job current = find(id);
+                if (current.getStatus() == JobStatus.COMPLETED || current.getStatus() == JobStatus.FAILED) {
+                    return null;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                current.setStatus(JobStatus.RUNNING);
+                current.setAttempts(current.getAttempts() + 1);
+                if (current.getStartedAt() == null) {
+                    current.setStartedAt(now);
+                }
+                current.setRunStartedAt(now);
+                current.setRunStartProcessed(current.getProcessedItems());
+                current.setUpdatedAt(now);
+                return current;
+            });
+            if (job == null) {
+                return;
+            }
+            if (job.getAttempts() > 1) {
+                logger.info("Job {} ({}) resumes after {} processed items", id, job.getType(), job.getProcessedItems());
+            }
+
+            boolean finished = job.getType() == JobType.STUDENT_IMPORT ? runImport(job) : runExport(job);
+            if (!finished) {
+                logger.info("Job {} stopped at its checkpoint, it continues on the next start", id);
+            }
+        } catch (Exception ex) {
+            if (stopping) {
+                // e.g. the pool closing under the last chunk: not the job's fault, keep it resumable
+                logger.warn("Job {} interrupted by shutdown, it continues from its last checkpoint: {}", id, ex.toString());
+                return;
+            }
+            logger.error("Job {} failed", id, ex);
+            String message = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            try {
+                update(id, job -> {
+                    finish(job, JobStatus.FAILED, message);
+                    deleteQuietly(job.getInputFile());
+                });
+            } catch (RuntimeException updateFailure) {
+                logger.warn("Cannot mark job {} as failed", id, updateFailure);
+            }
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    // Returns false when stopped by a shutdown before the end of the upload
+    private boolean runImport(Job job) throws IOException {
+        StudentImportReport resumeFrom = job.getReport() != null
+                ? readReport(job.getReport())
+                : new StudentImportReport();
+        boolean[] stopped = new boolean[1];
+
+        StudentImportReport report;
+        try (InputStream in = Files.newInputStream(Path.of(job.getInputFile()))) {
+            report = importService.importStudents(job.getFormat(), in, job.isWithProfiles(), resumeFrom, batch -> {
+                // inside the batch transaction: the checkpoint commits with the rows
+                String json = writeReport(batch);
+                update(job.getId(), current -> {
+                    current.setProcessedItems(batch.getRowsRead());
+                    current.setFailedItems(batch.getFailed());
+                    current.setResumeAfter(batch.getLastCommittedLine());
+                    current.setReport(json);
+                    current.setUpdatedAt(LocalDateTime.now());
+                });
+                stopped[0] = stopping;
+                return !stopping;
+            });
+        }
+        if (stopped[0]) {
+            return false;
+        }
+
+        String json = writeReport(report);
+        update(job.getId(), current -> {
+            current.setProcessedItems(report.getRowsRead());
+            current.setFailedItems(report.getFailed());
+            current.setResumeAfter(report.getLastCommittedLine());
+            current.setReport(json);
+            finish(current, report.getAbortedReason() == null ? JobStatus.COMPLETED : JobStatus.FAILED,
+                    report.getAbortedReason());
+        });
+        deleteQuietly(job.getInputFile());
+        return true;
+    }
+
+    // Returns false when stopped by a shutdown before the last chunk
+    private boolean runExport(Job job) throws IOException {
+        ExportTable table = job.getExportTable();
+        ExportFormat format = job.getFormat();
+        Path file;
+        if (job.getOutputFile() == null) {
+            Files.createDirectories(directory);
+            file = directory.resolve("job-" + job.getId() + "-" + table.getFileName() + "." + format.getFileExtension());
+            long total = exportService.countRows(table);
+            update(job.getId(), current -> {
+                current.setOutputFile(file.toString());
+                current.setTotalItems(total);
+            });
+        } else {
+            file = Path.of(job.getOutputFile());
+        }
+
+        long afterId = job.getResumeAfter();
+        long processed = job.getProcessedItems();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Whatever follows the checkpoint belongs to a chunk that was never recorded
+            channel.truncate(job.getOutputBytes());
+            channel.position(job.getOutputBytes());
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            if (job.getOutputBytes() == 0) {
+                exportService.writeHeader(table, format, out);
+            }
+
+            ExportService.ExportChunk chunk;
+            do {
+                if (stopping) {
+                    return false;
+                }
+                chunk = exportService.exportChunk(table, format, afterId, exportChunkSize, out);
+                if (chunk.rows() > 0) {
+                    out.flush();
+                    channel.force(false);   // on disk before the checkpoint points past it
+                    afterId = chunk.lastId();
+                    processed += chunk.rows();
+                    long checkpointId = afterId;
+                    long checkpointProcessed = processed;
+                    long checkpointBytes = channel.position();
+                    update(job.getId(), current -> {
+                        current.setProcessedItems(checkpointProcessed);
+                        current.setResumeAfter(checkpointId);
+                        current.setOutputBytes(checkpointBytes);
+                        current.setUpdatedAt(LocalDateTime.now());
+                    });
+                }
+            } while (chunk.rows() == exportChunkSize);
+            out.flush();
+        }
+
+        update(job.getId(), current -> finish(current, JobStatus.COMPLETED, null));
+        return true;
+    }
+
+    private static void finish(Job job, JobStatus status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+        job.setUpdatedAt(now);
+        job.setFinishedAt(now);
+    }
+
+    // ---------- helpers ----------
+
+    // Loads the row and applies the change in a transaction (joining the caller's, if any)
+    private void update(long id, Consumer<Job> change) {
+        transactionTemplate.executeWithoutResult(status -> change.accept(find(id)));
+    }
+
+    private Job find(long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new JobNotFoundException("Job not found with id = " + id));
+    }
+
+    private JobDto toDto(Job job) {
+        return JobMapper.toDto(job, job.getReport() != null ? readReport(job.getReport()) : null);
+    }
+
+    private record Spooled(Path file, long lines) {
+    }
+
+    // Copies the upload to app.jobs.dir, counting its lines for the progress estimate
+    private Spooled spool(InputStream body, ExportFormat format) {
+        try {
+            Files.createDirectories(directory);
+            Path file = Files.createTempFile(directory, "upload-", "." + format.getFileExtension());
+            long lines = 0;
+            int last = '\n';
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[64 * 1024];
+                int n;
+                while ((n = body.read(buffer)) > 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (buffer[i] == '\n') {
+                            lines++;
+                        }
+                    }
+                    last = buffer[n - 1];
+                    out.write(buffer, 0, n);
+                }
+            } catch (IOException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+            return new Spooled(file, last == '\n' ? lines : lines + 1);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot store the upload", ex);
+        }
+    }
+
+    private static void deleteQuietly(String file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(file));
+        } catch (IOException ex) {
+            logger.warn("Cannot delete {}", file, ex);
+        }
+    }
+
+    private StudentImportReport readReport(String json) {
+        try {
+            return objectMapper.readValue(json, StudentImportReport.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read the stored import report", ex);
+        }
+    }
+
+    private String writeReport(StudentImportReport report) {
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize the import report", ex);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.EnrollmentInfoDto;
+import com.guc.studentmanagement.dto.StudentDashboardDto;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.StudentProfileDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class StudentDashboardService {
+
+    private final StudentService studentService;
+    private final StudentProfileService profileService;
+    private final CourseService courseService;
+
+    public StudentDashboardService(StudentService studentService,
+                                   StudentProfileService profileService,
+                                   CourseService courseService) {
+        this.studentService = studentService;
+        this.profileService = profileService;
+        this.courseService = courseService;
+    }
+
+    // All on the caller's thread, one connection at a time: student and profile are usually
+    // cache hits, so a warm dashboard costs the single enrollment query. An unknown student
+    // fails on the first read (404) before anything else runs.
+    public StudentDashboardDto getDashboard(Long studentId) {
+        StudentDto student = studentService.getStudentById(studentId);
+        StudentProfileDto profile = profileService.findProfile(studentId).orElse(null);
+        List<EnrollmentInfoDto> enrollments = courseService.getEnrollmentInfosByStudent(studentId);
+        return new StudentDashboardDto(student, profile, enrollments);
+    }
+}
@@ -0,0 +1,380 @@
+package com.guc.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.ImportRowError;
+import com.guc.studentmanagement.dto.StudentImportReport;
+import com.guc.studentmanagement.dto.StudentImportRow;
+import com.guc.studentmanagement.exception.InvalidImportException;
+import com.guc.studentmanagement.search.NameSuggestIndex;
+import com.guc.studentmanagement.search.StudentNameIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Bulk student import (POST /students/import). The upload (CSV with a header line, or NDJSON) is
+// parsed incrementally, each row is validated with the CreateStudentRequest constraints, and valid
+// rows are inserted in JDBC batches, one transaction per batch. Memory use does not depend on the
+// upload size: one batch of rows plus the capped error list. Import jobs (JobService) run the
+// same code on a spooled copy of the upload, checkpointing after every batch.
+// Students have IDENTITY ids, and Hibernate cannot batch IDENTITY inserts, so the rows go through
+// JdbcTemplate (joining the JPA transaction) and the generated ids are read back from the batch.
+@Service
+public class StudentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private static final String INSERT_STUDENT = "insert into students (name, age) values (?, ?)";
+    private static final String INSERT_PROFILE =
+            "insert into student_profile (student_id, phone, address, emergency_contact) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final StudentNameIndex nameIndex;
+    private final NameSuggestIndex suggestIndex;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final long progressLogInterval;
+
+    public StudentImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                StudentNameIndex nameIndex,
+                                NameSuggestIndex suggestIndex,
+                                @Value("${app.import.batch-size:1000}") int batchSize,
+                                @Value("${app.import.max-reported-errors:100}") int maxReportedErrors,
+                                @Value("${app.import.progress-log-interval:100000}") long progressLogInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(StudentImportRow.class);
+        this.nameIndex = nameIndex;
+        this.suggestIndex = suggestIndex;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressLogInterval = progressLogInterval;
+    }
+
+    // Called inside each batch transaction once the batch is written, so whatever it records
+    // commits or rolls back together with the rows. Returning false stops the import after
+    // that batch commits.
+    @FunctionalInterface
+    public interface Checkpoint {
+        boolean batchWritten(StudentImportReport report);
+    }
+
+    public StudentImportReport importStudents(ExportFormat format, InputStream body, boolean withProfiles) {
+        return importStudents(format, body, withProfiles, new StudentImportReport(), report -> true);
+    }
+
+    // Resumable form (import jobs): rows up to resumeFrom.getLastCommittedLine() are skipped and
+    // the counts continue from resumeFrom.
+    // A bad header (CSV without name/age columns) fails before anything is written; an upload
+    // that breaks off later keeps the rows committed so far and reports abortedReason.
+    public StudentImportReport importStudents(ExportFormat format,
+                                              InputStream body,
+                                              boolean withProfiles,
+                                              StudentImportReport resumeFrom,
+                                              Checkpoint checkpoint) {
+        long start = System.nanoTime();
+        StudentImportReport report = resumeFrom;
+        long resumeAfterLine = report.getLastCommittedLine();
+        long elapsedBefore = report.getElapsedMillis();
+        List<StudentImportRow> batch = new ArrayList<>(batchSize);
+        long lastLine = resumeAfterLine;
+        boolean stopped = false;
+
+        InputStreamReader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        RowSource rows = format == ExportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+        try {
+            try {
+                ParsedRow row;
+                while ((row = rows.next()) != null) {
+                    if (row.line() <= resumeAfterLine) {
+                        continue;
+                    }
+                    lastLine = row.line();
+                    report.setRowsRead(report.getRowsRead() + 1);
+                    Map<String, String> errors = row.errors() != null ? row.errors() : validate(row.row(), withProfiles);
+                    if (!errors.isEmpty()) {
+                        reject(report, row.line(), errors);
+                        continue;
+                    }
+                    batch.add(row.row());
+                    if (batch.size() == batchSize && !flush(batch, lastLine, withProfiles, report, checkpoint)) {
+                        stopped = true;
+                        break;
+                    }
+                }
+            } catch (IOException | UncheckedIOException | InvalidImportException ex) {
+                report.setAbortedReason(ex.getMessage());
+            }
+            if (!stopped) {
+                flush(batch, lastLine, withProfiles, report, checkpoint);
+            }
+        } catch (DataAccessException ex) {
+            // Only the failing batch is rolled back
+            report.setAbortedReason("Batch insert failed: " + ex.getMostSpecificCause().getMessage());
+        }
+
+        report.setElapsedMillis(elapsedBefore + (System.nanoTime() - start) / 1_000_000);
+        logger.info("Student import {}: {} rows read, {} imported, {} profiles, {} rejected in {} ms{}",
+                stopped ? "stopped" : "finished",
+                report.getRowsRead(), report.getImported(), report.getProfilesCreated(), report.getFailed(),
+                report.getElapsedMillis(),
+                report.getAbortedReason() == null ? "" : " (aborted: " + report.getAbortedReason() + ")");
+        return report;
+    }
+
+    // ---------- parsing ----------
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    // Either a row to validate or the errors that made it unreadable
+    private record ParsedRow(long line, StudentImportRow row, Map<String, String> errors) {
+    }
+
+    private RowSource csvRows(InputStreamReader reader) {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_RECORD_CHARS);
+        Map<String, Integer> columns = new HashMap<>();
+        try {
+            List<String> header = csv.next();
+            for (int i = 0; header != null && i < header.size(); i++) {
+                // "emergencyContact", "emergency_contact" and "Emergency Contact" are the same column
+                columns.putIfAbsent(header.get(i).replaceAll("[\\s_\\-\uFEFF]", "").toLowerCase(Locale.ROOT), i);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("age")) {
+            throw new InvalidImportException("The CSV header must contain the columns name and age");
+        }
+
+        return () -> {
+            List<String> record;
+            do {
+                record = csv.next();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.stream().allMatch(String::isBlank));
+
+            StudentImportRow row = new StudentImportRow();
+            row.setName(column(record, columns, "name"));
+            row.setPhone(column(record, columns, "phone"));
+            row.setAddress(column(record, columns, "address"));
+            row.setEmergencyContact(column(record, columns, "emergencycontact"));
+            String age = column(record, columns, "age");
+            if (age != null) {
+                try {
+                    row.setAge(Integer.valueOf(age.trim()));
+                } catch (NumberFormatException ex) {
+                    return new ParsedRow(csv.recordLine(), null, Map.of("age", "Age must be a whole number"));
+                }
+            }
+            return new ParsedRow(csv.recordLine(), row, null);
+        };
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private RowSource ndjsonRows(InputStreamReader reader) {
+        BufferedReader lines = new BufferedReader(reader);
+        long[] lineNumber = new long[1];
+        return () -> {
+            String line;
+            do {
+                line = lines.readLine();
+                lineNumber[0]++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            try {
+                return new ParsedRow(lineNumber[0], rowReader.readValue(line), null);
+            } catch (JsonProcessingException ex) {
+                return new ParsedRow(lineNumber[0], null, Map.of("row", "Malformed JSON: " + ex.getOriginalMessage()));
+            }
+        };
+    }
+
+    // ---------- validation ----------
+
+    // Same rules as POST /students (and, for profiles, POST /students/{id}/profile)
+    private Map<String, String> validate(StudentImportRow row, boolean withProfiles) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(row.getName());
+        request.setAge(row.getAge());
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<CreateStudentRequest> violation : validator.validate(request)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (withProfiles && hasProfile(row)
+                && (!StringUtils.hasText(row.getPhone()) || !StringUtils.hasText(row.getAddress()))) {
+            errors.putIfAbsent("profile", "A profile needs both phone and address");
+        }
+        return errors;
+    }
+
+    private static boolean hasProfile(StudentImportRow row) {
+        return StringUtils.hasText(row.getPhone())
+                || StringUtils.hasText(row.getAddress())
+                || StringUtils.hasText(row.getEmergencyContact());
+    }
+
+    private void reject(StudentImportReport report, long line, Map<String, String> errors) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportRowError(line, errors));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    // ---------- persistence ----------
+
+    // Returns what the checkpoint returned (true when the batch is empty)
+    private boolean flush(List<StudentImportRow> batch,
+                          long lastLine,
+                          boolean withProfiles,
+                          StudentImportReport report,
+                          Checkpoint checkpoint) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        List<StudentImportRow> profiles = withProfiles
+                ? batch.stream().filter(StudentImportService::hasProfile).toList()
+                : List.of();
+
+        long importedBefore = report.getImported();
+        long profilesBefore = report.getProfilesCreated();
+        long lineBefore = report.getLastCommittedLine();
+        long[][] ids = new long[1][];
+        boolean proceed;
+        try {
+            proceed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                ids[0] = insert(batch, profiles);
+                report.setImported(importedBefore + batch.size());
+                report.setProfilesCreated(profilesBefore + profiles.size());
+                report.setLastCommittedLine(lastLine);
+                return checkpoint.batchWritten(report);
+            }));
+        } catch (RuntimeException ex) {
+            // Rolled back: the report keeps the last committed state
+            report.setImported(importedBefore);
+            report.setProfilesCreated(profilesBefore);
+            report.setLastCommittedLine(lineBefore);
+            throw ex;
+        }
+
+        // Like addStudent: the in-memory indexes learn about the rows once they are committed
+        for (int i = 0; i < ids[0].length; i++) {
+            StudentImportRow row = batch.get(i);
+            nameIndex.put(ids[0][i], row.getName(), row.getAge());
+            suggestIndex.studentSaved(ids[0][i], row.getName());
+        }
+
+        batch.clear();
+        if (report.getImported() / progressLogInterval > importedBefore / progressLogInterval) {
+            logger.info("Student import: {} rows read, {} imported, {} rejected",
+                    report.getRowsRead(), report.getImported(), report.getFailed());
+        }
+        return proceed;
+    }
+
+    // Students first (ids come back in batch order), then the profiles that reference them
+    private long[] insert(List<StudentImportRow> batch, List<StudentImportRow> profiles) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_STUDENT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, batch.get(i).getName());
+                        ps.setInt(2, batch.get(i).getAge());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != batch.size()) {
+            throw new IllegalStateException(
+                    "Expected " + batch.size() + " generated student ids, got " + keyList.size());
+        }
+        long[] ids = new long[batch.size()];
+        Map<StudentImportRow, Long> idByRow = new IdentityHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            idByRow.put(batch.get(i), ids[i]);
+        }
+
+        if (!profiles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROFILE, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    StudentImportRow row = profiles.get(i);
+                    ps.setLong(1, idByRow.get(row));
+                    ps.setString(2, row.getPhone());
+                    ps.setString(3, row.getAddress());
+                    ps.setString(4, row.getEmergencyContact());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return profiles.size();
+                }
+            });
+        }
+        return ids;
+    }
+}
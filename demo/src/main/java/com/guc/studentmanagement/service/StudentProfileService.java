@@ -1,12 +1,23 @@
 package com.guc.studentmanagement.service;
 
+import com.guc.studentmanagement.config.CacheConfig;
 import com.guc.studentmanagement.dto.StudentProfileDto;
 import com.guc.studentmanagement.mapper.StudentProfileMapper;
 import com.guc.studentmanagement.entity.Student;
 import com.guc.studentmanagement.entity.StudentProfile;
 import com.guc.studentmanagement.repository.StudentProfileRepository;
 import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.repository.VersionStamp;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
 
 @Service
 public class StudentProfileService {
@@ -14,75 +25,127 @@ public class StudentProfileService {
     private final StudentRepository studentRepository;
     private final StudentProfileRepository profileRepository;
     private final StudentProfileMapper profileMapper;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    // Reads: Hibernate flush mode MANUAL, JDBC read-only (and the replica when one is configured)
+    private final TransactionTemplate readOnlyTransaction;
 
     public StudentProfileService(StudentRepository studentRepository,
                                  StudentProfileRepository profileRepository,
-                                 StudentProfileMapper profileMapper) {
+                                 StudentProfileMapper profileMapper,
+                                 CacheManager cacheManager,
+                                 PlatformTransactionManager transactionManager) {
         this.studentRepository = studentRepository;
         this.profileRepository = profileRepository;
         this.profileMapper = profileMapper;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     // Create profile
+    @CachePut(cacheNames = CacheConfig.PROFILES, key = "#studentId")
     public StudentProfileDto createProfile(Long studentId,
                                            String phone,
                                            String address,
                                            String emergencyContact) {
 
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() ->
-                        new RuntimeException("Student not found with id = " + studentId));
+        return transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(studentId)
+                    .orElseThrow(() ->
+                            new RuntimeException("Student not found with id = " + studentId));
 
-        StudentProfile profile = profileMapper.toEntity(phone, address, emergencyContact, student);
+            StudentProfile profile = profileMapper.toEntity(phone, address, emergencyContact, student);
 
-        StudentProfile saved = profileRepository.save(profile);
-        student.setProfile(saved);
+            StudentProfile saved = profileRepository.save(profile);
+            student.setProfile(saved);
 
-        return profileMapper.toDto(saved);
+            return profileMapper.toDto(saved);
+        });
     }
 
-    // Get profile
+    // Get profile (read-through cache, keyed by student id)
+    @Cacheable(cacheNames = CacheConfig.PROFILES, key = "#studentId")
     public StudentProfileDto getProfile(Long studentId) {
-        StudentProfile profile = profileRepository.findByStudentId(studentId)
+        return loadProfile(studentId);
+    }
+
+    // Conditional GET /students/{id}/profile: the cached copy unless it is older than the current
+    // version (see StudentService.getStudentById(Long, long))
+    public StudentProfileDto getProfile(Long studentId, long currentVersion) {
+        Cache cache = cacheManager.getCache(CacheConfig.PROFILES);
+        StudentProfileDto cached = cache == null ? null : cache.get(studentId, StudentProfileDto.class);
+        if (cached != null && cached.getVersion() != null && cached.getUpdatedAt() != null
+                && cached.getVersion() >= currentVersion) {
+            return cached;
+        }
+        StudentProfileDto loaded = loadProfile(studentId);
+        if (cache != null) {
+            cache.put(studentId, loaded);
+        }
+        return loaded;
+    }
+
+    private StudentProfileDto loadProfile(Long studentId) {
+        return readOnlyTransaction.execute(status -> profileRepository.findByStudentId(studentId)
+                .map(profileMapper::toDto)
                 .orElseThrow(() ->
-                        new RuntimeException("Profile not found for student id = " + studentId));
+                        new RuntimeException("Profile not found for student id = " + studentId)));
+    }
+
+    // Conditional GET /students/{id}/profile: version stamp only (empty when there is no profile)
+    public Optional<VersionStamp> getProfileVersion(Long studentId) {
+        return readOnlyTransaction.execute(status -> profileRepository.findVersionStamp(studentId));
+    }
 
-        return profileMapper.toDto(profile);
+    // Same lookup without the not-found exception (students may not have a profile yet);
+    // shares the cache entry with getProfile, misses are not cached
+    @Cacheable(cacheNames = CacheConfig.PROFILES, key = "#studentId", unless = "#result == null")
+    public Optional<StudentProfileDto> findProfile(Long studentId) {
+        return readOnlyTransaction.execute(
+                status -> profileRepository.findByStudentId(studentId).map(profileMapper::toDto));
     }
 
     // Update profile
+    @CachePut(cacheNames = CacheConfig.PROFILES, key = "#studentId")
     public StudentProfileDto updateProfile(Long studentId,
                                            String phone,
                                            String address,
                                            String emergencyContact) {
 
-        StudentProfile profile = profileRepository.findByStudentId(studentId)
-                .orElseThrow(() ->
-                        new RuntimeException("Profile not found for student id = " + studentId));
+        return transactionTemplate.execute(status -> {
+            StudentProfile profile = profileRepository.findByStudentId(studentId)
+                    .orElseThrow(() ->
+                            new RuntimeException("Profile not found for student id = " + studentId));
 
-        profile.setPhone(phone);
-        profile.setAddress(address);
-        profile.setEmergencyContact(emergencyContact);
+            profile.setPhone(phone);
+            profile.setAddress(address);
+            profile.setEmergencyContact(emergencyContact);
 
-        StudentProfile saved = profileRepository.save(profile);
-        return profileMapper.toDto(saved);
+            StudentProfile saved = profileRepository.save(profile);
+            return profileMapper.toDto(saved);
+        });
     }
 
     // Delete profile
+    @CacheEvict(cacheNames = CacheConfig.PROFILES, key = "#studentId")
     public void deleteProfile(Long studentId) {
-        // 1. find profile
-        StudentProfile profile = profileRepository.findByStudentId(studentId)
-                .orElseThrow(() ->
-                        new RuntimeException("Profile not found for student id = " + studentId));
-
-        // 2. Clear the association on the student side as well (cleaner)
-        Student student = profile.getStudent();
-        if (student != null) {
-            student.setProfile(null);
-        }
-
-        // 3. delete profile
-        profileRepository.delete(profile);
+        transactionTemplate.executeWithoutResult(status -> {
+            // 1. find profile
+            StudentProfile profile = profileRepository.findByStudentId(studentId)
+                    .orElseThrow(() ->
+                            new RuntimeException("Profile not found for student id = " + studentId));
+
+            // 2. Clear the association on the student side as well (cleaner)
+            Student student = profile.getStudent();
+            if (student != null) {
+                student.setProfile(null);
+            }
+
+            // 3. delete profile
+            profileRepository.delete(profile);
+        });
     }
 
 }
@@ -1,28 +1,91 @@
 package com.guc.studentmanagement.service;
 
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.BatchGetResult;
 import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.CursorPage;
 import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.SuggestionDto;
 import com.guc.studentmanagement.dto.UpdateStudentRequest;
 import com.guc.studentmanagement.exception.StudentNotFoundException;
+import com.guc.studentmanagement.entity.Enrollment;
 import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.repository.CourseRepository;
 import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.repository.VersionStamp;
+import com.guc.studentmanagement.search.NameSuggestIndex;
+import com.guc.studentmanagement.search.PrefixSuggestIndex;
+import com.guc.studentmanagement.search.StudentNameIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 // ✅  Pagination-related imports
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class StudentService {
 
+    // Upper bound for keyset page size
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    // Max ids per IN (...) when fetching the rows of a name-index hit list
+    private static final int ID_FETCH_BATCH = 1000;
+
     private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final StudentNameIndex nameIndex;
+    private final NameSuggestIndex suggestIndex;
+    private final TransactionTemplate transactionTemplate;
+    // Reads: Hibernate flush mode MANUAL, JDBC read-only (and the replica when one is configured)
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheManager cacheManager;
+    private final WaitlistService waitlistService;
+
+    // Max distinct ids per batch get (GET /students?ids=)
+    private final int batchGetMaxIds;
 
     // Constructor-based dependency injection for the repository
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository,
+                          CourseRepository courseRepository,
+                          StudentNameIndex nameIndex,
+                          NameSuggestIndex suggestIndex,
+                          PlatformTransactionManager transactionManager,
+                          CacheManager cacheManager,
+                          WaitlistService waitlistService,
+                          @Value("${app.batch-get.max-ids:1000}") int batchGetMaxIds) {
         this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.nameIndex = nameIndex;
+        this.suggestIndex = suggestIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.waitlistService = waitlistService;
+        this.batchGetMaxIds = batchGetMaxIds;
     }
 
     // ----------  Internal utility method: entity -> DTO ----------
@@ -33,63 +96,136 @@ public class StudentService {
         dto.setId(student.getId());
         dto.setName(student.getName());
         dto.setAge(student.getAge());
+        dto.setCourseCount(student.getCourseCount());
+        dto.setTotalCredits(student.getTotalCredits());
+        if (student.getVersion() != null && student.getCountersVersion() != null) {
+            dto.setVersion(student.getVersion() + student.getCountersVersion());
+        }
+        dto.setUpdatedAt(student.getUpdatedAt());
         return dto;
     }
 
     // ---------- Methods corresponding to Controller endpoints ----------
 
-    //  GET all students (without pagination)
-    public List<StudentDto> getAllStudents() {
-        return studentRepository.findAll()
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
-    }
-
     // ✅  GET paginated list of all students — corresponds to /students/page
     public Page<StudentDto> getStudentsPage(Pageable pageable) {
-        Page<Student> page = studentRepository.findAll(pageable);
-        return page.map(this::toDto);
+        return readOnlyTransaction.execute(status -> studentRepository.findAll(pageable).map(this::toDto));
     }
 
-    // GET student by id
+    // Conditional GET /students/{id}: version stamp only, no entity loaded (empty when it does not exist)
+    public Optional<VersionStamp> getStudentVersion(Long id) {
+        return readOnlyTransaction.execute(status -> studentRepository.findVersionStamp(id));
+    }
+
+    // GET student by id (read-through cache). No sync=true: Caffeine would run the DB load
+    // inside ConcurrentHashMap.compute (a synchronized bin), pinning virtual-thread carriers.
+    // The price is a stampede: concurrent misses on a cold id each run the query once.
+    @Cacheable(cacheNames = CacheConfig.STUDENTS, key = "#id")
     public StudentDto getStudentById(Long id) {
-        Student student = studentRepository.findById(id)
+        return loadStudent(id);
+    }
+
+    // Conditional GET /students/{id}: the cached copy unless it is older than the current
+    // version. A load that started before a write can put its old copy back after the write's
+    // eviction; such a copy is reloaded and replaced here instead of being served for the TTL.
+    public StudentDto getStudentById(Long id, long currentVersion) {
+        Cache cache = cacheManager.getCache(CacheConfig.STUDENTS);
+        StudentDto cached = cache == null ? null : cache.get(id, StudentDto.class);
+        if (cached != null && cached.getVersion() != null && cached.getUpdatedAt() != null
+                && cached.getVersion() >= currentVersion) {
+            return cached;
+        }
+        StudentDto loaded = loadStudent(id);
+        if (cache != null) {
+            cache.put(id, loaded);
+        }
+        return loaded;
+    }
+
+    private StudentDto loadStudent(Long id) {
+        return readOnlyTransaction.execute(status -> studentRepository.findById(id)
+                .map(this::toDto)
                 .orElseThrow(() ->
-                        new StudentNotFoundException("Student not found with id = " + id));
-        return toDto(student);
+                        new StudentNotFoundException("Student not found with id = " + id)));
+    }
+
+    // Batch get by id list: cached students first, the rest in IN batches; unknown ids are reported, not 404
+    public BatchGetResult<StudentDto> getStudentsByIds(List<Long> ids) {
+        return BatchGet.lookup(ids, batchGetMaxIds, cacheManager.getCache(CacheConfig.STUDENTS), StudentDto.class,
+                chunk -> readOnlyTransaction.execute(status -> studentRepository.findDtosByIdIn(chunk)),
+                StudentDto::getId);
     }
 
     // POST create a new student — corresponds to addStudent(...) in the Controller
+    // Not cached here: updated_at is set by the database, so the first read caches a copy that
+    // carries the full version stamp
     public StudentDto addStudent(CreateStudentRequest request) {
         Student student = new Student();
         student.setName(request.getName());
         student.setAge(request.getAge());
 
         Student saved = studentRepository.save(student);
+        nameIndex.put(saved.getId(), saved.getName(), saved.getAge());
+        suggestIndex.studentSaved(saved.getId(), saved.getName());
         return toDto(saved);
     }
 
     // PUT update an existing student — corresponds to updateStudent(...) in the Controller
+    // Evicted rather than put: an enrollment committed meanwhile changes the counters without
+    // touching the loaded entity. The cached profile carries the student name, so it goes too
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STUDENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PROFILES, key = "#id")
+    })
     public StudentDto updateStudent(Long id, UpdateStudentRequest request) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() ->
-                        new StudentNotFoundException("Student not found with id = " + id));
-
-        student.setName(request.getName());
-        student.setAge(request.getAge());
+        Student saved = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() ->
+                            new StudentNotFoundException("Student not found with id = " + id));
 
-        Student saved = studentRepository.save(student);
+            student.setName(request.getName());
+            student.setAge(request.getAge());
+            return studentRepository.save(student);
+        });
+        nameIndex.put(saved.getId(), saved.getName(), saved.getAge());
+        suggestIndex.studentSaved(saved.getId(), saved.getName());
         return toDto(saved);
     }
 
     // DELETE student
+    // The profile and enrollments are removed by cascade, so the profile's cache entry goes too;
+    // in the same transaction the student leaves every waitlist, and each enrolled course loses
+    // one from its counter and promotes its next waitlisted student into the freed seat
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STUDENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PROFILES, key = "#id")
+    })
     public void deleteStudent(Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() ->
-                        new StudentNotFoundException("Student not found with id = " + id));
+        // Sorted so course rows are locked in id order
+        Set<Long> courseIds = new TreeSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() ->
+                            new StudentNotFoundException("Student not found with id = " + id));
+
+            // The same collection the cascade deletes
+            for (Enrollment enrollment : student.getEnrollments()) {
+                courseIds.add(enrollment.getCourse().getId());
+            }
+            if (!courseIds.isEmpty()) {
+                courseRepository.addEnrolledCount(courseIds, -1);
+            }
+            waitlistService.removeStudent(id);
+            courseIds.forEach(waitlistService::promote);
+            studentRepository.delete(student);
+        });
 
-        studentRepository.delete(student);
+        Cache courses = cacheManager.getCache(CacheConfig.COURSES);
+        if (courses != null) {
+            courseIds.forEach(courses::evict);
+        }
+        nameIndex.remove(id);
+        suggestIndex.studentDeleted(id);
     }
 
     // ✅ Comprehensive search (name keyword + age range + pagination + sorting)
@@ -99,8 +235,12 @@ public class StudentService {
             Integer maxAge,
             Pageable pageable
     ) {
-        // 1. Preprocess keyword by trimming leading and trailing spaces
-        String trimmedKeyword = (keyword == null ? null : keyword.trim());
+        return readOnlyTransaction.execute(status -> findStudents(keyword, minAge, maxAge, pageable));
+    }
+
+    private Page<StudentDto> findStudents(String keyword, Integer minAge, Integer maxAge, Pageable pageable) {
+        // 1. Preprocess keyword: trim, and lower-case it once to match the name_lower column
+        String trimmedKeyword = (keyword == null ? null : keyword.trim().toLowerCase(Locale.ROOT));
 
         boolean hasKeyword = (trimmedKeyword != null && !trimmedKeyword.isEmpty());
         boolean hasAgeRange = (minAge != null && maxAge != null);
@@ -112,12 +252,20 @@ public class StudentService {
             maxAge = tmp;
         }
 
-        // 2.  Call the corresponding repository method based on different combinations
+        // 2. Keyword search in id order: answer from the in-memory name index when it is warm
+        if (hasKeyword && nameIndex.canSearch(trimmedKeyword) && pageable.isPaged() && isIdOrder(pageable.getSort())) {
+            long[] ids = nameIndex.search(trimmedKeyword, hasAgeRange ? minAge : null, hasAgeRange ? maxAge : null);
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            return new PageImpl<>(fetchInIdOrder(ids, from, to), pageable, ids.length);
+        }
+
+        // 3.  Otherwise call the corresponding repository method based on different combinations
         Page<Student> page;
 
         if (hasKeyword && hasAgeRange) {
             // Name keyword + age range
-            page = studentRepository.findByNameContainingIgnoreCaseAndAgeBetween(
+            page = studentRepository.findByNameLowerContainingAndAgeBetween(
                     trimmedKeyword,
                     minAge,
                     maxAge,
@@ -125,7 +273,7 @@ public class StudentService {
             );
         } else if (hasKeyword) {
             // Name keyword only (fuzzy search)
-            page = studentRepository.findByNameContainingIgnoreCase(
+            page = studentRepository.findByNameLowerContaining(
                     trimmedKeyword,
                     pageable
             );
@@ -141,7 +289,143 @@ public class StudentService {
             page = studentRepository.findAll(pageable);
         }
 
-        // 3. Map Page<Student> to Page<StudentDto>
+        // 4. Map Page<Student> to Page<StudentDto>
         return page.map(this::toDto);
     }
+
+    // ---------- Type-ahead ----------
+
+    // Top students whose name starts with prefix, most enrolled first (from memory once the
+    // suggestion index is loaded; before that alphabetical from SQL, popularity 0)
+    public List<SuggestionDto> suggestStudents(String prefix, int limit) {
+        int k = Math.max(1, Math.min(limit, NameSuggestIndex.MAX_SUGGESTIONS));
+        if (suggestIndex.isWarm()) {
+            return suggestIndex.suggestStudents(prefix, k);
+        }
+        return readOnlyTransaction.execute(status -> studentRepository.findByNameLowerStartingWith(
+                        PrefixSuggestIndex.normalize(prefix), PageRequest.of(0, k, Sort.by("nameLower")))
+                .stream()
+                .map(row -> new SuggestionDto(row.getId(), row.getName(), 0))
+                .collect(Collectors.toList()));
+    }
+
+    // ---------- Keyset (cursor) pagination ----------
+    // Pages are ordered by id and fetched with "id > lastSeenId", so every page costs the same
+    // regardless of depth; Slice fetches size + 1 rows to know whether more follow, no COUNT.
+
+    //  Cursor variant of /students/page
+    public CursorPage<StudentDto> getStudentsAfter(String after, int size, boolean withTotal) {
+        return searchStudentsAfter(null, null, null, after, size, withTotal);
+    }
+
+    //  Cursor variant of /students/search (same filter rules as searchStudents)
+    public CursorPage<StudentDto> searchStudentsAfter(
+            String keyword,
+            Integer minAge,
+            Integer maxAge,
+            String after,
+            int size,
+            boolean withTotal
+    ) {
+        return readOnlyTransaction.execute(
+                status -> findStudentsAfter(keyword, minAge, maxAge, after, size, withTotal));
+    }
+
+    private CursorPage<StudentDto> findStudentsAfter(String keyword, Integer minAge, Integer maxAge,
+                                                     String after, int size, boolean withTotal) {
+        long lastId = KeysetCursor.decode(after);
+        Pageable firstN = PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)), Sort.by("id"));
+
+        String trimmedKeyword = (keyword == null ? null : keyword.trim().toLowerCase(Locale.ROOT));
+        boolean hasKeyword = (trimmedKeyword != null && !trimmedKeyword.isEmpty());
+        boolean hasAgeRange = (minAge != null && maxAge != null);
+
+        if (hasAgeRange && minAge > maxAge) {
+            int tmp = minAge;
+            minAge = maxAge;
+            maxAge = tmp;
+        }
+
+        // Keyword search from the name index: its hit list is id-ordered, so the cursor is a binary search
+        if (hasKeyword && nameIndex.canSearch(trimmedKeyword)) {
+            long[] ids = nameIndex.search(trimmedKeyword, hasAgeRange ? minAge : null, hasAgeRange ? maxAge : null);
+            int pos = Arrays.binarySearch(ids, lastId);
+            int from = pos >= 0 ? pos + 1 : -pos - 1;
+            int to = Math.min(from + firstN.getPageSize(), ids.length);
+            boolean hasNext = to < ids.length;
+            return new CursorPage<>(
+                    fetchInIdOrder(ids, from, to),
+                    firstN.getPageSize(),
+                    hasNext,
+                    hasNext ? KeysetCursor.encode(ids[to - 1]) : null,
+                    withTotal ? (long) ids.length : null);
+        }
+
+        Slice<Student> slice;
+        Long total = null;
+
+        if (hasKeyword && hasAgeRange) {
+            slice = studentRepository.findByNameLowerContainingAndAgeBetweenAndIdGreaterThan(
+                    trimmedKeyword, minAge, maxAge, lastId, firstN);
+            if (withTotal) {
+                total = studentRepository.countByNameLowerContainingAndAgeBetween(trimmedKeyword, minAge, maxAge);
+            }
+        } else if (hasKeyword) {
+            slice = studentRepository.findByNameLowerContainingAndIdGreaterThan(trimmedKeyword, lastId, firstN);
+            if (withTotal) {
+                total = studentRepository.countByNameLowerContaining(trimmedKeyword);
+            }
+        } else if (hasAgeRange) {
+            slice = studentRepository.findByAgeBetweenAndIdGreaterThan(minAge, maxAge, lastId, firstN);
+            if (withTotal) {
+                total = studentRepository.countByAgeBetween(minAge, maxAge);
+            }
+        } else {
+            slice = studentRepository.findByIdGreaterThan(lastId, firstN);
+            if (withTotal) {
+                total = studentRepository.count();
+            }
+        }
+
+        List<StudentDto> content = slice.getContent().stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+
+        String nextCursor = (slice.hasNext() && !content.isEmpty())
+                ? KeysetCursor.encode(content.get(content.size() - 1).getId())
+                : null;
+
+        return new CursorPage<>(content, firstN.getPageSize(), slice.hasNext(), nextCursor, total);
+    }
+
+    // ---------- Name index helpers ----------
+
+    private static boolean isIdOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && orders.get(0).getProperty().equals("id") && orders.get(0).isAscending();
+    }
+
+    // Rows for ids[from, to) in that order, fetched in IN batches; ids deleted meanwhile are skipped
+    private List<StudentDto> fetchInIdOrder(long[] ids, int from, int to) {
+        List<StudentDto> result = new ArrayList<>(Math.max(0, to - from));
+        for (int start = from; start < to; start += ID_FETCH_BATCH) {
+            int end = Math.min(start + ID_FETCH_BATCH, to);
+            List<Long> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                batch.add(ids[i]);
+            }
+            Map<Long, StudentDto> byId = studentRepository.findDtosByIdIn(batch).stream()
+                    .collect(Collectors.toMap(StudentDto::getId, Function.identity()));
+            for (Long id : batch) {
+                StudentDto dto = byId.get(id);
+                if (dto != null) {
+                    result.add(dto);
+                }
+            }
+        }
+        return result;
+    }
 }
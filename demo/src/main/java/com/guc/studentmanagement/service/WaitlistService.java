@@ -0,0 +1,277 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.WaitlistPositionDto;
+import com.guc.studentmanagement.entity.Enrollment;
+import com.guc.studentmanagement.entity.WaitlistEntry;
+import com.guc.studentmanagement.exception.CourseNotFoundException;
+import com.guc.studentmanagement.exception.NotOnWaitlistException;
+import com.guc.studentmanagement.exception.StudentNotFoundException;
+import com.guc.studentmanagement.exception.WaitlistConflictException;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.EnrollmentRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.repository.WaitlistRepository;
+import com.guc.studentmanagement.search.NameSuggestIndex;
+import com.guc.studentmanagement.waitlist.CourseWaitlists;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Per-course FIFO waitlists: join / leave / position, and promotion of the head of the queue
+ * into seats freed by a drop or a capacity increase.
+ * <p>
+ * Students can only join a full course; the check runs under the course row lock, the same lock
+ * every seat allocation and drop takes, so a seat is never free while someone is waiting.
+ */
+@Service
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseWaitlists waitlists;
+    private final NameSuggestIndex suggestIndex;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Waitlist entries promoted per statement batch
+    private final int promotionBatchSize;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           CourseRepository courseRepository,
+                           StudentRepository studentRepository,
+                           EnrollmentRepository enrollmentRepository,
+                           CourseWaitlists waitlists,
+                           NameSuggestIndex suggestIndex,
+                           CacheManager cacheManager,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.waitlist.promotion-batch-size:500}") int promotionBatchSize) {
+        this.waitlistRepository = waitlistRepository;
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.waitlists = waitlists;
+        this.suggestIndex = suggestIndex;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.promotionBatchSize = promotionBatchSize;
+    }
+
+    // ================== Join / leave / position ==================
+
+    // Join the waitlist of a full course (joining again just returns the current position)
+    public WaitlistPositionDto join(Long courseId, Long studentId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!studentRepository.existsById(studentId)) {
+                    throw new StudentNotFoundException("Student not found with id = " + studentId);
+                }
+                // Locks the course row: no seat can be freed or taken until we commit
+                Integer free = courseRepository.lockFreeSeats(courseId);
+                if (free == null) {
+                    throw new CourseNotFoundException("Course not found with id = " + courseId);
+                }
+                if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                    throw new WaitlistConflictException(
+                            "Student " + studentId + " is already enrolled in course " + courseId);
+                }
+                if (waitlistRepository.findEntryId(courseId, studentId).isPresent()) {
+                    return;
+                }
+                if (free > 0) {
+                    throw new WaitlistConflictException(
+                            "Course " + courseId + " has " + free + " free seat(s); enroll directly");
+                }
+
+                WaitlistEntry entry = new WaitlistEntry();
+                entry.setCourse(courseRepository.getReferenceById(courseId));
+                entry.setStudent(studentRepository.getReferenceById(studentId));
+                entry.setJoinedAt(LocalDateTime.now());
+                Long entryId = waitlistRepository.save(entry).getId();
+                afterCommit(() -> waitlists.added(courseId, studentId, entryId));
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent join of the same pair won the unique key: same outcome as joining twice
+            if (waitlistRepository.findEntryId(courseId, studentId).isEmpty()) {
+                throw ex;
+            }
+        }
+        return getPosition(courseId, studentId);
+    }
+
+    public void leave(Long courseId, Long studentId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long entryId = waitlistRepository.findEntryId(courseId, studentId)
+                    .orElseThrow(() -> notOnWaitlist(courseId, studentId));
+            // 0 when a concurrent leave or promotion deleted it first
+            if (waitlistRepository.deleteEntry(courseId, studentId) == 0) {
+                throw notOnWaitlist(courseId, studentId);
+            }
+            afterCommit(() -> waitlists.removed(courseId, Map.of(studentId, entryId)));
+        });
+    }
+
+    // Position from memory (Fenwick prefix count); a range count on (course_id, id) while loading
+    public WaitlistPositionDto getPosition(Long courseId, Long studentId) {
+        if (waitlists.isWarm()) {
+            int position = waitlists.position(courseId, studentId);
+            if (position == 0) {
+                throw notOnWaitlist(courseId, studentId);
+            }
+            return new WaitlistPositionDto(courseId, studentId, position, waitlists.size(courseId));
+        }
+        Long entryId = waitlistRepository.findEntryId(courseId, studentId)
+                .orElseThrow(() -> notOnWaitlist(courseId, studentId));
+        return new WaitlistPositionDto(courseId, studentId,
+                (int) waitlistRepository.countAhead(courseId, entryId) + 1,
+                (int) waitlistRepository.countByCourse(courseId));
+    }
+
+    private static NotOnWaitlistException notOnWaitlist(Long courseId, Long studentId) {
+        return new NotOnWaitlistException("Student " + studentId + " is not on the waitlist of course " + courseId);
+    }
+
+    // ================== Promotion (inside the caller's transaction) ==================
+
+    /**
+     * Fills the course's free seats from the head of its waitlist, in batches: per batch one
+     * locking read of the head, one seat allocation, JDBC-batched enrollment inserts, one counter
+     * update and one delete of the promoted entries. Runs in the transaction that freed the
+     * seats, so the drop and the promotions commit or roll back together; memory and caches are
+     * updated after commit. Returns the promoted student ids.
+     */
+    public List<Long> promote(Long courseId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Waitlist promotion must run inside the transaction that freed the seats");
+        }
+
+        List<Long> promoted = new ArrayList<>();
+        // student id -> deleted entry id
+        Map<Long, Long> dequeued = new HashMap<>();
+        // Also (re)locks the course row; nobody else can take the counted seats
+        Integer free = courseRepository.lockFreeSeats(courseId);
+        int seats = free == null ? 0 : free;
+
+        while (seats > 0) {
+            int wanted = Math.min(seats, promotionBatchSize);
+            List<WaitlistRepository.EntryRow> head =
+                    waitlistRepository.findHeadForUpdate(courseId, PageRequest.of(0, wanted));
+            if (head.isEmpty()) {
+                break;
+            }
+
+            List<Long> entryIds = new ArrayList<>(head.size());
+            List<Long> studentIds = new ArrayList<>(head.size());
+            for (WaitlistRepository.EntryRow row : head) {
+                entryIds.add(row.getId());
+                studentIds.add(row.getStudentId());
+                dequeued.put(row.getStudentId(), row.getId());
+            }
+            // Already enrolled meanwhile (e.g. directly after a capacity change): only dequeue them
+            Set<Long> enrolled = new HashSet<>();
+            for (EnrollmentRepository.StudentCoursePair pair :
+                    enrollmentRepository.findPairs(studentIds, List.of(courseId))) {
+                enrolled.add(pair.getStudentId());
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Enrollment> toInsert = new ArrayList<>();
+            List<Long> batchPromoted = new ArrayList<>();
+            for (Long studentId : studentIds) {
+                if (enrolled.contains(studentId)) {
+                    continue;
+                }
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(studentRepository.getReferenceById(studentId));
+                enrollment.setCourse(courseRepository.getReferenceById(courseId));
+                enrollment.setEnrolledAt(now);
+                toInsert.add(enrollment);
+                batchPromoted.add(studentId);
+            }
+
+            if (!toInsert.isEmpty()) {
+                courseRepository.takeSeats(courseId, toInsert.size());
+                enrollmentRepository.saveAll(toInsert);
+                studentRepository.addEnrollmentCounts(batchPromoted,
+                        toInsert.stream().map(Enrollment::getId).toList(), 1);
+            }
+            waitlistRepository.deleteAllByIdInBatch(entryIds);
+
+            promoted.addAll(batchPromoted);
+            seats -= toInsert.size();
+            if (head.size() < wanted) {
+                break;
+            }
+        }
+
+        if (!dequeued.isEmpty()) {
+            afterCommit(() -> {
+                waitlists.removed(courseId, dequeued);
+                evict(CacheConfig.STUDENTS, promoted);
+                evict(CacheConfig.COURSES, List.of(courseId));
+                Map<Long, Long> perStudent = new HashMap<>();
+                promoted.forEach(id -> perStudent.put(id, 1L));
+                suggestIndex.enrollmentsAdded(perStudent,
+                        promoted.isEmpty() ? Map.of() : Map.of(courseId, (long) promoted.size()));
+            });
+        }
+        return promoted;
+    }
+
+    // Removes a student from every waitlist (student deletion), inside the caller's transaction
+    public void removeStudent(Long studentId) {
+        List<WaitlistRepository.QueueRow> entries = waitlistRepository.findEntriesByStudentId(studentId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        waitlistRepository.deleteByStudent(studentId);
+        afterCommit(() -> entries.forEach(entry ->
+                waitlists.removed(entry.getCourseId(), Map.of(studentId, entry.getId()))));
+    }
+
+    // Empties a course's waitlist (course cancelled), inside the caller's transaction
+    public int clearCourse(Long courseId) {
+        Optional<Long> maxEntryId = waitlistRepository.findMaxEntryId(courseId);
+        if (maxEntryId.isEmpty()) {
+            return 0;
+        }
+        int deleted = waitlistRepository.deleteByCourse(courseId);
+        afterCommit(() -> waitlists.cleared(courseId, maxEntryId.get()));
+        return deleted;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evict(String cacheName, List<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+}
@@ -3,8 +3,11 @@ package com.guc.studentmanagement.spec;
 import com.guc.studentmanagement.entity.Student;
 import com.guc.studentmanagement.entity.Enrollment;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Locale;
+
 public class StudentSpecifications {
 
     /**
@@ -27,13 +30,19 @@ public class StudentSpecifications {
             // private Set<Enrollment> enrollments;
             Join<Student, Enrollment> enrollmentJoin = root.join("enrollments");
 
+            // The inverse one-to-one profile is always loaded eagerly; fetch it with the page
+            // rows instead of one select per student (the count query must not fetch)
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("profile", JoinType.LEFT);
+            }
+
             // 先筛选：这名学生的 enrollment 对应的 course.id = 指定 courseId
             var predicate = cb.equal(enrollmentJoin.get("course").get("id"), courseId);
 
             // keyword 模糊匹配 name
             if (keyword != null && !keyword.isBlank()) {
-                String pattern = "%" + keyword.trim().toLowerCase() + "%";
-                var nameLike = cb.like(cb.lower(root.get("name")), pattern);
+                String pattern = "%" + keyword.trim().toLowerCase(Locale.ROOT) + "%";
+                var nameLike = cb.like(root.get("nameLower"), pattern);
                 predicate = cb.and(predicate, nameLike);
             }
 
@@ -49,9 +58,9 @@ public class StudentSpecifications {
                         cb.lessThanOrEqualTo(root.get("age"), maxAge));
             }
 
-            // 去重，防止重复学生
-            query.distinct(true);
-
+            // No DISTINCT needed: the (student_id, course_id) unique constraint on
+            // enrollments guarantees at most one joined row per student, so the
+            // page query and Spring Data's count query stay plain (no DISTINCT over the join)
             return predicate;
         };
     }
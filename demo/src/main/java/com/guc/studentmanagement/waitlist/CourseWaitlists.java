@@ -0,0 +1,202 @@
+package com.guc.studentmanagement.waitlist;
+
+import com.guc.studentmanagement.repository.WaitlistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of every course's waitlist (table waitlist_entries), for position lookups
+ * without a database round trip.
+ * <p>
+ * The table is the source of truth: joins, leaves and promotions are written there first and
+ * applied here after commit. Loaded in the background after startup; until then
+ * {@link #isWarm()} is false and callers count in SQL. Writes that arrive during the load are
+ * replayed on top of it (both kinds are idempotent).
+ * <p>
+ * After-commit callbacks of concurrent transactions can arrive out of order (a join's add after
+ * the promotion that already dequeued it), so writes name entry ids: a removed entry leaves a
+ * tombstone that discards a late add of it, and a cleared course ignores adds of entries up to
+ * the last id it deleted.
+ */
+@Component
+public class CourseWaitlists {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseWaitlists.class);
+
+    private static final int MAX_TOMBSTONES = 50_000;
+
+    private final WaitlistRepository waitlistRepository;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int loadChunkSize;
+
+    private volatile Map<Long, WaitlistQueue> queues = new ConcurrentHashMap<>();
+
+    // Serializes writes with the load's swap-and-replay step
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    // Recently removed entry ids (bounded: a late add trails its removal by one commit)
+    private final Set<Long> tombstones = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    });
+    // Course id -> highest entry id deleted when its waitlist was cleared
+    private final Map<Long, Long> clearedUpTo = new HashMap<>();
+    private boolean loading;
+    private volatile boolean warm;
+
+    public CourseWaitlists(WaitlistRepository waitlistRepository,
+                           @Qualifier("applicationTaskExecutor") Executor executor,
+                           @Value("${app.waitlist.index.enabled:true}") boolean enabled,
+                           @Value("${app.waitlist.index.load-chunk-size:5000}") int loadChunkSize) {
+        this.waitlistRepository = waitlistRepository;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.loadChunkSize = loadChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            executor.execute(this::reload);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public void reload() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            loading = true;
+            pendingWrites.clear();
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            Map<Long, WaitlistQueue> loaded = new ConcurrentHashMap<>();
+            long afterId = Long.MIN_VALUE;
+            long entries = 0;
+            List<WaitlistRepository.QueueRow> rows;
+            do {
+                rows = waitlistRepository.findRowsAfter(afterId, PageRequest.of(0, loadChunkSize));
+                for (WaitlistRepository.QueueRow row : rows) {
+                    loaded.computeIfAbsent(row.getCourseId(), id -> new WaitlistQueue())
+                            .add(row.getStudentId(), row.getId());
+                }
+                entries += rows.size();
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (rows.size() == loadChunkSize);
+
+            writeLock.lock();
+            try {
+                queues = loaded;
+                pendingWrites.forEach(Runnable::run);
+                pendingWrites.clear();
+                loading = false;
+                warm = true;
+            } finally {
+                writeLock.unlock();
+            }
+            log.info("Waitlists loaded: {} entries in {} courses in {} ms",
+                    entries, loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            writeLock.lock();
+            try {
+                loading = false;
+                pendingWrites.clear();
+            } finally {
+                writeLock.unlock();
+            }
+            log.warn("Waitlist load failed; positions keep using SQL", ex);
+        }
+    }
+
+    // ---------- lookups ----------
+
+    // 1-based position, 0 when the student is not waiting for the course
+    public int position(long courseId, long studentId) {
+        WaitlistQueue queue = queues.get(courseId);
+        return queue == null ? 0 : queue.position(studentId);
+    }
+
+    public int size(long courseId) {
+        WaitlistQueue queue = queues.get(courseId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    // ---------- writes (call after the change has been committed) ----------
+
+    public void added(long courseId, long studentId, long entryId) {
+        write(() -> {
+            if (tombstones.remove(entryId) || entryId <= clearedUpTo.getOrDefault(courseId, 0L)) {
+                return;
+            }
+            WaitlistQueue queue = queues.computeIfAbsent(courseId, id -> new WaitlistQueue());
+            long queued = queue.entryId(studentId);
+            if (queued != 0 && queued < entryId) {
+                // Left and re-joined, and the join is applied before the leave
+                queue.remove(studentId, queued);
+                tombstones.add(queued);
+            }
+            queue.add(studentId, entryId);
+        });
+    }
+
+    // entryIds: student id -> id of the deleted entry
+    public void removed(long courseId, Map<Long, Long> entryIds) {
+        write(() -> {
+            WaitlistQueue queue = queues.get(courseId);
+            entryIds.forEach((studentId, entryId) -> {
+                if (queue != null) {
+                    queue.remove(studentId, entryId);
+                }
+                tombstones.add(entryId);
+            });
+        });
+    }
+
+    // maxEntryId: highest entry id the clear deleted
+    public void cleared(long courseId, long maxEntryId) {
+        write(() -> {
+            queues.remove(courseId);
+            clearedUpTo.merge(courseId, maxEntryId, Math::max);
+        });
+    }
+
+    private void write(Runnable change) {
+        writeLock.lock();
+        try {
+            change.run();
+            if (loading) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.guc.studentmanagement.waitlist;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One course's waitlist in join order, with O(1) membership and O(log n) position lookup.
+ * <p>
+ * Entries occupy slots in ascending entry id (= join order). A Fenwick tree over the slots counts
+ * the ones still waiting, so a student's position is the prefix count up to their slot: nobody
+ * ahead is visited. Leaving vacates the slot in place; slots are compacted (and the tree rebuilt
+ * in O(n)) only when the arrays are full, so joins stay amortized O(1).
+ * <p>
+ * Thread-safe; readers share a read lock, writers take the write lock (no synchronized, so
+ * virtual threads do not pin).
+ */
+public class WaitlistQueue {
+
+    private static final int INITIAL_SLOTS = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotOf = new HashMap<>();
+
+    // slot -> entry id / student id; vacated slots keep their entry id so the order stays sorted
+    private long[] entryIds = new long[INITIAL_SLOTS];
+    private long[] studentIds = new long[INITIAL_SLOTS];
+    private boolean[] waiting = new boolean[INITIAL_SLOTS];
+    // Fenwick tree (1-based) over waiting[]
+    private int[] tree = new int[INITIAL_SLOTS + 1];
+    private int slots;
+    private int size;
+
+    // Adds a student; false if already queued. Entries normally arrive in id order (append).
+    public boolean add(long studentId, long entryId) {
+        lock.writeLock().lock();
+        try {
+            if (slotOf.containsKey(studentId)) {
+                return false;
+            }
+            if (slots > 0 && entryIds[slots - 1] > entryId) {
+                // Concurrent joins committed out of id order: rebuild with the entry in its place
+                rebuild(entryIds.length, studentId, entryId);
+            } else {
+                if (slots == entryIds.length) {
+                    rebuild(size * 2 < entryIds.length ? entryIds.length : entryIds.length * 2, -1, -1);
+                }
+                int slot = slots++;
+                entryIds[slot] = entryId;
+                studentIds[slot] = studentId;
+                waiting[slot] = true;
+                slotOf.put(studentId, slot);
+                update(slot, 1);
+            }
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long studentId) {
+        lock.writeLock().lock();
+        try {
+            return vacate(studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removes the student only if they are queued under this entry (not a later re-join)
+    public boolean remove(long studentId, long entryId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotOf.get(studentId);
+            return slot != null && entryIds[slot] == entryId && vacate(studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 1-based position, or 0 when the student is not queued
+    public int position(long studentId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotOf.get(studentId);
+            return slot == null ? 0 : prefix(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Entry id the student is queued under, or 0 when not queued
+    public long entryId(long studentId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotOf.get(studentId);
+            return slot == null ? 0 : entryIds[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------- internals (callers hold the write lock) ----------
+
+    private boolean vacate(long studentId) {
+        Integer slot = slotOf.remove(studentId);
+        if (slot == null) {
+            return false;
+        }
+        waiting[slot] = false;
+        update(slot, -1);
+        size--;
+        if (size == 0) {
+            slots = 0;
+            Arrays.fill(tree, 0);
+        }
+        return true;
+    }
+
+    // Compacts the waiting entries into `capacity` slots, optionally inserting one in id order,
+    // and rebuilds the tree in O(n)
+    private void rebuild(int capacity, long newStudentId, long newEntryId) {
+        int needed = size + (newEntryId >= 0 ? 1 : 0);
+        while (capacity < needed + 1) {
+            capacity *= 2;
+        }
+        long[] newEntryIds = new long[capacity];
+        long[] newStudentIds = new long[capacity];
+        boolean[] newWaiting = new boolean[capacity];
+        int n = 0;
+        boolean inserted = newEntryId < 0;
+        for (int i = 0; i < slots; i++) {
+            if (!waiting[i]) {
+                continue;
+            }
+            if (!inserted && newEntryId < entryIds[i]) {
+                newEntryIds[n] = newEntryId;
+                newStudentIds[n++] = newStudentId;
+                inserted = true;
+            }
+            newEntryIds[n] = entryIds[i];
+            newStudentIds[n++] = studentIds[i];
+        }
+        if (!inserted) {
+            newEntryIds[n] = newEntryId;
+            newStudentIds[n++] = newStudentId;
+        }
+
+        entryIds = newEntryIds;
+        studentIds = newStudentIds;
+        waiting = newWaiting;
+        tree = new int[capacity + 1];
+        slots = n;
+        slotOf.clear();
+        for (int i = 0; i < n; i++) {
+            waiting[i] = true;
+            slotOf.put(studentIds[i], i);
+            tree[i + 1] = 1;
+        }
+        for (int x = 1; x <= capacity; x++) {
+            int parent = x + (x & -x);
+            if (parent <= capacity) {
+                tree[parent] += tree[x];
+            }
+        }
+    }
+
+    private void update(int slot, int delta) {
+        for (int x = slot + 1; x < tree.length; x += x & -x) {
+            tree[x] += delta;
+        }
+    }
+
+    // Number of waiting entries in slots [0, slot]
+    private int prefix(int slot) {
+        int sum = 0;
+        for (int x = slot + 1; x > 0; x -= x & -x) {
+            sum += tree[x];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,40 @@
+-- Schema as previously generated by Hibernate (ddl-auto)
+
+create sequence enrollments_seq start with 1 increment by 50;
+
+create table students (
+    id   bigint generated by default as identity,
+    name varchar(255),
+    age  integer,
+    primary key (id)
+);
+
+create table courses (
+    id          bigint generated by default as identity,
+    name        varchar(100) not null,
+    description varchar(500),
+    credit      integer,
+    primary key (id)
+);
+
+create table student_profile (
+    id                bigint generated by default as identity,
+    student_id        bigint,
+    phone             varchar(255),
+    address           varchar(255),
+    emergency_contact varchar(255),
+    primary key (id),
+    constraint uk_student_profile_student unique (student_id),
+    constraint fk_student_profile_student foreign key (student_id) references students (id)
+);
+
+create table enrollments (
+    id          bigint not null,
+    student_id  bigint not null,
+    course_id   bigint not null,
+    enrolled_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_enrollments_student_course unique (student_id, course_id),
+    constraint fk_enrollments_student foreign key (student_id) references students (id),
+    constraint fk_enrollments_course foreign key (course_id) references courses (id)
+);
@@ -0,0 +1,18 @@
+-- Maintained enrollment counters (kept current by the enrollment write paths,
+-- checked by the reconciliation job)
+
+alter table courses add column enrolled_count integer default 0 not null;
+alter table students add column course_count integer default 0 not null;
+alter table students add column total_credits integer default 0 not null;
+
+update courses c
+set enrolled_count = (select count(*) from enrollments e where e.course_id = c.id);
+
+update students s
+set course_count  = (select count(*) from enrollments e where e.student_id = s.id),
+    total_credits = (select coalesce(sum(c.credit), 0)
+                     from enrollments e join courses c on c.id = e.course_id
+                     where e.student_id = s.id);
+
+-- GET /courses/stats: most enrolled courses
+create index idx_courses_enrolled_count on courses (enrolled_count, id);
@@ -0,0 +1,12 @@
+-- Row versions for conditional GETs (ETag / Last-Modified).
+-- version: optimistic-lock counter, also bumped by the native counter updates.
+-- updated_at: set by the database on every insert and update of the row.
+
+alter table students add column version bigint default 0 not null;
+alter table students add column updated_at timestamp(6) default current_timestamp(6) on update current_timestamp(6) not null;
+
+alter table courses add column version bigint default 0 not null;
+alter table courses add column updated_at timestamp(6) default current_timestamp(6) on update current_timestamp(6) not null;
+
+alter table student_profile add column version bigint default 0 not null;
+alter table student_profile add column updated_at timestamp(6) default current_timestamp(6) on update current_timestamp(6) not null;
@@ -0,0 +1,30 @@
+-- Background import / export jobs (entity Job) with their last checkpoint
+
+create table jobs (
+    id                  bigint generated by default as identity,
+    type                varchar(32) not null,
+    status              varchar(16) not null,
+    format              varchar(16) not null,
+    export_table        varchar(16),
+    with_profiles       boolean default false not null,
+    input_file          varchar(500),
+    output_file         varchar(500),
+    total_items         bigint,
+    processed_items     bigint default 0 not null,
+    failed_items        bigint default 0 not null,
+    resume_after        bigint default 0 not null,
+    output_bytes        bigint default 0 not null,
+    report              clob,
+    error               varchar(1000),
+    attempts            integer default 0 not null,
+    created_at          timestamp(6) not null,
+    started_at          timestamp(6),
+    run_started_at      timestamp(6),
+    run_start_processed bigint default 0 not null,
+    updated_at          timestamp(6),
+    finished_at         timestamp(6),
+    primary key (id)
+);
+
+-- unfinished jobs to resume on startup
+create index idx_jobs_status_id on jobs (status, id);
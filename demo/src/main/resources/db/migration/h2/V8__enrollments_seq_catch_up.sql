@@ -0,0 +1,11 @@
+-- Enrollment ids come from the pooled enrollments_seq (allocation size 50).
+-- A database baselined at V1 never ran V1, so the sequence may be missing; in any case move
+-- it past the ids already in enrollments so the next block of 50 cannot collide.
+
+create sequence if not exists enrollments_seq start with 1 increment by 50;
+
+alter sequence enrollments_seq restart with (
+    select greatest(coalesce(max(id), 0) + 50,
+                    (select base_value from information_schema.sequences
+                     where sequence_schema = current_schema and sequence_name = 'ENROLLMENTS_SEQ'))
+    from enrollments);
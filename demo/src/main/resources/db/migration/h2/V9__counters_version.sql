@@ -0,0 +1,7 @@
+-- The native counter updates (enrolled_count, course_count, total_credits) bump counters_version
+-- instead of the optimistic-lock version, so a concurrent enrollment no longer fails an entity
+-- update with a conflict. ETags are built from version + counters_version.
+
+alter table students add column counters_version bigint default 0 not null;
+
+alter table courses add column counters_version bigint default 0 not null;
@@ -0,0 +1,45 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+create table enrollments_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into enrollments_seq values (1);
+
+create table students (
+    id   bigint not null auto_increment,
+    name varchar(255),
+    age  integer,
+    primary key (id)
+) engine = InnoDB;
+
+create table courses (
+    id          bigint not null auto_increment,
+    name        varchar(100) not null,
+    description varchar(500),
+    credit      integer,
+    primary key (id)
+) engine = InnoDB;
+
+create table student_profile (
+    id                bigint not null auto_increment,
+    student_id        bigint,
+    phone             varchar(255),
+    address           varchar(255),
+    emergency_contact varchar(255),
+    primary key (id),
+    constraint uk_student_profile_student unique (student_id),
+    constraint fk_student_profile_student foreign key (student_id) references students (id)
+) engine = InnoDB;
+
+create table enrollments (
+    id          bigint not null,
+    student_id  bigint not null,
+    course_id   bigint not null,
+    enrolled_at datetime(6) not null,
+    primary key (id),
+    constraint uk_enrollments_student_course unique (student_id, course_id),
+    constraint fk_enrollments_student foreign key (student_id) references students (id),
+    constraint fk_enrollments_course foreign key (course_id) references courses (id)
+) engine = InnoDB;
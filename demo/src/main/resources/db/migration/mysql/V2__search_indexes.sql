@@ -0,0 +1,10 @@
+-- Indexes for the StudentRepository / EnrollmentRepository query patterns
+
+-- case-insensitive name search compares against this instead of lower(name) per row
+alter table students add column name_lower varchar(255) generated always as (lower(name)) stored;
+
+create index idx_students_age_id on students (age, id);
+create index idx_students_name_lower on students (name_lower, id);
+
+-- the unique key leads with student_id; rosters and counts filter by course_id
+create index idx_enrollments_course_student on enrollments (course_id, student_id);
@@ -0,0 +1,2 @@
+-- Seat limit per course (null = unlimited); seats taken = enrolled_count (V3)
+alter table courses add column capacity integer;
@@ -0,0 +1,17 @@
+-- Per-course FIFO waitlist: join order = id order
+
+create table waitlist_entries (
+    id         bigint not null auto_increment,
+    course_id  bigint not null,
+    student_id bigint not null,
+    joined_at  datetime(6) not null,
+    primary key (id),
+    constraint uk_waitlist_course_student unique (course_id, student_id),
+    constraint fk_waitlist_course foreign key (course_id) references courses (id),
+    constraint fk_waitlist_student foreign key (student_id) references students (id)
+) engine = InnoDB;
+
+-- head of a course's queue / entries ahead of a given one
+create index idx_waitlist_course_id on waitlist_entries (course_id, id);
+-- FK lookups when a student is deleted
+create index idx_waitlist_student on waitlist_entries (student_id);
@@ -0,0 +1,15 @@
+-- Row versions for conditional GETs (ETag / Last-Modified).
+-- version: optimistic-lock counter, also bumped by the native counter updates.
+-- updated_at: set by the database on every insert and update of the row.
+
+alter table students
+    add column version bigint not null default 0,
+    add column updated_at datetime(6) not null default current_timestamp(6) on update current_timestamp(6);
+
+alter table courses
+    add column version bigint not null default 0,
+    add column updated_at datetime(6) not null default current_timestamp(6) on update current_timestamp(6);
+
+alter table student_profile
+    add column version bigint not null default 0,
+    add column updated_at datetime(6) not null default current_timestamp(6) on update current_timestamp(6);
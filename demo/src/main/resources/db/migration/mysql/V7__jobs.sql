@@ -0,0 +1,30 @@
+-- Background import / export jobs (entity Job) with their last checkpoint
+
+create table jobs (
+    id                  bigint not null auto_increment,
+    type                varchar(32) not null,
+    status              varchar(16) not null,
+    format              varchar(16) not null,
+    export_table        varchar(16),
+    with_profiles       bit not null default 0,
+    input_file          varchar(500),
+    output_file         varchar(500),
+    total_items         bigint,
+    processed_items     bigint not null default 0,
+    failed_items        bigint not null default 0,
+    resume_after        bigint not null default 0,
+    output_bytes        bigint not null default 0,
+    report              longtext,
+    error               varchar(1000),
+    attempts            integer not null default 0,
+    created_at          datetime(6) not null,
+    started_at          datetime(6),
+    run_started_at      datetime(6),
+    run_start_processed bigint not null default 0,
+    updated_at          datetime(6),
+    finished_at         datetime(6),
+    primary key (id)
+) engine = InnoDB;
+
+-- unfinished jobs to resume on startup
+create index idx_jobs_status_id on jobs (status, id);
@@ -0,0 +1,15 @@
+-- Enrollment ids come from the pooled enrollments_seq (allocation size 50).
+-- A database baselined at V1 never ran V1, so the table may be missing; in any case move
+-- next_val past the ids already in enrollments so the next block of 50 cannot collide.
+
+create table if not exists enrollments_seq (
+    next_val bigint
+) engine = InnoDB;
+
+set @next_val = greatest(
+        (select coalesce(max(id), 0) + 50 from enrollments),
+        coalesce((select max(next_val) from enrollments_seq), 1));
+
+delete from enrollments_seq;
+
+insert into enrollments_seq values (@next_val);
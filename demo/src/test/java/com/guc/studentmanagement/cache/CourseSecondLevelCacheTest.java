@@ -0,0 +1,127 @@
+package com.guc.studentmanagement.cache;
+
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.UpdateCourseRequest;
+import com.guc.studentmanagement.entity.Course;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.service.CourseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class CourseSecondLevelCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long courseId;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        courseId = courseService.addCourse(course("Algebra")).getId();
+    }
+
+    @Test
+    void catalogIsServedFromTheCacheUntilCoursesChange() {
+        courseService.getAllCourses();
+        assertThat(statements(() -> courseService.getAllCourses())).isZero();
+
+        CourseDto added = courseService.addCourse(course("Botany"));
+        assertThat(names(courseService.getAllCourses())).contains("Algebra", "Botany");
+
+        UpdateCourseRequest update = new UpdateCourseRequest();
+        update.setName("Biology");
+        update.setCredit(4);
+        courseService.updateCourse(added.getId(), update);
+        assertThat(names(courseService.getAllCourses())).contains("Biology").doesNotContain("Botany");
+
+        courseService.deleteCourse(added.getId());
+        assertThat(names(courseService.getAllCourses())).doesNotContain("Biology");
+    }
+
+    @Test
+    void courseLookupsHitTheEntityRegion() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        findCourse();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        assertThat(statements(this::findCourse)).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void nativeCounterUpdatesOnlyEvictTheirOwnTable() {
+        findCourse();
+
+        // students only: the Course region survives
+        inTransaction(() -> studentRepository.addCreditsForCourse(courseId, 0));
+        assertThat(statements(this::findCourse)).isZero();
+
+        // courses: the cached row is stale and must go
+        inTransaction(() -> courseRepository.addEnrolledCount(List.of(courseId), 1));
+        assertThat(findCourse().getEnrolledCount()).isEqualTo(1);
+        inTransaction(() -> courseRepository.addEnrolledCount(List.of(courseId), -1));
+    }
+
+    private Course findCourse() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> courseRepository.findById(courseId).orElseThrow());
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static long statements(Supplier<?> work) {
+        long before = SqlStatementRecorder.statementCount();
+        work.get();
+        return SqlStatementRecorder.statementCount() - before;
+    }
+
+    private static List<String> names(List<CourseDto> courses) {
+        return courses.stream().map(CourseDto::getName).toList();
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
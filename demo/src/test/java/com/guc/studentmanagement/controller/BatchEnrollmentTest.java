@@ -0,0 +1,174 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.BatchEnrollmentResult;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.EnrollmentItemRequest;
+import com.guc.studentmanagement.dto.EnrollmentItemResult;
+import com.guc.studentmanagement.dto.EnrollmentItemStatus;
+import com.guc.studentmanagement.repository.EnrollmentRepository;
+import com.guc.studentmanagement.service.CourseService;
+import com.guc.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch_enrollment;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false",
+        "app.enrollment.batch-chunk-size=2"
+})
+@AutoConfigureMockMvc
+class BatchEnrollmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private EnrollmentRepository enrollmentRepository;
+
+    @Test
+    void oneCourseReportsEachStudent() throws Exception {
+        long courseId = courseService.addCourse(course("Chemistry", 2)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        long cy = student("Cy");
+
+        mockMvc.perform(post("/courses/{courseId}/students:batch", courseId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":[%d,%d,999999,%d,%d]}".formatted(ada, ada, bob, cy)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested").value(5))
+                .andExpect(jsonPath("$.data.enrolled").value(2))
+                .andExpect(jsonPath("$.data.skipped").value(3))
+                .andExpect(jsonPath("$.data.results[*].studentId").value(
+                        contains((int) ada, (int) ada, 999999, (int) bob, (int) cy)))
+                .andExpect(jsonPath("$.data.results[*].status").value(contains(
+                        "ENROLLED", "DUPLICATE_IN_REQUEST", "STUDENT_NOT_FOUND", "ENROLLED", "COURSE_FULL")));
+
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(2);
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(1);
+        assertThat(studentService.getStudentById(cy).getCourseCount()).isZero();
+        assertThat(enrollmentRows(courseId)).isEqualTo(2);
+    }
+
+    @Test
+    void unknownCourseIs404() throws Exception {
+        mockMvc.perform(post("/courses/{courseId}/students:batch", 999_999L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":[1]}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pairsAcrossCoursesReportEachItem() throws Exception {
+        long math = courseService.addCourse(course("Calculus", 10)).getId();
+        long art = courseService.addCourse(course("Painting", 10)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        courseService.enrollStudentToCourse(ada, math);
+
+        mockMvc.perform(post("/courses/enrollments:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items":[
+                                  {"studentId":%d,"courseId":%d},
+                                  {"studentId":%d,"courseId":%d},
+                                  {"studentId":%d,"courseId":999999},
+                                  {"studentId":999999,"courseId":%d},
+                                  {"studentId":%d,"courseId":%d},
+                                  {"studentId":%d,"courseId":%d}
+                                ]}""".formatted(ada, math, ada, art, bob, math, ada, art, bob, math)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested").value(6))
+                .andExpect(jsonPath("$.data.enrolled").value(2))
+                .andExpect(jsonPath("$.data.skipped").value(4))
+                .andExpect(jsonPath("$.data.results[*].status").value(contains(
+                        "ALREADY_ENROLLED", "ENROLLED", "COURSE_NOT_FOUND", "STUDENT_NOT_FOUND",
+                        "DUPLICATE_IN_REQUEST", "ENROLLED")));
+
+        assertThat(courseService.getCourseById(math).getEnrolledCount()).isEqualTo(2);
+        assertThat(courseService.getCourseById(art).getEnrolledCount()).isEqualTo(1);
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(2);
+        assertThat(studentService.getStudentById(bob).getCourseCount()).isEqualTo(1);
+    }
+
+    @Test
+    void chunkHittingTheUniqueKeyIsRetried() {
+        long courseId = courseService.addCourse(course("Biology", 10)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        courseService.enrollStudentToCourse(ada, courseId);
+        // the first check misses Ada's row, as if it was inserted concurrently right after it
+        Answer<?> repository = mockingDetails(enrollmentRepository).getMockCreationSettings().getDefaultAnswer();
+        doReturn(List.of()).doAnswer(repository)
+                .when(enrollmentRepository).findPairs(anyCollection(), anyCollection());
+
+        BatchEnrollmentResult result = courseService.batchEnroll(List.of(
+                new EnrollmentItemRequest(ada, courseId), new EnrollmentItemRequest(bob, courseId)));
+
+        verify(enrollmentRepository, times(2)).findPairs(anyCollection(), anyCollection());
+        assertThat(result.getEnrolled()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(EnrollmentItemResult::getStudentId, EnrollmentItemResult::getStatus)
+                .containsExactly(
+                        tuple(ada, EnrollmentItemStatus.ALREADY_ENROLLED),
+                        tuple(bob, EnrollmentItemStatus.ENROLLED));
+        // the failed attempt's seats and counters were rolled back
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(2);
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(1);
+        assertThat(studentService.getStudentById(bob).getCourseCount()).isEqualTo(1);
+        assertThat(enrollmentRows(courseId)).isEqualTo(2);
+    }
+
+    private int enrollmentRows(long courseId) {
+        return jdbcTemplate.queryForObject("select count(*) from enrollments where course_id = ?",
+                Integer.class, courseId);
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name, int capacity) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        request.setCapacity(capacity);
+        return request;
+    }
+}
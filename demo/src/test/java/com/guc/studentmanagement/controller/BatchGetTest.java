@@ -0,0 +1,122 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.service.CourseService;
+import com.guc.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch_get;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false",
+        "app.batch-get.max-ids=5"
+})
+@AutoConfigureMockMvc
+class BatchGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    private long ada;
+    private long bob;
+    private long cy;
+
+    @BeforeEach
+    void setUp() {
+        ada = student("Ada");
+        bob = student("Bob");
+        cy = student("Cy");
+    }
+
+    @Test
+    void studentsComeBackInRequestOrderWithMissingIdsListed() throws Exception {
+        long unknown = cy + 1000;
+        mockMvc.perform(get("/students").param("ids", cy + "," + unknown + "," + ada + "," + cy))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested").value(3))
+                .andExpect(jsonPath("$.data.items[*].name").value(contains("Cy", "Ada")))
+                .andExpect(jsonPath("$.data.missingIds").value(contains((int) unknown)));
+    }
+
+    @Test
+    void cachedStudentsAreNotQueriedAgain() throws Exception {
+        String ids = ada + "," + bob;
+        mockMvc.perform(get("/students").param("ids", ids)).andExpect(status().isOk());
+
+        long before = SqlStatementRecorder.statementCount();
+        mockMvc.perform(get("/students").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[*].name").value(contains("Ada", "Bob")));
+        assertThat(SqlStatementRecorder.statementCount() - before).isZero();
+
+        // the entries are the ones GET /students/{id} reads
+        before = SqlStatementRecorder.statementCount();
+        mockMvc.perform(get("/students/" + bob)).andExpect(status().isOk());
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(1); // version stamp only
+    }
+
+    @Test
+    void coursesBatchGet() throws Exception {
+        long logic = courseService.addCourse(course("Logic")).getId();
+        long art = courseService.addCourse(course("Art")).getId();
+        long unknown = art + 1000;
+
+        mockMvc.perform(post("/courses:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + art + "," + unknown + "," + logic + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[*].name").value(contains("Art", "Logic")))
+                .andExpect(jsonPath("$.data.missingIds").value(contains((int) unknown)));
+    }
+
+    @Test
+    void emptyOrOversizedIdListsAreRejected() throws Exception {
+        mockMvc.perform(post("/courses:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+
+        mockMvc.perform(get("/students").param("ids", "1,2,3,4,5,6"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BATCH_TOO_LARGE"));
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        request.setCapacity(30);
+        return request;
+    }
+}
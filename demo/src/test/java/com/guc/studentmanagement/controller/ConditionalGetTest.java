@@ -0,0 +1,257 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.StudentProfileDto;
+import com.guc.studentmanagement.dto.UpdateStudentRequest;
+import com.guc.studentmanagement.entity.Course;
+import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import com.guc.studentmanagement.service.CourseService;
+import com.guc.studentmanagement.service.StudentProfileService;
+import com.guc.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional_get;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileService profileService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long studentId;
+    private long courseId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        CreateStudentRequest student = new CreateStudentRequest();
+        student.setName("Ada");
+        student.setAge(20);
+        studentId = studentService.addStudent(student).getId();
+
+        courseId = courseService.addCourse(course("Logic")).getId();
+    }
+
+    @Test
+    void unchangedStudentIsAnswered304FromTheVersionStampAlone() throws Exception {
+        String path = "/students/" + studentId;
+        MvcResult first = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        long before = SqlStatementRecorder.statementCount();
+        MvcResult notModified = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(notModified.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(1);
+
+        // a counter update (native SQL) is a new version too
+        courseService.enrollStudentToCourse(studentId, courseId);
+        String changed = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void catalogEtagChangesWithEveryCourseWrite() throws Exception {
+        String etag = catalogEtag(null, 200);
+        assertThat(catalogEtag(etag, 304)).isEqualTo(etag);
+
+        courseService.enrollStudentToCourse(studentId, courseId);
+        String afterEnroll = catalogEtag(etag, 200);
+
+        long added = courseService.addCourse(course("Rhetoric")).getId();
+        String afterAdd = catalogEtag(afterEnroll, 200);
+
+        // back to the same rows and versions: the same ETag
+        courseService.deleteCourse(added);
+        assertThat(catalogEtag(afterAdd, 200)).isEqualTo(afterEnroll);
+    }
+
+    @Test
+    void profileEtagFollowsTheStudentName() throws Exception {
+        profileService.createProfile(studentId, "647-888-1234", "123 Main St", null);
+        String path = "/students/" + studentId + "/profile";
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        UpdateStudentRequest rename = new UpdateStudentRequest();
+        rename.setName("Ada L.");
+        rename.setAge(20);
+        studentService.updateStudent(studentId, rename);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void counterUpdatesDoNotFailAConcurrentEntityUpdate() throws Exception {
+        // An update that loaded both rows before an enrollment committed, and writes after it
+        transactionTemplate.executeWithoutResult(status -> {
+            Student student = studentRepository.findById(studentId).orElseThrow();
+            Course course = courseRepository.findById(courseId).orElseThrow();
+            runInOtherThread(() -> courseService.enrollStudentToCourse(studentId, courseId));
+            student.setName("Ada L.");
+            course.setDescription("Propositional and first-order");
+        });
+
+        StudentDto student = studentService.getStudentById(studentId);
+        assertThat(student.getName()).isEqualTo("Ada L.");
+        assertThat(student.getCourseCount()).isEqualTo(1);
+        assertThat(courseRepository.findDtosByIdIn(List.of(courseId))).singleElement()
+                .satisfies(course -> {
+                    assertThat(course.getDescription()).isEqualTo("Propositional and first-order");
+                    assertThat(course.getEnrolledCount()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void oldCopyPutBackByARacingLoadIsNotServedUnderTheNewETag() throws Exception {
+        String path = "/students/" + studentId;
+        String oldEtag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // A cache miss loads the row, the rename commits and evicts, then the load's put lands
+        Cache students = cacheManager.getCache(CacheConfig.STUDENTS);
+        students.evict(studentId);
+        StudentDto loadedBeforeWrite = readStudent();
+        UpdateStudentRequest rename = new UpdateStudentRequest();
+        rename.setName("Ada L.");
+        rename.setAge(20);
+        studentService.updateStudent(studentId, rename);
+        students.put(studentId, loadedBeforeWrite);
+
+        MvcResult result = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, oldEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Ada L."))
+                .andReturn();
+        String newEtag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(oldEtag);
+        assertThat(students.get(studentId, StudentDto.class).getName()).isEqualTo("Ada L.");
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void oldProfileCopyIsNotServedUnderTheNewETag() throws Exception {
+        profileService.createProfile(studentId, "647-888-1234", "123 Main St", null);
+        String path = "/students/" + studentId + "/profile";
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+        Cache profiles = cacheManager.getCache(CacheConfig.PROFILES);
+        StudentProfileDto loadedBeforeWrite = profiles.get(studentId, StudentProfileDto.class);
+
+        profileService.updateProfile(studentId, "416-555-0000", "123 Main St", null);
+        profiles.put(studentId, loadedBeforeWrite);
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.phone").value("416-555-0000"));
+    }
+
+    @Test
+    void unknownStudentIsStill404() throws Exception {
+        mockMvc.perform(get("/students/999999").header(HttpHeaders.IF_NONE_MATCH, "\"999999-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    // What a cache-miss load reads: the current row, outside the cache
+    private StudentDto readStudent() {
+        return transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(studentId).orElseThrow();
+            StudentDto dto = new StudentDto(student.getId(), student.getName(), student.getAge(),
+                    student.getCourseCount(), student.getTotalCredits());
+            dto.setVersion(student.getVersion() + student.getCountersVersion());
+            dto.setUpdatedAt(student.getUpdatedAt());
+            return dto;
+        });
+    }
+
+    private static void runInOtherThread(Runnable action) {
+        Thread thread = new Thread(action);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String catalogEtag(String ifNoneMatch, int expectedStatus) throws Exception {
+        var request = get("/courses");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
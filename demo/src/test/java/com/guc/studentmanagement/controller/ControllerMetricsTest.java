@@ -0,0 +1,75 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.service.CourseService;
+import com.guc.studentmanagement.service.StudentService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:controller_metrics;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class ControllerMetricsTest {
+
+    private static final String METHOD = "CourseController.getStudentsByCourse";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void requestRecordsLatencyAndSqlStatementsUnderItsMethod() throws Exception {
+        CreateCourseRequest course = new CreateCourseRequest();
+        course.setName("Topology");
+        course.setCredit(3);
+        long courseId = courseService.addCourse(course).getId();
+        CreateStudentRequest student = new CreateStudentRequest();
+        student.setName("Ada");
+        student.setAge(20);
+        courseService.enrollStudentToCourse(studentService.addStudent(student).getId(), courseId);
+
+        mockMvc.perform(get("/courses/{courseId}/students", courseId)).andExpect(status().isOk());
+
+        Timer latency = registry.get("app.controller.latency")
+                .tags("method", METHOD, "outcome", "success").timer();
+        assertThat(latency.count()).isEqualTo(1);
+        assertThat(latency.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        // the listing is a single query (datasource-proxy counts it on the request thread)
+        DistributionSummary statements = registry.get("app.controller.sql.statements")
+                .tags("method", METHOD, "outcome", "success").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+
+        mockMvc.perform(get("/courses/{courseId}/students", 999_999L)).andExpect(status().isNotFound());
+
+        assertThat(registry.get("app.controller.latency")
+                .tags("method", METHOD, "outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(latency.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.service.ExportService;
+import com.guc.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:response_shape;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class ResponseShapeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : new String[]{"Ada", "Grace", "Alan"}) {
+            CreateStudentRequest student = new CreateStudentRequest();
+            student.setName(name);
+            student.setAge(20);
+            studentService.addStudent(student);
+        }
+    }
+
+    @Test
+    void successEnvelopeLeavesOutNullFields() throws Exception {
+        mockMvc.perform(get("/students/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.errorCode").doesNotExist())
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                // compact PageResponse instead of PageImpl
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andExpect(jsonPath("$.data.page").value(0))
+                .andExpect(jsonPath("$.data.size").value(2))
+                .andExpect(jsonPath("$.data.totalElements").value(greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.data.pageable").doesNotExist());
+    }
+
+    @Test
+    void allStudentsAreStreamedInsideTheEnvelope() throws Exception {
+        MvcResult started = mockMvc.perform(get("/students"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.data[0].id").exists())
+                .andExpect(jsonPath("$.data[0].courseCount").exists())
+                .andExpect(jsonPath("$.message").doesNotExist());
+    }
+
+    @Test
+    void streamedStudentsTakeOneQuery() {
+        // no per-row lookup of the (eager, non-owning) profile
+        long before = SqlStatementRecorder.statementCount();
+        exportService.writeStudentsResponse(new ByteArrayOutputStream());
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(1);
+
+        before = SqlStatementRecorder.statementCount();
+        exportService.exportStudents(ExportFormat.CSV, new ByteArrayOutputStream());
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    void errorsStillCarryTheirFields() throws Exception {
+        mockMvc.perform(get("/students/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errorCode").value("STUDENT_NOT_FOUND"))
+                .andExpect(jsonPath("$.path").value("/students/999999"));
+    }
+}
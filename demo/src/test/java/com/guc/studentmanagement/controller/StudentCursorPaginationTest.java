@@ -0,0 +1,105 @@
+package com.guc.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.CursorPage;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:student_cursor;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class StudentCursorPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void cursorWalksEveryMatchOnceWithoutCounting() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            long id = student("Kepler " + i, 20 + i);
+            if (20 + i <= 24) {
+                expected.add(id);
+            }
+        }
+        student("Newton", 22);
+
+        List<Long> seen = new ArrayList<>();
+        String after = "";
+        int pages = 0;
+        JsonNode page;
+        do {
+            page = data(mockMvc.perform(get("/students/search/cursor")
+                            .param("keyword", "kepler")
+                            .param("minAge", "20")
+                            .param("maxAge", "24")
+                            .param("size", "2")
+                            .param("after", after))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(student -> seen.add(student.get("id").asLong()));
+            after = page.get("nextCursor").asText();
+            pages++;
+        } while (page.get("hasNext").asBoolean());
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+        assertThat(page.get("nextCursor").isNull()).isTrue();
+
+        // a page is one seek query; withTotal adds the count
+        long before = SqlStatementRecorder.statementCount();
+        CursorPage<StudentDto> first = studentService.getStudentsAfter(null, 3, false);
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(1);
+        before = SqlStatementRecorder.statementCount();
+        CursorPage<StudentDto> second = studentService.getStudentsAfter(first.getNextCursor(), 3, true);
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(2);
+        assertThat(second.getTotalElements()).isEqualTo(8);
+        assertThat(second.getContent().get(0).getId()).isGreaterThan(first.getContent().get(2).getId());
+    }
+
+    @Test
+    void malformedCursorIs400() throws Exception {
+        mockMvc.perform(get("/students/page/cursor").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+    }
+
+    private JsonNode data(String body) throws Exception {
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private long student(String name, int age) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(age);
+        return studentService.addStudent(request).getId();
+    }
+}
@@ -0,0 +1,98 @@
+package com.guc.studentmanagement.controller;
+
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import com.guc.studentmanagement.service.CourseService;
+import com.guc.studentmanagement.service.StudentProfileService;
+import com.guc.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:student_dashboard;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class StudentDashboardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentProfileService profileService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void dashboardCombinesStudentProfileAndEnrollments() throws Exception {
+        long studentId = student("Ada");
+        profileService.createProfile(studentId, "647-888-1234", "123 Main St", null);
+        long logic = courseService.addCourse(course("Logic")).getId();
+        long art = courseService.addCourse(course("Art")).getId();
+        courseService.enrollStudentToCourse(studentId, logic);
+        courseService.enrollStudentToCourse(studentId, art);
+        String path = "/students/" + studentId + "/dashboard";
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.student.name").value("Ada"))
+                .andExpect(jsonPath("$.data.student.courseCount").value(2))
+                .andExpect(jsonPath("$.data.profile.phone").value("647-888-1234"))
+                .andExpect(jsonPath("$.data.enrollments.length()").value(2))
+                .andExpect(jsonPath("$.data.enrollments[0].courseName").value("Logic"))
+                .andExpect(jsonPath("$.data.enrollments[1].courseName").value("Art"));
+
+        // student and profile now come from the caches: only the enrollment query runs
+        long before = SqlStatementRecorder.statementCount();
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    void studentWithoutProfileOrEnrollments() throws Exception {
+        long studentId = student("Grace");
+
+        mockMvc.perform(get("/students/" + studentId + "/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.student.name").value("Grace"))
+                .andExpect(jsonPath("$.data.profile").doesNotExist())
+                .andExpect(jsonPath("$.data.enrollments.length()").value(0));
+    }
+
+    @Test
+    void unknownStudentIs404() throws Exception {
+        mockMvc.perform(get("/students/999999/dashboard"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("STUDENT_NOT_FOUND"));
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package com.guc.studentmanagement.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTest {
+
+    @Test
+    void onlyMaxConcurrentConnectionsAreHeld() throws SQLException {
+        DataSource pool = pool();
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 2, Duration.ofMillis(50));
+
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+
+        // the third caller times out in the bulkhead without ever reaching the pool
+        long start = System.nanoTime();
+        assertThatThrownBy(bulkhead::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("bulkhead full");
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        verify(pool, times(2)).getConnection();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+
+        first.close();
+        second.close();
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void closeReturnsExactlyOnePermit() throws SQLException {
+        DataSource pool = pool();
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection connection = bulkhead.getConnection();
+        Connection target = pool.getConnection();
+        connection.close();
+        connection.close();
+
+        verify(target, times(2)).close();
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+        bulkhead.getConnection();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+    }
+
+    @Test
+    void waitingCallerGetsThePermitOfAClosedConnection() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool(), 1, Duration.ofSeconds(10));
+        Connection held = bulkhead.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (bulkhead.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(waiter).isNotDone();
+
+        held.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(bulkhead.getQueueLength()).isZero();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+    }
+
+    @Test
+    void failedCheckoutReturnsItsPermit() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(bulkhead::getConnection).hasMessage("pool exhausted");
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+
+    // Always hands out the same stubbed connection
+    private static DataSource pool() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        return pool;
+    }
+}
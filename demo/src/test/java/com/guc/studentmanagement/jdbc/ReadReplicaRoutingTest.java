@@ -0,0 +1,87 @@
+package com.guc.studentmanagement.jdbc;
+
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.repository.CourseRepository;
+import com.guc.studentmanagement.service.CourseService;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A second in-memory H2 stands in for the replica. Nothing replicates between the two, so
+// which database answered shows which pool a transaction was routed to.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rr_primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:rr_replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void migrateReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").load().migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.update("insert into courses (name, credit) values ('Only on the replica', 3)");
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        CourseDto created = courseService.addCourse(course("Only on the primary"));
+
+        List<String> listed = courseService.getAllCourses().stream().map(CourseDto::getName).toList();
+        assertThat(listed).containsExactly("Only on the replica");
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Boolean onPrimary = readWrite.execute(status -> courseRepository.existsById(created.getId()));
+        assertThat(onPrimary).isTrue();
+    }
+
+    @Test
+    void readOnlyTransactionsFlushManually() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        FlushMode mode = readOnly.execute(status -> entityManager.unwrap(Session.class).getHibernateFlushMode());
+        assertThat(mode).isEqualTo(FlushMode.MANUAL);
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
@@ -0,0 +1,328 @@
+package com.guc.studentmanagement.repository;
+
+import com.guc.studentmanagement.entity.JobStatus;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every repository finder, captures the SQL Hibernate actually sent (with its bound
+// parameters) and replays it under EXPLAIN; fails if any table is read with a full scan.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:queryplan;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int STUDENTS = 2000;
+    private static final int COURSES = 40;
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("id"));
+
+    // "%keyword%" cannot seek any B-tree index; name-only search is served by the search index
+    // in the service layer, these finders are its SQL fallback.
+    // findIdNames and findCatalog read every course by design (suggestion index build, cached
+    // catalog); the course prefix fallback only runs until that index is loaded and courses is
+    // a small table.
+    // The stats queries aggregate the (small) courses table's counter column instead of enrollments,
+    // the catalog stamp its version column (query-cached like the catalog itself).
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "findByNameLowerContaining",
+            "countByNameLowerContaining",
+            "findIdNames",
+            "findCatalog",
+            "findByNameStartingWithIgnoreCase",
+            "findEnrollmentTotals",
+            "findMostEnrolled",
+            "findCatalogStamp"
+    );
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentProfileRepository profileRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<CapturedQuery> captured = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    void seedAndCapture() {
+        List<Object[]> courses = new ArrayList<>();
+        for (int c = 1; c <= COURSES; c++) {
+            courses.add(new Object[]{"Course " + c, 3});
+        }
+        jdbcTemplate.batchUpdate("insert into courses (name, credit) values (?, ?)", courses);
+
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> enrollments = new ArrayList<>();
+        for (int i = 1; i <= STUDENTS; i++) {
+            students.add(new Object[]{"Student " + i, 17 + i % 40});
+            enrollments.add(new Object[]{i, i, 1 + i % COURSES});
+        }
+        jdbcTemplate.batchUpdate("insert into students (name, age) values (?, ?)", students);
+        jdbcTemplate.batchUpdate(
+                "insert into enrollments (id, student_id, course_id, enrolled_at) values (?, ?, ?, current_timestamp)",
+                enrollments);
+        List<Object[]> waitlist = new ArrayList<>();
+        for (int i = 1; i <= STUDENTS; i += 2) {
+            waitlist.add(new Object[]{1 + (i + 1) % COURSES, i});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into waitlist_entries (course_id, student_id, joined_at) values (?, ?, current_timestamp)",
+                waitlist);
+        jdbcTemplate.execute("analyze");
+
+        proxyDataSource(dataSource).addListener(new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                for (QueryInfo queryInfo : queryInfoList) {
+                    List<ParameterSetOperation> params = queryInfo.getParametersList().isEmpty()
+                            ? List.of()
+                            : queryInfo.getParametersList().get(0);
+                    captured.add(new CapturedQuery(queryInfo.getQuery(), params));
+                }
+            }
+        });
+    }
+
+    static Stream<Arguments> finders() {
+        return Stream.of(
+                finder("findByNameLowerContaining", t -> t.studentRepository.findByNameLowerContaining("nt 1", PAGE)),
+                finder("findByAgeBetween", t -> t.studentRepository.findByAgeBetween(20, 22, PAGE)),
+                finder("findByNameLowerContainingAndAgeBetween",
+                        t -> t.studentRepository.findByNameLowerContainingAndAgeBetween("nt 1", 20, 22, PAGE)),
+                finder("findByIdGreaterThan", t -> t.studentRepository.findByIdGreaterThan(1500L, PAGE)),
+                finder("findByNameLowerContainingAndIdGreaterThan",
+                        t -> t.studentRepository.findByNameLowerContainingAndIdGreaterThan("nt 1", 1500L, PAGE)),
+                finder("findByAgeBetweenAndIdGreaterThan",
+                        t -> t.studentRepository.findByAgeBetweenAndIdGreaterThan(20, 22, 1500L, PAGE)),
+                finder("findByNameLowerContainingAndAgeBetweenAndIdGreaterThan",
+                        t -> t.studentRepository.findByNameLowerContainingAndAgeBetweenAndIdGreaterThan(
+                                "nt 1", 20, 22, 1500L, PAGE)),
+                finder("countByNameLowerContaining", t -> t.studentRepository.countByNameLowerContaining("nt 1")),
+                finder("countByAgeBetween", t -> t.studentRepository.countByAgeBetween(20, 22)),
+                finder("countByNameLowerContainingAndAgeBetween",
+                        t -> t.studentRepository.countByNameLowerContainingAndAgeBetween("nt 1", 20, 22)),
+                finder("findNameRowsAfter", t -> t.studentRepository.findNameRowsAfter(1500L, PageRequest.of(0, 100))),
+                finder("studentFindDtosAfter", t -> t.studentRepository.findDtosAfter(1500L, PageRequest.of(0, 100))),
+                finder("courseFindDtosAfter", t -> t.courseRepository.findDtosAfter(10L, PageRequest.of(0, 10))),
+                finder("findInfoDtosAfter", t -> t.enrollmentRepository.findInfoDtosAfter(1500L, PageRequest.of(0, 100))),
+                finder("findByStatusInOrderByIdAsc",
+                        t -> t.jobRepository.findByStatusInOrderByIdAsc(List.of(JobStatus.QUEUED, JobStatus.RUNNING))),
+                finder("findDtosByIdIn", t -> t.studentRepository.findDtosByIdIn(List.of(1L, 2L, 3L))),
+                finder("courseFindDtosByIdIn", t -> t.courseRepository.findDtosByIdIn(List.of(1L, 2L, 3L))),
+                finder("findByNameLowerStartingWith",
+                        t -> t.studentRepository.findByNameLowerStartingWith("student 1", PageRequest.of(0, 10, Sort.by("nameLower")))),
+                finder("studentFindExistingIds", t -> t.studentRepository.findExistingIds(List.of(1L, 2L, 3L))),
+                finder("courseFindExistingIds", t -> t.courseRepository.findExistingIds(List.of(1L, 2L, 3L))),
+                finder("findIdNames", t -> t.courseRepository.findIdNames()),
+                finder("findCatalog", t -> {
+                    // query cache: only a miss reaches the database
+                    t.entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+                    t.courseRepository.findCatalog();
+                }),
+                finder("findByNameStartingWithIgnoreCase",
+                        t -> t.courseRepository.findByNameStartingWithIgnoreCase("cou", PageRequest.of(0, 10, Sort.by("name")))),
+                finder("countPerCourse", t -> t.enrollmentRepository.countPerCourse()),
+                finder("countPerStudent", t -> t.enrollmentRepository.countPerStudent()),
+                finder("findByStudentId", t -> t.enrollmentRepository.findByStudentId(7L)),
+                finder("findByCourseId", t -> t.enrollmentRepository.findByCourseId(7L)),
+                finder("existsByStudentIdAndCourseId", t -> t.enrollmentRepository.existsByStudentIdAndCourseId(7L, 8L)),
+                finder("findCourseDtosByStudentId", t -> t.enrollmentRepository.findCourseDtosByStudentId(7L)),
+                finder("findStudentDtosByCourseId", t -> t.enrollmentRepository.findStudentDtosByCourseId(7L)),
+                finder("findInfoDtosByStudentId", t -> t.enrollmentRepository.findInfoDtosByStudentId(7L)),
+                finder("findPairs", t -> t.enrollmentRepository.findPairs(List.of(7L, 8L), List.of(8L, 9L))),
+                finder("profileFindByStudentId", t -> t.profileRepository.findByStudentId(7L)),
+                finder("studentFindVersionStamp", t -> t.studentRepository.findVersionStamp(7L)),
+                finder("profileFindVersionStamp", t -> t.profileRepository.findVersionStamp(7L)),
+                finder("findCatalogStamp", t -> {
+                    t.entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+                    t.courseRepository.findCatalogStamp();
+                }),
+                finder("findEnrollmentTotals", t -> t.courseRepository.findEnrollmentTotals()),
+                finder("findMostEnrolled", t -> t.courseRepository.findMostEnrolled(PageRequest.of(0, 10))),
+                finder("findEnrolledCountsAfter",
+                        t -> t.courseRepository.findEnrolledCountsAfter(10L, PageRequest.of(0, 10))),
+                finder("findEnrollmentCountsAfter",
+                        t -> t.studentRepository.findEnrollmentCountsAfter(1500L, PageRequest.of(0, 100))),
+                finder("findStudentIdsByCourseId", t -> t.enrollmentRepository.findStudentIdsByCourseId(7L)),
+                finder("findEnrolledStudentIds",
+                        t -> t.enrollmentRepository.findEnrolledStudentIds(7L, List.of(7L, 8L))),
+                finder("waitlistFindEntryId", t -> t.waitlistRepository.findEntryId(7L, 8L)),
+                finder("findHeadForUpdate", t -> t.inTransaction(
+                        () -> t.waitlistRepository.findHeadForUpdate(7L, PageRequest.of(0, 10)))),
+                finder("countAhead", t -> t.waitlistRepository.countAhead(7L, 1000L)),
+                finder("countByCourse", t -> t.waitlistRepository.countByCourse(7L)),
+                finder("waitlistFindEntriesByStudentId", t -> t.waitlistRepository.findEntriesByStudentId(7L)),
+                finder("waitlistFindMaxEntryId", t -> t.waitlistRepository.findMaxEntryId(3L)),
+                finder("waitlistFindRowsAfter", t -> t.waitlistRepository.findRowsAfter(10L, PageRequest.of(0, 100))),
+                finder("deleteEntry", t -> t.inTransaction(() -> t.waitlistRepository.deleteEntry(7L, 8L))),
+                finder("deleteByStudent", t -> t.inTransaction(() -> t.waitlistRepository.deleteByStudent(1999L))),
+                finder("waitlistDeleteByCourse", t -> t.inTransaction(() -> t.waitlistRepository.deleteByCourse(99999L))),
+                // withdrawal, against a course that does not exist (nothing changes)
+                finder("deleteByCourseIdAndStudentIds", t -> t.inTransaction(
+                        () -> t.enrollmentRepository.deleteByCourseIdAndStudentIds(99999L, List.of(7L, 8L)))),
+                finder("deleteByCourseId", t -> t.inTransaction(() -> t.enrollmentRepository.deleteByCourseId(99999L))),
+                finder("removeCourseFromCounts", t -> t.inTransaction(
+                        () -> t.studentRepository.removeCourseFromCounts(99999L, List.of(7L, 8L)))),
+                finder("removeCourseFromAllCounts",
+                        t -> t.inTransaction(() -> t.studentRepository.removeCourseFromAllCounts(99999L))),
+                // counter updates (net zero, so the seeded counters stay as they are)
+                finder("takeSeats", t -> t.inTransaction(() -> {
+                    t.courseRepository.takeSeats(7L, 1);
+                    t.courseRepository.addEnrolledCount(List.of(7L), -1);
+                })),
+                finder("lockFreeSeats", t -> t.inTransaction(() -> t.courseRepository.lockFreeSeats(7L))),
+                finder("addEnrolledCount", t -> t.inTransaction(() -> {
+                    t.courseRepository.addEnrolledCount(List.of(7L, 8L), 1);
+                    t.courseRepository.addEnrolledCount(List.of(7L, 8L), -1);
+                })),
+                finder("addEnrollmentCounts", t -> t.inTransaction(() -> {
+                    t.studentRepository.addEnrollmentCounts(List.of(7L, 8L), List.of(7L, 8L), 1);
+                    t.studentRepository.addEnrollmentCounts(List.of(7L, 8L), List.of(7L, 8L), -1);
+                })),
+                finder("addCreditsForCourse",
+                        t -> t.inTransaction(() -> t.studentRepository.addCreditsForCourse(7L, 0))),
+                finder("resetEnrolledCount",
+                        t -> t.inTransaction(() -> t.courseRepository.resetEnrolledCount(7L, -1, 0))),
+                finder("resetEnrollmentCounts",
+                        t -> t.inTransaction(() -> t.studentRepository.resetEnrollmentCounts(7L, -1, -1, 0, 0)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderDoesNotFullScan(String name, Finder finder) throws SQLException {
+        captured.clear();
+        finder.run(this);
+        assertThat(captured).as("SQL captured for %s", name).isNotEmpty();
+
+        for (CapturedQuery query : captured) {
+            String plan = explain(query);
+            if (!FULL_SCAN_ALLOWED.contains(name)) {
+                assertThat(isFullScan(plan))
+                        .as("%s falls back to a full scan:%n%s%n%s", name, query.sql(), plan)
+                        .isFalse();
+            }
+        }
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private String explain(CapturedQuery query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + query.sql())) {
+            for (ParameterSetOperation operation : query.params()) {
+                Object[] args = operation.getArgs();
+                int index = (Integer) args[0];
+                if (operation.getMethod().getName().equals("setNull")) {
+                    statement.setNull(index, (Integer) args[1]);
+                } else {
+                    statement.setObject(index, args[1]);
+                }
+            }
+            boolean mysql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    // MySQL: one row per table, "type" = ALL means a full table scan
+                    plan.append(mysql ? "type=" + rs.getString("type") + " table=" + rs.getString("table")
+                            : rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static boolean isFullScan(String plan) {
+        return plan.contains(".tableScan") || plan.contains("type=ALL");
+    }
+
+    private static DataSource unwrap(DataSource dataSource) {
+        if (dataSource instanceof DelegatingDataSource delegating) {
+            return delegating.getTargetDataSource();
+        }
+        if (dataSource instanceof ProxyDataSource proxy) {
+            return proxy.getDataSource();
+        }
+        return null;
+    }
+
+    private static ProxyDataSource proxyDataSource(DataSource dataSource) {
+        for (DataSource current = dataSource; current != null; current = unwrap(current)) {
+            if (current instanceof ProxyDataSource proxy) {
+                return proxy;
+            }
+        }
+        throw new IllegalStateException("DataSource is not wrapped by datasource-proxy");
+    }
+
+    private static Arguments finder(String name, Finder finder) {
+        return Arguments.of(name, finder);
+    }
+
+    @FunctionalInterface
+    interface Finder {
+        void run(QueryPlanTest test);
+    }
+
+    private record CapturedQuery(String sql, List<ParameterSetOperation> params) {
+    }
+}
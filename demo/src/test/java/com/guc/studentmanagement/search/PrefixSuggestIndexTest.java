@@ -0,0 +1,99 @@
+package com.guc.studentmanagement.search;
+
+import com.guc.studentmanagement.dto.SuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixSuggestIndexTest {
+
+    private PrefixSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixSuggestIndex(3);
+        index.swap(index.prepare(
+                Map.of(1L, "Math 101", 2L, "Marketing", 3L, "Materials", 4L, "Music", 5L, "Mathematics"),
+                Map.of(1L, 40L, 2L, 10L, 3L, 25L, 5L, 40L)));
+    }
+
+    @Test
+    void ranksByPopularityThenName() {
+        assertThat(ids(index.suggest("ma", 10))).containsExactly(1L, 5L, 3L);
+        assertThat(ids(index.suggest("mat", 2))).containsExactly(1L, 5L);
+        assertThat(index.suggest("phy", 10)).isEmpty();
+    }
+
+    @Test
+    void popularityChangesReRankAncestors() {
+        index.addPopularity(Map.of(2L, 100L));
+        assertThat(ids(index.suggest("m", 10))).containsExactly(2L, 1L, 5L);
+
+        index.addPopularity(Map.of(2L, -100L));
+        assertThat(ids(index.suggest("m", 10))).containsExactly(1L, 5L, 3L);
+    }
+
+    @Test
+    void renameAndRemoveUpdateTheTrie() {
+        index.put(1L, "Physics");
+        assertThat(ids(index.suggest("phy", 10))).containsExactly(1L);
+        assertThat(index.suggest("phy", 10).get(0).getPopularity()).isEqualTo(40L);
+        assertThat(ids(index.suggest("mat", 10))).containsExactly(5L, 3L);
+
+        index.remove(5L);
+        assertThat(ids(index.suggest("mat", 10))).containsExactly(3L);
+        assertThat(index.suggest("mathe", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void splitAndMergedEdgesMatchABruteForceScan() {
+        PrefixSuggestIndex index = new PrefixSuggestIndex(3);
+        String[] names = {"a", "ab", "abc", "abd", "b", "ba", "bab", "abcde", "abx", "c"};
+        Random random = new Random(42);
+        Map<Long, String> live = new HashMap<>();
+        Map<Long, Long> popularity = new HashMap<>();
+        for (int step = 0; step < 2_000; step++) {
+            long id = random.nextInt(12);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    String name = names[random.nextInt(names.length)];
+                    index.put(id, name);
+                    live.put(id, name);
+                    popularity.putIfAbsent(id, 0L);
+                }
+                case 1 -> {
+                    index.remove(id);
+                    live.remove(id);
+                    popularity.remove(id);
+                }
+                default -> {
+                    long delta = random.nextInt(7) - 3;
+                    index.addPopularity(Map.of(id, delta));
+                    popularity.computeIfPresent(id, (key, old) -> Math.max(0, old + delta));
+                }
+            }
+            String name = names[random.nextInt(names.length)];
+            String prefix = name.substring(0, 1 + random.nextInt(name.length()));
+            List<Long> expected = live.keySet().stream()
+                    .filter(key -> live.get(key).startsWith(prefix))
+                    .sorted(Comparator.comparing((Long key) -> -popularity.get(key))
+                            .thenComparing(live::get)
+                            .thenComparing(key -> key))
+                    .limit(3)
+                    .toList();
+            assertThat(ids(index.suggest(prefix, 3))).as("step %d, prefix %s", step, prefix).isEqualTo(expected);
+        }
+    }
+
+    private static List<Long> ids(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getId).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.guc.studentmanagement.search;
+
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentNameIndexTest {
+
+    private StudentNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Empty repository: rebuild() just marks the index warm
+        StudentRepository emptyRepository = (StudentRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{StudentRepository.class},
+                (proxy, method, args) -> method.getName().equals("findNameRowsAfter") ? List.of() : null);
+        index = new StudentNameIndex(emptyRepository, Runnable::run, true, 100);
+        index.rebuild();
+
+        index.put(3L, "Grace Hopper", 30);
+        index.put(1L, "Alan Turing", 41);
+        index.put(2L, "grace kelly", 52);
+        index.put(4L, "Ada", 36);
+    }
+
+    @Test
+    void containsSearchIsCaseInsensitiveAndIdOrdered() {
+        assertThat(index.canSearch("gra")).isTrue();
+        assertThat(index.search("grace", null, null)).containsExactly(2L, 3L);
+        assertThat(index.search("ace h", null, null)).containsExactly(3L);
+        assertThat(index.search("xyz", null, null)).isEmpty();
+    }
+
+    @Test
+    void gramsMatchingOutOfOrderAreVerifiedAgainstTheName() {
+        // "ing" and "tur" both occur in "alan turing", but "ingtur" does not
+        assertThat(index.search("ingtur", null, null)).isEmpty();
+    }
+
+    @Test
+    void ageRangeFiltersHits() {
+        assertThat(index.search("grace", 40, 60)).containsExactly(2L);
+    }
+
+    @Test
+    void updatesAndDeletesAreReflected() {
+        index.put(1L, "Alan Grace", 41);
+        assertThat(index.search("grace", null, null)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("turing", null, null)).isEmpty();
+
+        index.remove(3L);
+        assertThat(index.search("grace", null, null)).containsExactly(1L, 2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shortKeywordsFallBackToSql() {
+        assertThat(index.canSearch("ad")).isFalse();
+    }
+}
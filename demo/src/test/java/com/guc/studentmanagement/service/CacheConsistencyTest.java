@@ -0,0 +1,147 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.UpdateStudentRequest;
+import com.guc.studentmanagement.exception.StudentNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Each case reads (filling the caches), writes through the service, then reads again
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache_consistency;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class CacheConsistencyTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentProfileService profileService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void updateStudentIsSeenByTheNextReads() {
+        long ada = student("Ada");
+        profileService.createProfile(ada, "555-0100", "1 Main St", "Bob");
+        assertThat(studentService.getStudentById(ada).getName()).isEqualTo("Ada");
+        assertThat(profileService.getProfile(ada).getStudentName()).isEqualTo("Ada");
+        assertCached(CacheConfig.STUDENTS, ada);
+        assertCached(CacheConfig.PROFILES, ada);
+
+        UpdateStudentRequest request = new UpdateStudentRequest();
+        request.setName("Ada Lovelace");
+        request.setAge(36);
+        studentService.updateStudent(ada, request);
+
+        assertThat(studentService.getStudentById(ada).getName()).isEqualTo("Ada Lovelace");
+        assertThat(studentService.getStudentById(ada).getAge()).isEqualTo(36);
+        assertThat(profileService.getProfile(ada).getStudentName()).isEqualTo("Ada Lovelace");
+    }
+
+    @Test
+    void deleteStudentIsSeenByTheNextReads() {
+        long courseId = courseService.addCourse(course("Astronomy")).getId();
+        long ada = student("Ada");
+        profileService.createProfile(ada, "555-0101", "2 Main St", "Cy");
+        courseService.enrollStudentToCourse(ada, courseId);
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(1);
+        assertThat(profileService.getProfile(ada).getPhone()).isEqualTo("555-0101");
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(1);
+        assertCached(CacheConfig.COURSES, courseId);
+
+        studentService.deleteStudent(ada);
+
+        assertThatThrownBy(() -> studentService.getStudentById(ada))
+                .isInstanceOf(StudentNotFoundException.class);
+        assertThat(profileService.findProfile(ada)).isEmpty();
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isZero();
+    }
+
+    @Test
+    void profileWritesAreSeenByTheNextReads() {
+        long ada = student("Ada");
+        profileService.createProfile(ada, "555-0102", "3 Main St", "Dee");
+        assertThat(profileService.getProfile(ada).getPhone()).isEqualTo("555-0102");
+        assertCached(CacheConfig.PROFILES, ada);
+
+        profileService.updateProfile(ada, "555-0199", "4 High St", "Eve");
+
+        assertThat(profileService.getProfile(ada))
+                .extracting("phone", "address", "emergencyContact")
+                .containsExactly("555-0199", "4 High St", "Eve");
+
+        profileService.deleteProfile(ada);
+
+        assertThat(profileService.findProfile(ada)).isEmpty();
+    }
+
+    @Test
+    void enrollmentIsSeenByTheNextReads() {
+        long courseId = courseService.addCourse(course("Botany")).getId();
+        long ada = student("Ada");
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isZero();
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isZero();
+        assertCached(CacheConfig.STUDENTS, ada);
+        assertCached(CacheConfig.COURSES, courseId);
+
+        courseService.enrollStudentToCourse(ada, courseId);
+
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(1);
+        assertThat(studentService.getStudentById(ada).getTotalCredits()).isEqualTo(3);
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void withdrawalIsSeenByTheNextReads() {
+        long courseId = courseService.addCourse(course("Zoology")).getId();
+        long ada = student("Ada");
+        courseService.enrollStudentToCourse(ada, courseId);
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(1);
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(1);
+        assertCached(CacheConfig.STUDENTS, ada);
+        assertCached(CacheConfig.COURSES, courseId);
+
+        courseService.withdrawStudentsFromCourse(courseId, List.of(ada));
+
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isZero();
+        assertThat(studentService.getStudentById(ada).getTotalCredits()).isZero();
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isZero();
+    }
+
+    // The first read really went to the cache, so the second one tests its invalidation
+    private void assertCached(String cacheName, long key) {
+        assertThat(cacheManager.getCache(cacheName).get(key)).isNotNull();
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
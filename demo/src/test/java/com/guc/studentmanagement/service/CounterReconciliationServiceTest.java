@@ -0,0 +1,93 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.config.CacheConfig;
+import com.guc.studentmanagement.dto.CounterDriftDto;
+import com.guc.studentmanagement.dto.CounterReconciliationReport;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:counter_reconciliation;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class CounterReconciliationServiceTest {
+
+    @Autowired
+    private CounterReconciliationService reconciliationService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsDriftAndFixesItOnlyWhenAsked() {
+        CreateCourseRequest course = new CreateCourseRequest();
+        course.setName("Geology");
+        course.setCredit(4);
+        long courseId = courseService.addCourse(course).getId();
+        CreateStudentRequest student = new CreateStudentRequest();
+        student.setName("Ada");
+        student.setAge(22);
+        long studentId = studentService.addStudent(student).getId();
+        courseService.enrollStudentToCourse(studentId, courseId);
+
+        // counters changed behind the application's back, with both rows cached
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(1);
+        assertThat(studentService.getStudentById(studentId).getCourseCount()).isEqualTo(1);
+        jdbcTemplate.update("update courses set enrolled_count = 5 where id = ?", courseId);
+        jdbcTemplate.update("update students set course_count = 0, total_credits = 9 where id = ?", studentId);
+
+        CounterReconciliationReport report = reconciliationService.reconcile(false);
+        assertThat(report.getCoursesDrifted()).isEqualTo(1);
+        assertThat(report.getStudentsDrifted()).isEqualTo(1);
+        assertThat(report.getCorrected()).isZero();
+        assertThat(report.getDrifts())
+                .extracting(CounterDriftDto::getEntity, CounterDriftDto::getId, CounterDriftDto::getStoredCount,
+                        CounterDriftDto::getActualCount, CounterDriftDto::getStoredCredits,
+                        CounterDriftDto::getActualCredits, CounterDriftDto::isCorrected)
+                .containsExactly(
+                        tuple("course", courseId, 5, 1L, null, null, false),
+                        tuple("student", studentId, 0, 1L, 9, 4L, false));
+        assertThat(enrolledCount(courseId)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("select course_count, total_credits from students where id = ?",
+                studentId).get(0)).containsValues(0, 9);
+        assertThat(cacheManager.getCache(CacheConfig.COURSES).get(courseId)).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.STUDENTS).get(studentId)).isNotNull();
+
+        report = reconciliationService.reconcile(true);
+        assertThat(report.getCorrected()).isEqualTo(2);
+        assertThat(report.getDrifts()).allMatch(CounterDriftDto::isCorrected);
+        assertThat(enrolledCount(courseId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("select course_count, total_credits from students where id = ?",
+                studentId).get(0)).containsValues(1, 4);
+        assertThat(cacheManager.getCache(CacheConfig.COURSES).get(courseId)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.STUDENTS).get(studentId)).isNull();
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(1);
+        assertThat(studentService.getStudentById(studentId).getTotalCredits()).isEqualTo(4);
+
+        assertThat(reconciliationService.reconcile(false).getDrifts()).isEmpty();
+    }
+
+    private int enrolledCount(long courseId) {
+        return jdbcTemplate.queryForObject("select enrolled_count from courses where id = ?", Integer.class, courseId);
+    }
+}
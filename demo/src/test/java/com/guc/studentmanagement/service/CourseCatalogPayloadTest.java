@@ -0,0 +1,130 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog_payload;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class CourseCatalogPayloadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseCatalogPayload catalogPayload;
+
+    @Test
+    void gzipClientsGetThePrecompressedCopy() throws Exception {
+        courseService.addCourse(course("Astronomy"));
+
+        String plain = mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        MvcResult gzipped = mockMvc.perform(get("/courses").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        assertThat(gunzip(gzipped.getResponse().getContentAsByteArray())).isEqualTo(plain).contains("Astronomy");
+
+        // the gzip variant has its own ETag, and it is revalidated like the plain one
+        String etag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).endsWith("-gzip\"");
+        mockMvc.perform(get("/courses")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void copyIsRebuiltOnlyWhenTheCatalogChanges() {
+        courseService.addCourse(course("Botany"));
+        CourseCatalogPayload.Payload first = catalogPayload.get(courseService.getCatalogStamp());
+        assertThat(catalogPayload.get(courseService.getCatalogStamp())).isSameAs(first);
+
+        // enrolledCount is part of the payload: an enrollment makes a new copy
+        long courseId = courseService.addCourse(course("Chemistry")).getId();
+        CourseCatalogPayload.Payload second = catalogPayload.get(courseService.getCatalogStamp());
+        assertThat(second).isNotSameAs(first);
+
+        CreateStudentRequest student = new CreateStudentRequest();
+        student.setName("Marie");
+        student.setAge(24);
+        courseService.enrollStudentToCourse(studentService.addStudent(student).getId(), courseId);
+        CourseCatalogPayload.Payload third = catalogPayload.get(courseService.getCatalogStamp());
+        assertThat(third).isNotSameAs(second);
+        assertThat(new String(third.json(), StandardCharsets.UTF_8)).contains("\"enrolledCount\":1");
+    }
+
+    @Test
+    void copyIsKeyedByTheRowsItHolds() {
+        long courseId = courseService.addCourse(course("Drawing")).getId();
+        CourseRepository.CatalogStamp before = courseService.getCatalogStamp();
+
+        // an enrollment commits between the request's stamp read and the rebuild
+        CreateStudentRequest student = new CreateStudentRequest();
+        student.setName("Ada");
+        student.setAge(21);
+        courseService.enrollStudentToCourse(studentService.addStudent(student).getId(), courseId);
+
+        CourseCatalogPayload.Payload payload = catalogPayload.get(before);
+        CourseRepository.CatalogStamp after = courseService.getCatalogStamp();
+        assertThat(after.getETag()).isNotEqualTo(before.getETag());
+        assertThat(payload.etag()).isEqualTo(after.getETag());
+        assertThat(catalogPayload.get(after)).isSameAs(payload);
+    }
+
+    @Test
+    void acceptEncodingParsing() {
+        assertThat(CourseCatalogPayload.acceptsGzip(null)).isFalse();
+        assertThat(CourseCatalogPayload.acceptsGzip("identity")).isFalse();
+        assertThat(CourseCatalogPayload.acceptsGzip("br, GZIP;q=0.8")).isTrue();
+        assertThat(CourseCatalogPayload.acceptsGzip("*")).isTrue();
+        assertThat(CourseCatalogPayload.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CourseCatalogPayload.acceptsGzip("gzip; q=0.000")).isFalse();
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
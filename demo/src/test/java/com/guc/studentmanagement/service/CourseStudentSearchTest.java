@@ -0,0 +1,79 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.exception.CourseNotFoundException;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:course_student_search;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class CourseStudentSearchTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void filtersSortsAndPagesInTheDatabase() {
+        long courseId = courseService.addCourse(course("Optics")).getId();
+        long otherId = courseService.addCourse(course("Acoustics")).getId();
+        enroll(courseId, "Anna", 21);
+        enroll(courseId, "Hannah", 25);
+        enroll(courseId, "Joanne", 29);
+        enroll(courseId, "Daniel", 35);
+        enroll(courseId, "Bob", 23);
+        enroll(otherId, "Annabel", 24);
+
+        PageRequest firstTwo = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age"));
+        long before = SqlStatementRecorder.statementCount();
+        Page<StudentDto> page = courseService.searchStudentsByCourse(courseId, "ANN", 20, 30, firstTwo);
+        // existence check, the page (profiles fetched with it) and its count
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(3);
+
+        assertThat(page.getContent()).extracting(StudentDto::getName).containsExactly("Joanne", "Hannah");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+
+        Page<StudentDto> last = courseService.searchStudentsByCourse(courseId, "ann", 20, 30, firstTwo.next());
+        assertThat(last.getContent()).extracting(StudentDto::getName).containsExactly("Anna");
+        assertThat(last.isLast()).isTrue();
+    }
+
+    @Test
+    void unknownCourseIs404() {
+        assertThatThrownBy(() -> courseService.searchStudentsByCourse(
+                999_999L, null, null, null, PageRequest.of(0, 10)))
+                .isInstanceOf(CourseNotFoundException.class);
+    }
+
+    private void enroll(long courseId, String name, int age) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(age);
+        courseService.enrollStudentToCourse(studentService.addStudent(request).getId(), courseId);
+    }
+
+    private static CreateCourseRequest course(String name) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.dto.WithdrawalResult;
+import com.guc.studentmanagement.exception.NotOnWaitlistException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:course_withdrawal;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class CourseWithdrawalTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Test
+    void withdrawalUpdatesCountersAndPromotesTheWaitlist() {
+        long courseId = courseService.addCourse(course("Robotics", 2)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        long cy = student("Cy");
+        long dee = student("Dee");
+        long eve = student("Eve");
+        courseService.enrollStudentToCourse(ada, courseId);
+        courseService.enrollStudentToCourse(bob, courseId);
+        waitlistService.join(courseId, cy);
+        waitlistService.join(courseId, dee);
+        // cached with the old counters
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isEqualTo(1);
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(2);
+
+        WithdrawalResult result = courseService.withdrawStudentsFromCourse(courseId, List.of(ada, eve, bob, ada));
+
+        assertThat(result.getWithdrawn()).isEqualTo(2);
+        assertThat(result.getNotEnrolled()).containsExactly(eve);
+        assertThat(result.getPromoted()).isEqualTo(2);
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(2);
+        assertThat(courseService.getStudentsByCourse(courseId)).extracting(StudentDto::getId)
+                .containsExactlyInAnyOrder(cy, dee);
+
+        StudentDto withdrawn = studentService.getStudentById(ada);
+        assertThat(withdrawn.getCourseCount()).isZero();
+        assertThat(withdrawn.getTotalCredits()).isZero();
+        assertThat(studentService.getStudentById(cy).getTotalCredits()).isEqualTo(3);
+        assertThatThrownBy(() -> waitlistService.getPosition(courseId, dee))
+                .isInstanceOf(NotOnWaitlistException.class);
+    }
+
+    @Test
+    void cancellationEmptiesTheCourseWithoutPromoting() {
+        long courseId = courseService.addCourse(course("Sculpture", 1)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        courseService.enrollStudentToCourse(ada, courseId);
+        waitlistService.join(courseId, bob);
+
+        WithdrawalResult result = courseService.cancelCourseEnrollments(courseId);
+
+        assertThat(result.getWithdrawn()).isEqualTo(1);
+        assertThat(result.getPromoted()).isZero();
+        assertThat(result.getWaitlistRemoved()).isEqualTo(1);
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isZero();
+        assertThat(studentService.getStudentById(ada).getCourseCount()).isZero();
+        assertThat(studentService.getStudentById(bob).getCourseCount()).isZero();
+        assertThatThrownBy(() -> waitlistService.getPosition(courseId, bob))
+                .isInstanceOf(NotOnWaitlistException.class);
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name, int capacity) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        request.setCapacity(capacity);
+        return request;
+    }
+}
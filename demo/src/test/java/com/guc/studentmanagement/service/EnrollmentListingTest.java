@@ -0,0 +1,101 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.EnrollmentInfoDto;
+import com.guc.studentmanagement.dto.StudentDto;
+import com.guc.studentmanagement.exception.CourseNotFoundException;
+import com.guc.studentmanagement.exception.StudentNotFoundException;
+import com.guc.studentmanagement.metrics.SqlStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enrollment_listing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class EnrollmentListingTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void listingsAreOneQueryEach() {
+        long ada = student("Ada");
+        long bob = student("Bob");
+        long logic = courseService.addCourse(course("Logic", 4)).getId();
+        long art = courseService.addCourse(course("Art", 2)).getId();
+        courseService.enrollStudentToCourse(ada, logic);
+        courseService.enrollStudentToCourse(ada, art);
+        courseService.enrollStudentToCourse(bob, logic);
+
+        List<CourseDto> courses = statements(1, () -> courseService.getCoursesByStudent(ada));
+        assertThat(courses).extracting(CourseDto::getName, CourseDto::getEnrolledCount)
+                .containsExactly(tuple("Logic", 2), tuple("Art", 1));
+
+        List<StudentDto> students = statements(1, () -> courseService.getStudentsByCourse(logic));
+        assertThat(students).extracting(StudentDto::getName, StudentDto::getTotalCredits)
+                .containsExactly(tuple("Ada", 6), tuple("Bob", 4));
+
+        List<EnrollmentInfoDto> infos = statements(1, () -> courseService.getEnrollmentInfosByStudent(ada));
+        assertThat(infos).extracting(EnrollmentInfoDto::getCourseName).containsExactly("Logic", "Art");
+        assertThat(infos).allSatisfy(info -> {
+            assertThat(info.getStudentName()).isEqualTo("Ada");
+            assertThat(info.getEnrolledAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void emptyListingsCheckExistenceOnlyThen() {
+        long grace = student("Grace");
+        long music = courseService.addCourse(course("Music", 3)).getId();
+
+        // the projection plus the existence query
+        assertThat(statements(2, () -> courseService.getCoursesByStudent(grace))).isEmpty();
+        assertThat(statements(2, () -> courseService.getStudentsByCourse(music))).isEmpty();
+        assertThat(statements(2, () -> courseService.getEnrollmentInfosByStudent(grace))).isEmpty();
+
+        assertThatThrownBy(() -> courseService.getCoursesByStudent(999_999L))
+                .isInstanceOf(StudentNotFoundException.class);
+        assertThatThrownBy(() -> courseService.getStudentsByCourse(999_999L))
+                .isInstanceOf(CourseNotFoundException.class);
+        assertThatThrownBy(() -> courseService.getEnrollmentInfosByStudent(999_999L))
+                .isInstanceOf(StudentNotFoundException.class);
+    }
+
+    private static <T> T statements(int expected, Supplier<T> call) {
+        long before = SqlStatementRecorder.statementCount();
+        T result = call.get();
+        assertThat(SqlStatementRecorder.statementCount() - before).isEqualTo(expected);
+        return result;
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name, int credit) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(credit);
+        return request;
+    }
+}
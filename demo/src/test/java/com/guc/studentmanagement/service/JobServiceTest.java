@@ -0,0 +1,255 @@
+package com.guc.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.ExportTable;
+import com.guc.studentmanagement.dto.JobDto;
+import com.guc.studentmanagement.dto.StudentImportReport;
+import com.guc.studentmanagement.entity.Job;
+import com.guc.studentmanagement.entity.JobStatus;
+import com.guc.studentmanagement.entity.JobType;
+import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.repository.JobRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jobs;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false",
+        "app.import.batch-size=2",
+        "app.jobs.export-chunk-size=2",
+        "app.jobs.dir=${java.io.tmpdir}/student-management-jobs-test"
+})
+@AutoConfigureMockMvc
+class JobServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seedStudents() {
+        if (studentRepository.count() < 5) {
+            for (int i = 1; i <= 5; i++) {
+                CreateStudentRequest request = new CreateStudentRequest();
+                request.setName("Seed " + i);
+                request.setAge(20 + i);
+                studentService.addStudent(request);
+            }
+        }
+    }
+
+    @Test
+    void importJobRunsInTheBackground() throws Exception {
+        String csv = "name,age\nA,20\nB,21\nBad,x\nC,22\nD,23\nE,24\n";
+        MvcResult submitted = mockMvc.perform(post("/jobs/imports/students")
+                        .param("format", "CSV")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.type").value("STUDENT_IMPORT"))
+                .andExpect(jsonPath("$.data.totalItems").value(6))
+                .andReturn();
+        long id = objectMapper.readTree(submitted.getResponse().getContentAsString()).at("/data/id").asLong();
+        assertThat(submitted.getResponse().getHeader(HttpHeaders.LOCATION)).isEqualTo("/jobs/" + id);
+
+        JobDto job = awaitFinished(id);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProcessedItems()).isEqualTo(6);
+        assertThat(job.getFailedItems()).isEqualTo(1);
+        assertThat(job.getPercent()).isEqualTo(100.0);
+        assertThat(job.getReport().getImported()).isEqualTo(5);
+        assertThat(job.getReport().getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getLine()).isEqualTo(4));
+
+        mockMvc.perform(get("/jobs/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.report.imported").value(5));
+        // an import has no file to download
+        mockMvc.perform(get("/jobs/" + id + "/result"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("JOB_RESULT_NOT_AVAILABLE"));
+    }
+
+    @Test
+    void exportJobWritesWhatTheStreamingExportWrites() throws Exception {
+        MvcResult submitted = mockMvc.perform(post("/jobs/exports")
+                        .param("table", "STUDENTS")
+                        .param("format", "CSV"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        long id = objectMapper.readTree(submitted.getResponse().getContentAsString()).at("/data/id").asLong();
+
+        JobDto job = awaitFinished(id);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProcessedItems()).isEqualTo(studentRepository.count());
+        assertThat(job.getResultPath()).isEqualTo("/jobs/" + id + "/result");
+
+        String file = mockMvc.perform(get(job.getResultPath()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students.csv\""))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(file).isEqualTo(streamingExport(ExportFormat.CSV));
+    }
+
+    @Test
+    void exportResumesFromItsCheckpoint() throws Exception {
+        // State left by a run that stopped after its first chunk, in the middle of writing the second
+        ByteArrayOutputStream firstChunk = new ByteArrayOutputStream();
+        ExportService.ExportChunk chunk = exportService.exportChunk(
+                ExportTable.STUDENTS, ExportFormat.NDJSON, 0, 2, firstChunk);
+        Path file = Files.createTempFile("job-resume-", ".ndjson");
+        Files.write(file, firstChunk.toByteArray());
+        Files.writeString(file, "{\"id\":99,\"na", StandardOpenOption.APPEND);
+
+        Job job = unfinished(JobType.EXPORT);
+        job.setExportTable(ExportTable.STUDENTS);
+        job.setOutputFile(file.toString());
+        job.setTotalItems(studentRepository.count());
+        job.setProcessedItems(2);
+        job.setResumeAfter(chunk.lastId());
+        job.setOutputBytes(firstChunk.size());
+        long id = jobRepository.save(job).getId();
+
+        jobService.resumeUnfinished();
+
+        JobDto resumed = awaitFinished(id);
+        assertThat(resumed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(resumed.getAttempts()).isEqualTo(2);
+        assertThat(resumed.getProcessedItems()).isEqualTo(studentRepository.count());
+        assertThat(Files.readString(file)).isEqualTo(streamingExport(ExportFormat.NDJSON));
+    }
+
+    @Test
+    void ndjsonEndsEveryRowWithOneLineBreak() {
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        exportService.exportCourses(ExportFormat.NDJSON, empty);
+        assertThat(empty.size()).isZero();
+
+        String all = streamingExport(ExportFormat.NDJSON);
+        assertThat(all.split("\n", -1)).hasSize((int) studentRepository.count() + 1);
+        assertThat(all).endsWith("}\n").doesNotContain("\n\n");
+
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        ExportService.ExportChunk first = exportService.exportChunk(
+                ExportTable.STUDENTS, ExportFormat.NDJSON, 0, 2, chunks);
+        assertThat(chunks.toString(StandardCharsets.UTF_8)).endsWith("}\n").doesNotContain("\n\n");
+        exportService.exportChunk(ExportTable.STUDENTS, ExportFormat.NDJSON, first.lastId(), Integer.MAX_VALUE, chunks);
+        assertThat(chunks.toString(StandardCharsets.UTF_8)).isEqualTo(all);
+    }
+
+    @Test
+    void importResumesAfterTheLastCommittedLine() throws Exception {
+        Path upload = Files.createTempFile("job-resume-", ".ndjson");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            ndjson.append("{\"name\":\"Resumed ").append(i).append("\",\"age\":30}\n");
+        }
+        Files.writeString(upload, ndjson);
+
+        // The previous run committed lines 1-2 (simulated: they are not in the table, so a
+        // resume that re-read them would insert them)
+        StudentImportReport committed = new StudentImportReport();
+        committed.setRowsRead(2);
+        committed.setImported(2);
+        committed.setLastCommittedLine(2);
+        Job job = unfinished(JobType.STUDENT_IMPORT);
+        job.setInputFile(upload.toString());
+        job.setTotalItems(5L);
+        job.setProcessedItems(2);
+        job.setResumeAfter(2);
+        job.setReport(objectMapper.writeValueAsString(committed));
+        long id = jobRepository.save(job).getId();
+
+        jobService.resumeUnfinished();
+
+        JobDto resumed = awaitFinished(id);
+        assertThat(resumed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(resumed.getProcessedItems()).isEqualTo(5);
+        assertThat(resumed.getReport().getImported()).isEqualTo(5);
+        assertThat(studentRepository.findAll()).extracting(Student::getName)
+                .filteredOn(name -> name.startsWith("Resumed"))
+                .containsExactlyInAnyOrder("Resumed 3", "Resumed 4", "Resumed 5");
+        // the spooled upload is removed once the import is done
+        assertThat(upload).doesNotExist();
+    }
+
+    @Test
+    void unknownJobIs404() throws Exception {
+        mockMvc.perform(get("/jobs/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("JOB_NOT_FOUND"));
+    }
+
+    private Job unfinished(JobType type) {
+        Job job = new Job();
+        job.setType(type);
+        job.setStatus(JobStatus.RUNNING);
+        job.setFormat(ExportFormat.NDJSON);
+        job.setAttempts(1);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setStartedAt(LocalDateTime.now());
+        return job;
+    }
+
+    private JobDto awaitFinished(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        JobDto job = jobService.getJob(id);
+        while (job.getStatus() != JobStatus.COMPLETED && job.getStatus() != JobStatus.FAILED) {
+            assertThat(System.currentTimeMillis()).as("job %d finished in time", id).isLessThan(deadline);
+            Thread.sleep(20);
+            job = jobService.getJob(id);
+        }
+        return job;
+    }
+
+    private String streamingExport(ExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportStudents(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
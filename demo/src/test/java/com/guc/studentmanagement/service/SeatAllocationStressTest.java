@@ -0,0 +1,154 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.BatchEnrollmentResult;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.EnrollmentItemResult;
+import com.guc.studentmanagement.dto.EnrollmentItemStatus;
+import com.guc.studentmanagement.exception.CourseFullException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Registration-day contention: many threads enrolling into one small course at once.
+// A seat must never be handed out twice, and counters must match the enrollment rows.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seats;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SeatAllocationStressTest {
+
+    private static final int STUDENTS = 1000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedStudents() {
+        List<Object[]> students = new ArrayList<>();
+        for (int i = 1; i <= STUDENTS; i++) {
+            students.add(new Object[]{"Student " + i, 20});
+        }
+        jdbcTemplate.batchUpdate("insert into students (name, age) values (?, ?)", students);
+    }
+
+    @Test
+    void singleEnrollmentsNeverOverbook() throws Exception {
+        int capacity = 150;
+        long courseId = createCourse("Popular single", capacity);
+
+        // every student twice, shuffled: duplicates race each other as well as the capacity
+        List<Long> requests = new ArrayList<>();
+        for (long id = 1; id <= STUDENTS; id++) {
+            requests.add(id);
+            requests.add(id);
+        }
+        Collections.shuffle(requests, new Random(42));
+
+        AtomicInteger full = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long studentId : requests) {
+            tasks.add(() -> {
+                try {
+                    courseService.enrollStudentToCourse(studentId, courseId);
+                } catch (CourseFullException ex) {
+                    full.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertSeats(courseId, capacity);
+        assertThat(full.get()).isGreaterThan(0);
+    }
+
+    @Test
+    void batchEnrollmentsNeverOverbook() throws Exception {
+        int capacity = 300;
+        long courseId = createCourse("Popular batch", capacity);
+
+        // 16 overlapping batches of 250 students
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger courseFull = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int b = 0; b < 16; b++) {
+            List<Long> ids = new ArrayList<>();
+            for (long id = 1 + b * 100L; id <= b * 100L + 250 && id <= STUDENTS; id++) {
+                ids.add(id);
+            }
+            tasks.add(() -> {
+                BatchEnrollmentResult result = courseService.batchEnrollStudentsToCourse(courseId, ids);
+                for (EnrollmentItemResult item : result.getResults()) {
+                    if (item.getStatus() == EnrollmentItemStatus.ENROLLED) {
+                        enrolled.incrementAndGet();
+                    } else if (item.getStatus() == EnrollmentItemStatus.COURSE_FULL) {
+                        courseFull.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(enrolled.get()).isEqualTo(capacity);
+        assertThat(courseFull.get()).isGreaterThan(0);
+        assertSeats(courseId, capacity);
+    }
+
+    private long createCourse(String name, int capacity) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        request.setCapacity(capacity);
+        return courseService.addCourse(request).getId();
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    // Full, not over: rows, counter and capacity agree, and no student holds two seats
+    private void assertSeats(long courseId, int capacity) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from enrollments where course_id = ?", Integer.class, courseId);
+        Integer distinctStudents = jdbcTemplate.queryForObject(
+                "select count(distinct student_id) from enrollments where course_id = ?", Integer.class, courseId);
+        Integer counter = jdbcTemplate.queryForObject(
+                "select enrolled_count from courses where id = ?", Integer.class, courseId);
+
+        assertThat(rows).isEqualTo(capacity);
+        assertThat(distinctStudents).isEqualTo(capacity);
+        assertThat(counter).isEqualTo(capacity);
+    }
+}
@@ -0,0 +1,170 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.ExportFormat;
+import com.guc.studentmanagement.dto.StudentImportReport;
+import com.guc.studentmanagement.entity.Student;
+import com.guc.studentmanagement.repository.StudentProfileRepository;
+import com.guc.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:student_import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false",
+        "app.import.batch-size=3",
+        "app.import.max-reported-errors=2"
+})
+@AutoConfigureMockMvc
+class StudentImportServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentProfileRepository profileRepository;
+
+    private long studentsBefore;
+
+    @BeforeEach
+    void countStudents() {
+        studentsBefore = studentRepository.count();
+    }
+
+    @Test
+    void csvWithQuotedFieldsAndRejectedRows() {
+        String csv = """
+                Name,AGE,phone,address,emergency_contact
+                Ada,30,,,
+                "Lovelace, Ada",31,,,
+                Bad Age,abc,,,
+                ,25,,,
+
+                "Quote ""Q"" Person",40,,,
+                Negative,-1,,,
+                "Multi
+                Line",22,,,
+                """;
+        StudentImportReport report = run(ExportFormat.CSV, csv, false);
+
+        assertThat(report.getRowsRead()).isEqualTo(7);
+        assertThat(report.getImported()).isEqualTo(4);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getAbortedReason()).isNull();
+
+        // errors point at physical lines, and only the first max-reported-errors are kept
+        assertThat(report.getErrors()).hasSize(2);
+        assertThat(report.getErrors().get(0).getLine()).isEqualTo(4);
+        assertThat(report.getErrors().get(0).getErrors()).containsKey("age");
+        assertThat(report.getErrors().get(1).getLine()).isEqualTo(5);
+        assertThat(report.getErrors().get(1).getErrors()).containsKey("name");
+        assertThat(report.isErrorsTruncated()).isTrue();
+
+        assertThat(studentRepository.count()).isEqualTo(studentsBefore + 4);
+        assertThat(names()).contains("Lovelace, Ada", "Quote \"Q\" Person", "Multi\nLine");
+    }
+
+    @Test
+    void ndjsonWithProfilesCommitsInBatches() {
+        String ndjson = """
+                {"name":"Grace","age":35,"phone":"555-0100","address":"1 Navy Way","emergencyContact":"Vince"}
+                {"name":"Alan","age":41}
+                {"name":"Broken",
+                {"name":"Half Profile","age":29,"phone":"555-0101"}
+                {"name":"Edsger","age":44,"phone":"555-0102","address":"Austin"}
+                {"name":"Barbara","age":38}
+                {"name":"Donald","age":50}
+                """;
+        List<Long> progress = new ArrayList<>();
+        StudentImportReport report = importService.importStudents(ExportFormat.NDJSON, stream(ndjson), true,
+                new StudentImportReport(), running -> {
+                    progress.add(running.getImported());
+                    return true;
+                });
+
+        assertThat(report.getRowsRead()).isEqualTo(7);
+        assertThat(report.getImported()).isEqualTo(5);
+        assertThat(report.getProfilesCreated()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(error -> error.getLine()).containsExactly(3L, 4L);
+        assertThat(report.getErrors().get(0).getErrors()).containsKey("row");
+        assertThat(report.getErrors().get(1).getErrors()).containsKey("profile");
+
+        // batch-size=3: one full batch, then the remainder
+        assertThat(progress).containsExactly(3L, 5L);
+
+        Student grace = studentRepository.findAll().stream()
+                .filter(student -> student.getName().equals("Grace"))
+                .findFirst().orElseThrow();
+        assertThat(profileRepository.findAll())
+                .anyMatch(profile -> profile.getStudent().getId().equals(grace.getId())
+                        && profile.getEmergencyContact().equals("Vince"));
+    }
+
+    @Test
+    void unterminatedQuoteKeepsCommittedBatches() {
+        String csv = "name,age\nA,20\nB,21\nC,22\nD,23\n\"E,24\n";
+        StudentImportReport report = run(ExportFormat.CSV, csv, false);
+
+        assertThat(report.getImported()).isEqualTo(4);
+        assertThat(report.getAbortedReason()).contains("line 6").contains("unterminated");
+        assertThat(studentRepository.count()).isEqualTo(studentsBefore + 4);
+    }
+
+    @Test
+    void missingHeaderColumnIsRejectedBeforeAnyWrite() throws Exception {
+        mockMvc.perform(post("/students/import")
+                        .param("format", "CSV")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("name,phone\nAda,555\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_IMPORT"));
+
+        assertThat(studentRepository.count()).isEqualTo(studentsBefore);
+    }
+
+    @Test
+    void endpointReturnsTheReport() throws Exception {
+        mockMvc.perform(post("/students/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Linus\",\"age\":28}\n{\"name\":\"\",\"age\":28}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.errors[0].line").value(2));
+    }
+
+    private StudentImportReport run(ExportFormat format, String body, boolean withProfiles) {
+        return importService.importStudents(format, stream(body), withProfiles);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> names() {
+        return studentRepository.findAll().stream().map(Student::getName).toList();
+    }
+}
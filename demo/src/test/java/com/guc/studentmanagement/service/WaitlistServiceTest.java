@@ -0,0 +1,90 @@
+package com.guc.studentmanagement.service;
+
+import com.guc.studentmanagement.dto.CourseDto;
+import com.guc.studentmanagement.dto.CreateCourseRequest;
+import com.guc.studentmanagement.dto.CreateStudentRequest;
+import com.guc.studentmanagement.dto.UpdateCourseRequest;
+import com.guc.studentmanagement.exception.NotOnWaitlistException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:waitlist_service;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.search.name-index.enabled=false",
+        "app.search.suggest.enabled=false",
+        "app.waitlist.index.enabled=false"
+})
+class WaitlistServiceTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Test
+    void capacityIncreasePromotesAndReturnsTheNewCount() {
+        long courseId = courseService.addCourse(course("Seminar", 1)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        courseService.enrollStudentToCourse(ada, courseId);
+        waitlistService.join(courseId, bob);
+        // cached with enrolledCount 1
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(1);
+
+        UpdateCourseRequest update = new UpdateCourseRequest();
+        update.setName("Seminar");
+        update.setCredit(3);
+        update.setCapacity(2);
+        CourseDto updated = courseService.updateCourse(courseId, update);
+
+        assertThat(updated.getEnrolledCount()).isEqualTo(2);
+        assertThat(courseService.getCourseById(courseId).getEnrolledCount()).isEqualTo(2);
+        assertThatThrownBy(() -> waitlistService.getPosition(courseId, bob))
+                .isInstanceOf(NotOnWaitlistException.class);
+    }
+
+    @Test
+    void joinAndLeaveKeepTheQueueInStep() {
+        long courseId = courseService.addCourse(course("Studio", 1)).getId();
+        long ada = student("Ada");
+        long bob = student("Bob");
+        long cy = student("Cy");
+        courseService.enrollStudentToCourse(ada, courseId);
+
+        assertThat(waitlistService.join(courseId, bob).getPosition()).isEqualTo(1);
+        assertThat(waitlistService.join(courseId, cy).getPosition()).isEqualTo(2);
+        waitlistService.leave(courseId, bob);
+        assertThat(waitlistService.getPosition(courseId, cy).getPosition()).isEqualTo(1);
+        assertThatThrownBy(() -> waitlistService.leave(courseId, bob))
+                .isInstanceOf(NotOnWaitlistException.class);
+
+        // promoted on the drop, gone from the in-memory queue too
+        courseService.dropStudentFromCourse(ada, courseId);
+        assertThatThrownBy(() -> waitlistService.getPosition(courseId, cy))
+                .isInstanceOf(NotOnWaitlistException.class);
+    }
+
+    private long student(String name) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setAge(20);
+        return studentService.addStudent(request).getId();
+    }
+
+    private static CreateCourseRequest course(String name, int capacity) {
+        CreateCourseRequest request = new CreateCourseRequest();
+        request.setName(name);
+        request.setCredit(3);
+        request.setCapacity(capacity);
+        return request;
+    }
+}
@@ -0,0 +1,47 @@
+package com.guc.studentmanagement.waitlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseWaitlistsTest {
+
+    // Never loaded: writes apply to the (initially empty) queues only
+    private final CourseWaitlists waitlists = new CourseWaitlists(null, Runnable::run, false, 100);
+
+    @Test
+    void addAppliedAfterItsRemovalIsDiscarded() {
+        waitlists.added(1L, 7L, 100L);
+        // 8 joined (entry 101) and was promoted; the promotion's callback ran first
+        waitlists.removed(1L, Map.of(8L, 101L));
+        waitlists.added(1L, 8L, 101L);
+
+        assertThat(waitlists.position(1L, 8L)).isZero();
+        assertThat(waitlists.size(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void rejoinAppliedBeforeTheLeaveKeepsTheNewEntry() {
+        waitlists.added(3L, 7L, 300L);
+        waitlists.added(3L, 8L, 301L);
+        // 7 left (entry 300) and re-joined (entry 302)
+        waitlists.added(3L, 7L, 302L);
+        waitlists.removed(3L, Map.of(7L, 300L));
+
+        assertThat(waitlists.position(3L, 7L)).isEqualTo(2);
+        assertThat(waitlists.size(3L)).isEqualTo(2);
+    }
+
+    @Test
+    void addOfAnEntryDeletedByAClearIsDiscarded() {
+        waitlists.added(2L, 7L, 200L);
+        waitlists.cleared(2L, 201L);
+        waitlists.added(2L, 8L, 201L);
+        assertThat(waitlists.size(2L)).isZero();
+
+        waitlists.added(2L, 9L, 202L);
+        assertThat(waitlists.position(2L, 9L)).isEqualTo(1);
+    }
+}
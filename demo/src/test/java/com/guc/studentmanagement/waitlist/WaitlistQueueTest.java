@@ -0,0 +1,79 @@
+package com.guc.studentmanagement.waitlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitlistQueueTest {
+
+    @Test
+    void positionsFollowJoinOrderAndCloseGaps() {
+        WaitlistQueue queue = new WaitlistQueue();
+        queue.add(7L, 100L);
+        queue.add(8L, 101L);
+        queue.add(9L, 102L);
+
+        assertThat(queue.position(7L)).isEqualTo(1);
+        assertThat(queue.position(9L)).isEqualTo(3);
+        assertThat(queue.add(8L, 150L)).isFalse();
+
+        queue.remove(8L);
+        assertThat(queue.position(9L)).isEqualTo(2);
+        assertThat(queue.position(8L)).isZero();
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void entryCommittedOutOfIdOrderTakesItsPlace() {
+        WaitlistQueue queue = new WaitlistQueue();
+        queue.add(1L, 10L);
+        queue.add(3L, 30L);
+        queue.add(2L, 20L);
+
+        assertThat(queue.position(2L)).isEqualTo(2);
+        assertThat(queue.position(3L)).isEqualTo(3);
+    }
+
+    @Test
+    void removalNamesTheEntry() {
+        WaitlistQueue queue = new WaitlistQueue();
+        queue.add(7L, 100L);
+
+        assertThat(queue.entryId(7L)).isEqualTo(100L);
+        assertThat(queue.remove(7L, 99L)).isFalse();
+        assertThat(queue.position(7L)).isEqualTo(1);
+        assertThat(queue.remove(7L, 100L)).isTrue();
+        assertThat(queue.entryId(7L)).isZero();
+    }
+
+    @Test
+    void matchesANaiveListUnderRandomJoinsAndLeaves() {
+        WaitlistQueue queue = new WaitlistQueue();
+        List<Long> model = new ArrayList<>();
+        Random random = new Random(7);
+        long nextEntryId = 1;
+
+        for (int step = 0; step < 20_000; step++) {
+            if (model.isEmpty() || random.nextInt(3) > 0) {
+                long student = random.nextInt(5_000);
+                if (queue.add(student, nextEntryId++)) {
+                    model.add(student);
+                }
+            } else {
+                // mostly the head (promotion), sometimes anyone (leave)
+                int index = random.nextBoolean() ? 0 : random.nextInt(model.size());
+                assertThat(queue.remove(model.remove(index))).isTrue();
+            }
+            if (step % 97 == 0) {
+                assertThat(queue.size()).isEqualTo(model.size());
+                for (int i = 0; i < model.size(); i += 1 + model.size() / 50) {
+                    assertThat(queue.position(model.get(i))).isEqualTo(i + 1);
+                }
+            }
+        }
+    }
+}